@@ -0,0 +1,72 @@
+package com.project.benchmarks;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.service.ComplaintService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The in-memory parts of ComplaintService over synthetic complaint lists:
+ * statistics aggregation and duplicate detection. The repository is a stub
+ * returning prepared lists, so query time is excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComplaintServiceBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int complaints;
+
+    private ComplaintService service;
+    private long duplicateProbeId;
+
+    @Setup
+    public void setUp() {
+        List<Complaint> all = Fixtures.complaints(complaints, 200, 42);
+        Map<Long, Complaint> byId = all.stream().collect(Collectors.toMap(Complaint::getId, Function.identity()));
+        Map<String, List<Complaint>> bySite = all.stream()
+                .collect(Collectors.groupingBy(c -> c.getDepartment() + '|' + c.getLocationAddress()));
+
+        ComplaintRepository repository = Fixtures.stub(ComplaintRepository.class, Map.of(
+                "findAll", args -> all,
+                "findById", args -> Optional.ofNullable(byId.get((Long) args[0])),
+                // The service removes the complaint itself, so hand out a copy
+                "findByDepartmentAndLocationAddressAndArchivedFalse",
+                args -> new ArrayList<>(bySite.getOrDefault(args[0] + "|" + args[1], List.of()))));
+
+        service = Fixtures.complaintService(repository);
+        duplicateProbeId = all.get(all.size() / 2).getId();
+    }
+
+    @Benchmark
+    public Map<String, Object> getStatistics() {
+        return service.getStatistics();
+    }
+
+    @Benchmark
+    public List<Complaint> checkDuplicates() {
+        return service.checkDuplicates(duplicateProbeId);
+    }
+}
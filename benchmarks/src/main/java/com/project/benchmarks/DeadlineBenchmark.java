@@ -0,0 +1,63 @@
+package com.project.benchmarks;
+
+import com.project.complaint.model.Priority;
+import com.project.complaint.service.ComplaintService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ComplaintService.calculateDeadline, cycling through every priority and
+ * the null (defaults to LOW) case
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeadlineBenchmark {
+
+    // The method is private; a constant handle lets the JIT inline the call
+    private static final MethodHandle CALCULATE_DEADLINE;
+
+    static {
+        try {
+            CALCULATE_DEADLINE = MethodHandles.privateLookupIn(ComplaintService.class, MethodHandles.lookup())
+                    .findVirtual(ComplaintService.class, "calculateDeadline",
+                            MethodType.methodType(LocalDateTime.class, Priority.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final Priority[] PRIORITIES = { Priority.HIGH, Priority.MEDIUM, Priority.LOW, null };
+
+    private ComplaintService service;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        service = Fixtures.complaintService(null);
+    }
+
+    @Benchmark
+    public LocalDateTime calculateDeadline() throws Throwable {
+        Priority priority = PRIORITIES[next];
+        next = (next + 1) % PRIORITIES.length;
+        return (LocalDateTime) CALCULATE_DEADLINE.invokeExact(service, priority);
+    }
+}
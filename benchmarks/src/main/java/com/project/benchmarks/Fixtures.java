@@ -0,0 +1,183 @@
+package com.project.benchmarks;
+
+import com.project.auth.entity.Role;
+import com.project.auth.entity.Status;
+import com.project.auth.entity.User;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import com.project.complaint.model.ValidationStatus;
+import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.service.ComplaintService;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Seeded synthetic data and plain-Java stand-ins for the Spring wiring, so
+ * the benchmarks exercise application code without a database or context.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256-signing";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+
+    static final String[] DEPARTMENTS = { "Roads", "Water", "Sanitation", "Electricity", "Parks", "Transport" };
+    static final String[] ZONES = { "North", "South", "East", "West", "Central" };
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private Fixtures() {
+    }
+
+    static List<User> citizens(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user((long) i + 1, "citizen" + i, Role.CITIZEN, null, null));
+        }
+        return users;
+    }
+
+    static List<User> officers(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(100_000L + i, "officer" + i, Role.OFFICER,
+                    DEPARTMENTS[i % DEPARTMENTS.length], ZONES[i % ZONES.length]));
+        }
+        return users;
+    }
+
+    static User user(Long id, String name, Role role, String department, String zone) {
+        return User.builder()
+                .id(id)
+                .name(name)
+                .email(name + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7Zb3YbG7R1hZ8nVYtSmq2m6")
+                .role(role)
+                .status(role == Role.OFFICER ? Status.APPROVED : Status.ACTIVE)
+                .department(department)
+                .zone(zone)
+                .createdAt(EPOCH)
+                .updatedAt(EPOCH)
+                .build();
+    }
+
+    /**
+     * Complaints spread over departments, zones, statuses and priorities.
+     * About one in {@code addressesPerDepartment} share an address, which is
+     * what duplicate detection looks for.
+     */
+    static List<Complaint> complaints(int count, int addressesPerDepartment, long seed) {
+        Random random = new Random(seed);
+        List<User> citizens = citizens(Math.max(1, count / 5));
+        List<User> officers = officers(Math.max(1, count / 50));
+        ComplaintStatus[] statuses = ComplaintStatus.values();
+        Priority[] priorities = Priority.values();
+
+        List<Complaint> complaints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = EPOCH.plusMinutes(random.nextInt(525_600));
+            ComplaintStatus status = statuses[random.nextInt(statuses.length)];
+            Priority priority = random.nextInt(10) == 0 ? null : priorities[random.nextInt(priorities.length)];
+            boolean assigned = status != ComplaintStatus.PENDING;
+            boolean resolved = status == ComplaintStatus.RESOLVED;
+            complaints.add(Complaint.builder()
+                    .id((long) i + 1)
+                    .department(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)])
+                    .description("Synthetic complaint " + i + " about a problem that needs attention soon")
+                    .photoUrl(random.nextBoolean() ? "/uploads/" + i + ".jpg" : null)
+                    .latitude(12.9 + random.nextDouble() / 10)
+                    .longitude(77.5 + random.nextDouble() / 10)
+                    .locationAddress("Street " + random.nextInt(addressesPerDepartment))
+                    .status(status)
+                    .priority(priority)
+                    .zone(ZONES[random.nextInt(ZONES.length)])
+                    .citizen(citizens.get(random.nextInt(citizens.size())))
+                    .assignedOfficer(assigned ? officers.get(random.nextInt(officers.size())) : null)
+                    .deadline(assigned && priority != null ? priority.deadlineFrom(createdAt) : null)
+                    .validationStatus(resolved ? ValidationStatus.VALIDATED : null)
+                    .rating(resolved && random.nextBoolean() ? 1 + random.nextInt(5) : null)
+                    .resolvedAt(resolved ? createdAt.plusHours(1 + random.nextInt(200)) : null)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        return complaints;
+    }
+
+    /**
+     * A repository interface backed by the given method implementations;
+     * any other method throws
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation != null) {
+                return implementation.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName() + " stub";
+                }
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    /**
+     * A ComplaintService over the given repository. Collaborators the
+     * benchmarked methods do not touch are left null.
+     */
+    static ComplaintService complaintService(ComplaintRepository repository) {
+        Constructor<?> constructor = ComplaintService.class.getConstructors()[0];
+        Object[] args = new Object[constructor.getParameterCount()];
+        Class<?>[] types = constructor.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == ComplaintRepository.class) {
+                args[i] = repository;
+            }
+        }
+        try {
+            return (ComplaintService) constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create ComplaintService", e);
+        }
+    }
+
+    /**
+     * Set a field the application fills through @Value or @Autowired
+     */
+    static void inject(Object target, String field, Object value) {
+        try {
+            Field f = findField(target.getClass(), field);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + field + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
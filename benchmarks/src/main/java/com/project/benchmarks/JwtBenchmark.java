@@ -0,0 +1,73 @@
+package com.project.benchmarks;
+
+import com.project.auth.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil token generation, parsing and validation, as run on login and on
+ * every authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        userDetails = User.withUsername("citizen@example.com").password("unused").roles("CITIZEN").build();
+        token = jwtUtil.generateToken(userDetails.getUsername(), "CITIZEN");
+    }
+
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        Fixtures.inject(jwtUtil, "secret", Fixtures.JWT_SECRET);
+        Fixtures.inject(jwtUtil, "expiration", Fixtures.JWT_EXPIRATION_MS);
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails.getUsername(), "CITIZEN");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Date extractExpiration() {
+        return jwtUtil.extractExpiration(token);
+    }
+
+    /**
+     * What the filter does per request: parse for the subject, then validate
+     */
+    @Benchmark
+    public Boolean parseAndValidate() {
+        jwtUtil.extractUsername(token);
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.benchmarks;
+
+import com.project.auth.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter end to end for one request: header parsing, token
+ * parsing, user lookup (an in-memory UserDetailsService here, so the numbers
+ * exclude the database), validation and setting the security context
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtAuthenticationFilter filter;
+    private String validHeader;
+    private String malformedHeader;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = User.withUsername("citizen@example.com").password("unused").roles("CITIZEN").build();
+        UserDetailsService userDetailsService = username -> user;
+
+        filter = new JwtAuthenticationFilter();
+        Fixtures.inject(filter, "jwtUtil", JwtBenchmark.newJwtUtil());
+        Fixtures.inject(filter, "userDetailsService", userDetailsService);
+        Fixtures.inject(filter, "meterRegistry", new SimpleMeterRegistry());
+
+        String token = JwtBenchmark.newJwtUtil().generateToken(user.getUsername(), "CITIZEN");
+        validHeader = "Bearer " + token;
+        malformedHeader = "Bearer " + token.substring(0, token.length() - 4) + "AAAA";
+    }
+
+    @Benchmark
+    public Object validToken() throws Exception {
+        return run(validHeader);
+    }
+
+    /**
+     * Bad signature: the filter logs the failure and continues unauthenticated
+     */
+    @Benchmark
+    public Object invalidSignature() throws Exception {
+        return run(malformedHeader);
+    }
+
+    @Benchmark
+    public Object noToken() throws Exception {
+        return run(null);
+    }
+
+    private Object run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/complaints/my");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
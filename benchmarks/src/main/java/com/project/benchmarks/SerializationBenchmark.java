@@ -0,0 +1,85 @@
+package com.project.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of complaints as the controllers return
+ * them today (entities with nested users) against a flat response DTO
+ * carrying only what the dashboards show
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * Candidate response shape: users flattened to their names
+     */
+    public record ComplaintView(Long id, String department, String description, String locationAddress,
+            String zone, ComplaintStatus status, Priority priority, String citizenName, String officerName,
+            LocalDateTime deadline, Integer rating, LocalDateTime createdAt) {
+
+        static ComplaintView of(Complaint c) {
+            return new ComplaintView(c.getId(), c.getDepartment(), c.getDescription(), c.getLocationAddress(),
+                    c.getZone(), c.getStatus(), c.getPriority(),
+                    c.getCitizen() != null ? c.getCitizen().getName() : null,
+                    c.getAssignedOfficer() != null ? c.getAssignedOfficer().getName() : null,
+                    c.getDeadline(), c.getRating(), c.getCreatedAt());
+        }
+    }
+
+    @Param({ "1", "50", "500" })
+    public int pageSize;
+
+    // Configured like the application's mapper (JavaTimeModule, ISO dates)
+    private ObjectMapper objectMapper;
+    private List<Complaint> entities;
+    private List<ComplaintView> views;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entities = Fixtures.complaints(pageSize, 200, 7);
+        views = entities.stream().map(ComplaintView::of).toList();
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    /**
+     * Mapping to the DTO is part of its cost
+     */
+    @Benchmark
+    public byte[] mapAndWriteViews() throws Exception {
+        return objectMapper.writeValueAsBytes(entities.stream().map(ComplaintView::of).toList());
+    }
+}
@@ -77,6 +77,53 @@ const AdminDashboard = () => {
     }
   }
 
+  const downloadKeys = (blob) => {
+    const url = URL.createObjectURL(blob)
+    const link = document.createElement('a')
+    link.href = url
+    link.download = `officer-keys-${new Date().toISOString().slice(0, 10)}.csv`
+    link.click()
+    URL.revokeObjectURL(url)
+  }
+
+  const handleApproveAll = async () => {
+    if (!window.confirm(`Approve all ${pendingOfficers.length} pending officers? Their secret keys will be downloaded once.`)) {
+      return
+    }
+    try {
+      const response = await adminAPI.approveAllOfficers()
+      downloadKeys(response.data)
+      toast.success('Officers approved. Share each secret key with its officer securely.')
+      fetchOfficersData()
+    } catch (error) {
+      toast.error('Failed to approve officers')
+    }
+  }
+
+  const handleImport = async (event) => {
+    const file = event.target.files[0]
+    event.target.value = ''
+    if (!file) {
+      return
+    }
+    const approve = window.confirm('Approve the imported officers right away and download their secret keys?')
+    const formData = new FormData()
+    formData.append('file', file)
+    try {
+      const response = await adminAPI.importOfficers(formData, approve)
+      if (approve) {
+        downloadKeys(response.data)
+        toast.success('Officers imported and approved')
+      } else {
+        const { imported, skipped } = response.data
+        toast.success(`${imported} officers imported${skipped.length ? `, ${skipped.length} rows skipped` : ''}`)
+      }
+      fetchOfficersData()
+    } catch (error) {
+      toast.error('Failed to import officers')
+    }
+  }
+
   const closeSecretKeyModal = () => {
     setSecretKeyModal({
       isOpen: false,
@@ -169,7 +216,18 @@ const AdminDashboard = () => {
                       <span className="title-icon">⏳</span>
                       Pending Officer Approvals
                     </h2>
-                    <span className="badge badge-warning">{pendingOfficers.length} Pending</span>
+                    <div className="card-actions">
+                      <label className="btn-approve">
+                        Import CSV
+                        <input type="file" accept=".csv,text/csv" onChange={handleImport} hidden />
+                      </label>
+                      {pendingOfficers.length > 1 && (
+                        <button className="btn-approve" onClick={handleApproveAll}>
+                          Approve All
+                        </button>
+                      )}
+                      <span className="badge badge-warning">{pendingOfficers.length} Pending</span>
+                    </div>
                   </div>
                   {pendingOfficers.length === 0 ? (
                     <div className="empty-state">
@@ -106,7 +106,7 @@ const ComplaintForm = () => {
             console.error('Error filing complaint:', error)
             console.error('Error response:', error.response)
             console.error('Error data:', error.response?.data)
-            toast.error(error.response?.data || error.message || 'Failed to file complaint')
+            toast.error(error.response?.data?.error || error.response?.data || error.message || 'Failed to file complaint')
         } finally {
             setLoading(false)
         }
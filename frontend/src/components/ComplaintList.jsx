@@ -135,7 +135,7 @@ const ComplaintList = () => {
             toast.success(currentSatisfied ? 'Satisfaction removed' : 'Marked as satisfied!')
             fetchComplaints()
         } catch (error) {
-            toast.error(error.response?.data || 'Failed to update satisfaction status')
+            toast.error(error.response?.data?.error || error.response?.data || 'Failed to update satisfaction status')
         }
     }
 
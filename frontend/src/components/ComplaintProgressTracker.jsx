@@ -1,8 +1,29 @@
-import React from 'react'
+import React, { useEffect, useState } from 'react'
+import { complaintAPI } from '../services/api'
 import './ComplaintProgressTracker.css'
 
 const ComplaintProgressTracker = ({ complaint }) => {
+    const [events, setEvents] = useState([])
+
+    useEffect(() => {
+        complaintAPI.getTimeline(complaint.id)
+            .then((response) => setEvents(response.data))
+            .catch(() => setEvents([]))
+    }, [complaint.id, complaint.updatedAt])
+
+    // When a stage was reached according to the event log; older complaints
+    // have no events and fall back to updatedAt
+    const lastEventAt = (matches) => {
+        const found = events.filter(matches)
+        return found.length > 0 ? found[found.length - 1].at : null
+    }
+
     const getStages = () => {
+        const assignedAt = lastEventAt((e) => e.type === 'ASSIGNED')
+        const startedAt = lastEventAt((e) => e.status === 'IN_PROGRESS'
+            && (e.type === 'STATUS_CHANGED' || e.type === 'REOPENED'))
+        const resolvedAt = lastEventAt((e) => e.type === 'STATUS_CHANGED' && e.status === 'RESOLVED')
+
         const stages = [
             {
                 name: 'Submitted',
@@ -15,7 +36,7 @@ const ComplaintProgressTracker = ({ complaint }) => {
                 name: 'Assigned',
                 icon: '👮',
                 completed: complaint.assignedOfficer !== null,
-                timestamp: complaint.assignedOfficer ? complaint.updatedAt : null,
+                timestamp: complaint.assignedOfficer ? assignedAt || complaint.updatedAt : null,
                 description: complaint.assignedOfficer
                     ? `Assigned to ${complaint.assignedOfficer.name}`
                     : 'Waiting for assignment'
@@ -25,7 +46,7 @@ const ComplaintProgressTracker = ({ complaint }) => {
                 icon: '⚙️',
                 completed: complaint.status === 'IN_PROGRESS' || complaint.status === 'RESOLVED',
                 timestamp: complaint.status === 'IN_PROGRESS' || complaint.status === 'RESOLVED'
-                    ? complaint.updatedAt
+                    ? startedAt || complaint.updatedAt
                     : null,
                 description: complaint.status === 'IN_PROGRESS' || complaint.status === 'RESOLVED'
                     ? 'Officer working on resolution'
@@ -35,7 +56,7 @@ const ComplaintProgressTracker = ({ complaint }) => {
                 name: 'Resolved',
                 icon: '✅',
                 completed: complaint.status === 'RESOLVED',
-                timestamp: complaint.status === 'RESOLVED' ? complaint.updatedAt : null,
+                timestamp: complaint.status === 'RESOLVED' ? resolvedAt || complaint.updatedAt : null,
                 description: complaint.status === 'RESOLVED'
                     ? 'Complaint resolved'
                     : 'Pending resolution'
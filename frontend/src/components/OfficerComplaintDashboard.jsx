@@ -19,12 +19,23 @@ const OfficerComplaintDashboard = () => {
     const [selectedComplaint, setSelectedComplaint] = useState(null)
     const [proofFile, setProofFile] = useState(null)
     const [uploading, setUploading] = useState(false)
+    const [claiming, setClaiming] = useState(false)
     const { user } = useAuth()
 
     useEffect(() => {
         fetchComplaints()
     }, [])
 
+    // Keep claimed complaints leased while the dashboard is open
+    useEffect(() => {
+        const claimed = complaints.filter(c => c.leaseExpiresAt && c.status === 'PENDING')
+        if (claimed.length === 0) return undefined
+        const timer = setInterval(() => {
+            claimed.forEach(c => complaintAPI.renewClaim(c.id).catch(() => fetchComplaints()))
+        }, 5 * 60 * 1000)
+        return () => clearInterval(timer)
+    }, [complaints])
+
     const fetchComplaints = async () => {
         try {
             const [complaintsResponse, ratingsResponse] = await Promise.all([
@@ -60,6 +71,23 @@ const OfficerComplaintDashboard = () => {
         }
     }
 
+    const handleClaimNext = async () => {
+        setClaiming(true)
+        try {
+            const response = await complaintAPI.claimNextComplaint()
+            if (response.status === 204) {
+                toast.info('No unassigned complaints in your department right now')
+            } else {
+                toast.success(`Complaint #${response.data.id} claimed`)
+                fetchComplaints()
+            }
+        } catch (error) {
+            toast.error(error.response?.data?.error || 'Failed to claim a complaint')
+        } finally {
+            setClaiming(false)
+        }
+    }
+
     const handleStatusUpdate = async (complaintId, newStatus) => {
         try {
             await complaintAPI.updateStatus(complaintId, newStatus)
@@ -249,7 +277,13 @@ const OfficerComplaintDashboard = () => {
                         <span className="title-icon">📝</span>
                         My Assigned Complaints
                     </h2>
-                    <span className="badge badge-info">{complaints.length} Total</span>
+                    <div className="header-badges">
+                        <button className="status-btn status-btn-progress" onClick={handleClaimNext} disabled={claiming}>
+                            <span className="btn-icon">📥</span>
+                            {claiming ? 'Claiming...' : 'Claim Next'}
+                        </button>
+                        <span className="badge badge-info">{complaints.length} Total</span>
+                    </div>
                 </div>
 
                 {complaints.length === 0 ? (
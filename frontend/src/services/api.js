@@ -45,6 +45,15 @@ export const adminAPI = {
   getPendingOfficers: () => api.get('/admin/officers/pending'),
   getApprovedOfficers: () => api.get('/admin/officers/approved'),
   approveOfficer: (id) => api.post(`/admin/officers/${id}/approve`),
+  // Both answer with a CSV of one-time secret keys when approving
+  importOfficers: (formData, approve) =>
+    api.post(`/admin/officers/import?approve=${approve}`, formData, {
+      headers: {
+        'Content-Type': 'multipart/form-data',
+      },
+      responseType: approve ? 'blob' : 'json',
+    }),
+  approveAllOfficers: () => api.post('/admin/officers/approve', null, { responseType: 'blob' }),
 }
 
 export const complaintAPI = {
@@ -77,7 +86,11 @@ export const complaintAPI = {
     return api.post(url)
   },
   getEscalationHistory: (id) => api.get(`/api/complaints/${id}/escalation-history`),
+  getTimeline: (id) => api.get(`/api/complaints/${id}/timeline`),
   getOfficerComplaints: () => api.get('/api/complaints/officer/my'),
+  claimNextComplaint: () => api.post('/api/complaints/claim-next'),
+  renewClaim: (id) => api.post(`/api/complaints/${id}/heartbeat`),
+  releaseClaim: (id) => api.post(`/api/complaints/${id}/release`),
   uploadProof: (id, formData) => {
     return api.post(`/api/complaints/${id}/proof`, formData, {
       headers: {
@@ -0,0 +1,84 @@
+package com.project.loadsim;
+
+import com.project.auth.CivicPulseApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application on a throwaway in-process PostgreSQL, for runs that need
+ * no database set up. Uploads still go to ./uploads.
+ */
+public class EmbeddedApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    public static EmbeddedApplication start(SimulationConfig config) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setDataDirectory(Files.createTempDirectory("loadsim-pg"))
+                .setCleanDataDirectory(true)
+                .start();
+        try {
+            ConfigurableApplicationContext context = new SpringApplication(CivicPulseApplication.class).run(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--spring.devtools.restart.enabled=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.project.auth=WARN",
+                    "--logging.level.org.springframework.security=WARN",
+                    // The simulated citizens file far faster than the per-user write limits allow
+                    "--rate-limit.enabled=false",
+                    "--escalation.cron=" + config.get("escalation.cron"));
+            return new EmbeddedApplication(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    /**
+     * Escalation scheduler runs seen by the application's own timer
+     */
+    public Map<String, Object> escalationRuns() {
+        Map<String, Object> runs = new LinkedHashMap<>();
+        for (Timer timer : context.getBean(MeterRegistry.class).find("civicpulse.escalation.run").timers()) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("runs", timer.count());
+            summary.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            summary.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            runs.put(timer.getId().getTag("outcome"), summary);
+        }
+        return runs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
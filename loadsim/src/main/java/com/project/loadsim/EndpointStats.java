@@ -0,0 +1,69 @@
+package com.project.loadsim;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts for one endpoint
+ */
+public class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String endpoint;
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @param status HTTP status, or 0 when the request failed without one
+     */
+    public void record(long nanos, int status) {
+        latency.recordValue(Math.min(MAX_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status / 100 != 2) {
+            errors.increment();
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getCount() {
+        return latency.getTotalCount();
+    }
+
+    public Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", endpoint);
+        summary.put("requests", getCount());
+        summary.put("errors", errors.sum());
+        summary.put("throughput", getCount() / seconds);
+        summary.put("p50Ms", millisAt(50));
+        summary.put("p90Ms", millisAt(90));
+        summary.put("p99Ms", millisAt(99));
+        summary.put("p999Ms", millisAt(99.9));
+        summary.put("maxMs", latency.getMaxValue() / 1000.0);
+        summary.put("meanMs", latency.getMean() / 1000.0);
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status == 0 ? "failed" : status.toString(), count.sum()));
+        summary.put("statuses", byStatus);
+        return summary;
+    }
+
+    private double millisAt(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.loadsim;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end workload simulator. Creates citizens and officers through the
+ * API, then starts every scenario at its configured rate (open model:
+ * arrivals do not wait for earlier requests to finish) for a warmup and a
+ * measured period, and reports latency percentiles and throughput per
+ * endpoint.
+ *
+ * <pre>
+ * java -jar target/loadsim.jar --embedded=true --duration=60
+ * java -jar target/loadsim.jar --base-url=http://localhost:8080 --config=peak.properties
+ * </pre>
+ */
+public class LoadSimulator {
+
+    private final SimulationConfig config;
+    private final Workload workload;
+    private final Semaphore inFlight;
+    private final Map<Scenario, LongAdder> started = new LinkedHashMap<>();
+    private final Map<Scenario, LongAdder> dropped = new LinkedHashMap<>();
+
+    private LoadSimulator(SimulationConfig config, Workload workload) {
+        this.config = config;
+        this.workload = workload;
+        this.inFlight = new Semaphore(config.getInt("max-in-flight"));
+        for (Scenario scenario : Scenario.values()) {
+            started.put(scenario, new LongAdder());
+            dropped.put(scenario, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationConfig config = SimulationConfig.load(args);
+        EmbeddedApplication embedded = null;
+        try {
+            String baseUrl = config.get("base-url");
+            if (config.getBoolean("embedded")) {
+                System.out.println("Starting the application on an embedded PostgreSQL...");
+                embedded = EmbeddedApplication.start(config);
+                baseUrl = embedded.baseUrl();
+            }
+            ApiClient api = new ApiClient(baseUrl);
+            System.out.printf("Creating %s citizens and %s officers on %s%n",
+                    config.get("citizens"), config.get("officers"), baseUrl);
+            Population population = Population.create(api, config);
+
+            LoadSimulator simulator = new LoadSimulator(config, new Workload(api, population, config));
+            Map<String, Object> report = simulator.run();
+            if (embedded != null) {
+                report.put("escalationScheduler", embedded.escalationRuns());
+            }
+            Report.print(report);
+            Path file = Path.of(config.get("report"));
+            api.objectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            System.out.println("Report written to " + file.toAbsolutePath());
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private Map<String, Object> run() throws InterruptedException {
+        long warmup = TimeUnit.SECONDS.toNanos(config.getInt("warmup"));
+        long duration = TimeUnit.SECONDS.toNanos(config.getInt("duration"));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup;
+        long end = measureFrom + duration;
+        workload.measureFrom(measureFrom);
+
+        List<Thread> arrivals = new ArrayList<>();
+        long seed = start;
+        for (Scenario scenario : Scenario.values()) {
+            double rate = config.rateOf(scenario);
+            if (rate > 0) {
+                Random random = new Random(seed++);
+                Thread thread = new Thread(() -> arrive(scenario, rate, random, start, measureFrom, end),
+                        "loadsim-" + scenario.key());
+                thread.start();
+                arrivals.add(thread);
+            }
+        }
+        System.out.printf("Running: %ds warmup, %ds measured%n", warmup / 1_000_000_000, duration / 1_000_000_000);
+        for (Thread thread : arrivals) {
+            thread.join();
+        }
+        // Let requests started before the end finish
+        int permits = config.getInt("max-in-flight");
+        if (!inFlight.tryAcquire(permits, 2, TimeUnit.MINUTES)) {
+            System.out.println("Some requests were still running after two minutes");
+        }
+
+        double seconds = duration / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("measuredSeconds", seconds);
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        for (Scenario scenario : Scenario.values()) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("ratePerSecond", config.rateOf(scenario));
+            summary.put("started", started.get(scenario).sum());
+            summary.put("dropped", dropped.get(scenario).sum());
+            LongAdder idle = workload.idle().get(scenario);
+            summary.put("idle", idle == null ? 0 : idle.sum());
+            scenarios.put(scenario.key(), summary);
+        }
+        report.put("scenarios", scenarios);
+        report.put("endpoints", workload.endpoints().values().stream()
+                .sorted(Comparator.comparing(EndpointStats::getEndpoint))
+                .map(stats -> stats.summary(seconds))
+                .toList());
+        return report;
+    }
+
+    /**
+     * Start a scenario at exponentially distributed intervals, i.e. a Poisson
+     * process of the given rate
+     */
+    private void arrive(Scenario scenario, double rate, Random random, long start, long measureFrom, long end) {
+        long next = start;
+        while (true) {
+            next += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+            if (next >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = next >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.get(scenario).increment();
+                }
+                continue;
+            }
+            if (measured) {
+                started.get(scenario).increment();
+            }
+            try {
+                workload.start(scenario, next).whenComplete((result, failure) -> inFlight.release());
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+    }
+}
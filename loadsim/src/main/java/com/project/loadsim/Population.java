@@ -0,0 +1,121 @@
+package com.project.loadsim;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Accounts the simulation acts as, created through the public API before the
+ * run, and the complaints handed between them during it. Emails carry a run
+ * id so repeated runs against one database do not collide.
+ */
+public class Population {
+
+    // Departments offered by the complaint form
+    static final String[] DEPARTMENTS = { "Roads", "Sanitation", "Water Supply", "Electricity",
+            "Street Lights", "Drainage", "Parks" };
+    static final String[] ZONES = { "North", "South", "East", "West", "Central" };
+
+    private static final String PASSWORD = "Loadsim@123";
+
+    public record Citizen(String email, String token) {
+    }
+
+    public record Officer(long id, String email, String department, String token,
+            ConcurrentLinkedQueue<Long> assigned) {
+    }
+
+    private final String adminToken;
+    private final List<Citizen> citizens;
+    private final List<Officer> officers;
+
+    // Filed complaints waiting for an admin to assign them
+    private final ConcurrentLinkedQueue<Long> unassigned = new ConcurrentLinkedQueue<>();
+
+    private Population(String adminToken, List<Citizen> citizens, List<Officer> officers) {
+        this.adminToken = adminToken;
+        this.citizens = citizens;
+        this.officers = officers;
+    }
+
+    public static Population create(ApiClient api, SimulationConfig config) {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String adminToken = login(api, config.get("admin.email"), config.get("admin.password"), null);
+
+        List<CompletableFuture<Citizen>> citizens = new ArrayList<>();
+        for (int i = 0; i < config.getInt("citizens"); i++) {
+            String email = "citizen" + i + "." + runId + "@loadsim.local";
+            citizens.add(api.send(signup(api, "Citizen " + i, email, "CITIZEN", null, null))
+                    .thenApply(response -> new Citizen(email, login(api, email, PASSWORD, null))));
+        }
+
+        // Officers sign up, wait for approval, and log in with the issued key
+        Map<String, String> officerDepartments = new LinkedHashMap<>();
+        for (int i = 0; i < config.getInt("officers"); i++) {
+            String email = "officer" + i + "." + runId + "@loadsim.local";
+            String department = DEPARTMENTS[i % DEPARTMENTS.length];
+            api.call(signup(api, "Officer " + i, email, "OFFICER", department, ZONES[i % ZONES.length]));
+            officerDepartments.put(email, department);
+        }
+        List<Officer> officers = new ArrayList<>();
+        for (JsonNode pending : api.call(api.get("/admin/officers/pending", adminToken))) {
+            String email = pending.path("email").asText();
+            if (!officerDepartments.containsKey(email)) {
+                continue;
+            }
+            long id = pending.path("id").asLong();
+            String secretKey = api.call(api.postJson("/admin/officers/" + id + "/approve", adminToken, Map.of()))
+                    .path("secretKey").asText();
+            officers.add(new Officer(id, email, officerDepartments.get(email), login(api, email, PASSWORD, secretKey),
+                    new ConcurrentLinkedQueue<>()));
+        }
+
+        return new Population(adminToken, citizens.stream().map(CompletableFuture::join).toList(), officers);
+    }
+
+    private static HttpRequest signup(ApiClient api, String name, String email, String role, String department,
+            String zone) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("name", name);
+        body.put("email", email);
+        body.put("password", PASSWORD);
+        body.put("role", role);
+        if (department != null) {
+            body.put("department", department);
+            body.put("zone", zone);
+        }
+        return api.postJson("/auth/signup", null, body);
+    }
+
+    private static String login(ApiClient api, String email, String password, String secretKey) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("password", password);
+        if (secretKey != null) {
+            body.put("secretKey", secretKey);
+        }
+        return api.call(api.postJson("/auth/login", null, body)).path("token").asText();
+    }
+
+    public String adminToken() {
+        return adminToken;
+    }
+
+    public List<Citizen> citizens() {
+        return citizens;
+    }
+
+    public List<Officer> officers() {
+        return officers;
+    }
+
+    public ConcurrentLinkedQueue<Long> unassigned() {
+        return unassigned;
+    }
+}
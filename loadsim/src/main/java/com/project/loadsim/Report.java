@@ -0,0 +1,38 @@
+package com.project.loadsim;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Console rendering of the simulation report
+ */
+final class Report {
+
+    private Report() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static void print(Map<String, Object> report) {
+        System.out.println();
+        System.out.printf("%-18s %8s %8s %8s %8s%n", "Scenario", "rate/s", "started", "dropped", "idle");
+        ((Map<String, Map<String, Object>>) report.get("scenarios")).forEach((name, s) -> System.out.printf(
+                "%-18s %8s %8s %8s %8s%n", name, s.get("ratePerSecond"), s.get("started"), s.get("dropped"),
+                s.get("idle")));
+
+        System.out.println();
+        System.out.printf("%-40s %8s %7s %8s %9s %9s %9s %9s %9s%n", "Endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> e : (List<Map<String, Object>>) report.get("endpoints")) {
+            System.out.printf("%-40s %8d %7d %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n", e.get("endpoint"),
+                    e.get("requests"), e.get("errors"), e.get("throughput"), e.get("p50Ms"), e.get("p90Ms"),
+                    e.get("p99Ms"), e.get("p999Ms"), e.get("maxMs"));
+        }
+
+        Object escalations = report.get("escalationScheduler");
+        if (escalations != null) {
+            System.out.println();
+            System.out.println("Escalation scheduler runs: " + escalations);
+        }
+        System.out.println();
+    }
+}
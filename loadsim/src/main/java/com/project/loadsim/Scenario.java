@@ -0,0 +1,25 @@
+package com.project.loadsim;
+
+/**
+ * One kind of user action, started at its configured arrival rate. A
+ * scenario may issue several requests; each is reported under its endpoint.
+ */
+public enum Scenario {
+    CITIZEN_FILE("citizen.file"),
+    CITIZEN_HISTORY("citizen.history"),
+    OFFICER_POLL("officer.poll"),
+    OFFICER_PROOF("officer.proof"),
+    ADMIN_STATISTICS("admin.statistics"),
+    ADMIN_WORKLOAD("admin.workload"),
+    ADMIN_ASSIGN("admin.assign");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.loadsim;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Simulator settings: loadsim.properties on the classpath, then the file
+ * given by --config, then --key=value arguments
+ */
+public class SimulationConfig {
+
+    private final Properties properties = new Properties();
+
+    public static SimulationConfig load(String[] args) throws IOException {
+        SimulationConfig config = new SimulationConfig();
+        try (InputStream defaults = SimulationConfig.class.getResourceAsStream("/loadsim.properties")) {
+            config.properties.load(defaults);
+        }
+
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            overrides.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String file = overrides.remove("config");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                config.properties.load(reader);
+            }
+        }
+        config.properties.putAll(overrides);
+        return config;
+    }
+
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing setting " + key);
+        }
+        return value.trim();
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+
+    public double getDouble(String key) {
+        return Double.parseDouble(get(key));
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(get(key));
+    }
+
+    /**
+     * Arrival rate of a scenario in requests per second
+     */
+    public double rateOf(Scenario scenario) {
+        String value = properties.getProperty("rate." + scenario.key());
+        return value == null ? 0 : Double.parseDouble(value.trim());
+    }
+}
@@ -0,0 +1,165 @@
+package com.project.loadsim;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What each scenario does. Requests are timed individually and reported
+ * under their endpoint template; the first request of a scenario is timed
+ * from its scheduled arrival, so time spent waiting to be sent counts too.
+ */
+public class Workload {
+
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH" };
+
+    private final ApiClient api;
+    private final Population population;
+    private final double overdueShare;
+    private final byte[] photo;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    // Scenarios that found nothing to do, e.g. no complaint waiting for proof
+    private final Map<Scenario, LongAdder> idle = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    public Workload(ApiClient api, Population population, SimulationConfig config) {
+        this.api = api;
+        this.population = population;
+        this.overdueShare = config.getDouble("overdue-share");
+        this.photo = new byte[config.getInt("photo-kb") * 1024];
+        ThreadLocalRandom.current().nextBytes(photo);
+        // JPEG start and end markers, for anything that sniffs the content
+        photo[0] = (byte) 0xFF;
+        photo[1] = (byte) 0xD8;
+        photo[photo.length - 2] = (byte) 0xFF;
+        photo[photo.length - 1] = (byte) 0xD9;
+    }
+
+    /**
+     * Requests that start from this instant on are recorded
+     */
+    public void measureFrom(long nanoTime) {
+        measureFrom = nanoTime;
+    }
+
+    public Map<String, EndpointStats> endpoints() {
+        return endpoints;
+    }
+
+    public Map<Scenario, LongAdder> idle() {
+        return idle;
+    }
+
+    public CompletableFuture<?> start(Scenario scenario, long scheduledAt) {
+        return switch (scenario) {
+            case CITIZEN_FILE -> fileComplaint(scheduledAt);
+            case CITIZEN_HISTORY -> timed("GET /api/complaints/my",
+                    api.get("/api/complaints/my", any(population.citizens()).token()), scheduledAt);
+            case OFFICER_POLL -> timed("GET /api/complaints/officer/my",
+                    api.get("/api/complaints/officer/my", any(population.officers()).token()), scheduledAt);
+            case OFFICER_PROOF -> uploadProof(scheduledAt);
+            case ADMIN_STATISTICS -> timed("GET /api/complaints/statistics",
+                    api.get("/api/complaints/statistics", population.adminToken()), scheduledAt);
+            case ADMIN_WORKLOAD -> timed("GET /api/complaints/officers/workload",
+                    api.get("/api/complaints/officers/workload", population.adminToken()), scheduledAt);
+            case ADMIN_ASSIGN -> assign(scheduledAt);
+        };
+    }
+
+    private CompletableFuture<?> fileComplaint(long scheduledAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("department", any(Population.DEPARTMENTS));
+        fields.put("description", "Load test complaint " + random.nextInt(1_000_000));
+        fields.put("latitude", Double.toString(12.9 + random.nextDouble() / 10));
+        fields.put("longitude", Double.toString(77.5 + random.nextDouble() / 10));
+        fields.put("locationAddress", "Street " + random.nextInt(500));
+        fields.put("zone", any(Population.ZONES));
+        HttpRequest request = api.multipart("/api/complaints", any(population.citizens()).token(), fields,
+                "photo", "photo.jpg", photo);
+        return timed("POST /api/complaints", request, scheduledAt).thenAccept(response -> {
+            if (response != null && response.statusCode() == 200) {
+                population.unassigned().add(api.json(response.body()).path("id").asLong());
+            }
+        });
+    }
+
+    private CompletableFuture<?> assign(long scheduledAt) {
+        Long complaintId = population.unassigned().poll();
+        if (complaintId == null) {
+            return skip(Scenario.ADMIN_ASSIGN);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Population.Officer officer = any(population.officers());
+        boolean overdue = random.nextDouble() < overdueShare;
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("officerId", Long.toString(officer.id()));
+        params.put("priority", any(PRIORITIES));
+        if (overdue) {
+            params.put("deadline", LocalDateTime.now().minusHours(1).withNano(0).toString());
+        }
+        HttpRequest request = api.request("/api/complaints/" + complaintId + "/assign" + ApiClient.query(params),
+                population.adminToken()).PUT(HttpRequest.BodyPublishers.noBody()).build();
+        return timed("PUT /api/complaints/{id}/assign", request, scheduledAt).thenAccept(response -> {
+            // Overdue complaints are left for the escalation scheduler
+            if (response != null && response.statusCode() == 200 && !overdue) {
+                officer.assigned().add(complaintId);
+            }
+        });
+    }
+
+    private CompletableFuture<?> uploadProof(long scheduledAt) {
+        Population.Officer officer = any(population.officers());
+        Long complaintId = officer.assigned().poll();
+        if (complaintId == null) {
+            return skip(Scenario.OFFICER_PROOF);
+        }
+        HttpRequest proof = api.multipart("/api/complaints/" + complaintId + "/proof", officer.token(), Map.of(),
+                "proof", "proof.jpg", photo);
+        return timed("POST /api/complaints/{id}/proof", proof, scheduledAt).thenCompose(response -> {
+            if (response == null || response.statusCode() != 200) {
+                return CompletableFuture.completedFuture(null);
+            }
+            HttpRequest resolve = api.request("/api/complaints/" + complaintId + "/status?status=RESOLVED",
+                    officer.token()).PUT(HttpRequest.BodyPublishers.noBody()).build();
+            return timed("PUT /api/complaints/{id}/status", resolve, System.nanoTime());
+        });
+    }
+
+    /**
+     * Send a request and record it; completes with null when it failed
+     * without a response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> timed(String endpoint, HttpRequest request, long startedAt) {
+        return api.send(request).handle((response, failure) -> {
+            if (startedAt >= measureFrom) {
+                endpoints.computeIfAbsent(endpoint, EndpointStats::new)
+                        .record(System.nanoTime() - startedAt, response != null ? response.statusCode() : 0);
+            }
+            return response;
+        });
+    }
+
+    private CompletableFuture<?> skip(Scenario scenario) {
+        if (System.nanoTime() >= measureFrom) {
+            idle.computeIfAbsent(scenario, s -> new LongAdder()).increment();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static <T> T any(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static <T> T any(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
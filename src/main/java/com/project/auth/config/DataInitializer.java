@@ -6,12 +6,15 @@ import com.project.auth.entity.User;
 import com.project.auth.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // the admin must exist before other startup runners
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
@@ -1,10 +1,13 @@
 package com.project.auth.config;
 
+import com.project.auth.ratelimit.RateLimitFilter;
 import com.project.auth.security.CustomUserDetailsService;
 import com.project.auth.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -34,6 +37,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -58,6 +64,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:3001"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Retry-After", "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -70,8 +77,19 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch, after the request was authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/uploads/**").permitAll()
+                        .requestMatchers("/actuator/**").permitAll() // management port, loopback only
+                        // Maintenance jobs and bulk export under /api/complaints are for admins only
+                        .requestMatchers(HttpMethod.POST, "/api/complaints/search/rebuild").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/complaints/officer/ratings/rebuild").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/complaints/rollups/backfill").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/complaints/analytics/sketches/rebuild").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/complaints/archive/run").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/complaints/export").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/complaints/escalations/*/resolve").hasRole("ADMIN")
                         .requestMatchers("/api/complaints/**").authenticated()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/user/**").hasAnyRole("CITIZEN", "OFFICER", "ADMIN")
@@ -79,7 +97,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
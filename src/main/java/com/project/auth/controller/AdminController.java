@@ -1,13 +1,25 @@
 package com.project.auth.controller;
 
 import com.project.auth.dto.ApproveOfficerResponse;
+import com.project.auth.dto.OfficerImportResult;
 import com.project.auth.dto.UserResponse;
 import com.project.auth.service.AdminService;
+import com.project.auth.service.UserDirectoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +32,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
     @GetMapping("/officers/pending")
     public ResponseEntity<?> getPendingOfficers() {
         try {
@@ -55,4 +70,82 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
     }
+
+    /**
+     * Bulk signup from a CSV upload. With approve=true the imported officers
+     * are approved as well and the response is the CSV of their secret keys.
+     */
+    @PostMapping(value = "/officers/import", consumes = { "multipart/form-data" })
+    public ResponseEntity<?> importOfficers(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean approve) {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            OfficerImportResult result = adminService.importOfficers(reader, approve);
+            if (!approve) {
+                return ResponseEntity.ok(result);
+            }
+            List<ApproveOfficerResponse> rows = new ArrayList<>(result.getApproved());
+            for (OfficerImportResult.SkippedRow skipped : result.getSkipped()) {
+                rows.add(ApproveOfficerResponse.builder()
+                        .officerEmail(skipped.getEmail())
+                        .message("Line " + skipped.getLine() + ": " + skipped.getError())
+                        .build());
+            }
+            return secretKeysCsv(rows);
+        } catch (IOException | RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * Approve many officers at once: the listed ids, or every pending officer
+     * (of the department, when given) without a body. Responds with a CSV of
+     * the one-time secret keys.
+     */
+    @PostMapping("/officers/approve")
+    public ResponseEntity<?> approveOfficers(
+            @RequestBody(required = false) List<Long> officerIds,
+            @RequestParam(required = false) String department) {
+        try {
+            return secretKeysCsv(adminService.approveOfficers(officerIds, department));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    @GetMapping("/directory/cache")
+    public ResponseEntity<?> getDirectoryCacheStatistics() {
+        return ResponseEntity.ok(userDirectoryService.getCacheStatistics());
+    }
+
+    // The keys are shown once and never stored in clear, so the file must not be cached
+    private static ResponseEntity<String> secretKeysCsv(List<ApproveOfficerResponse> rows) {
+        StringBuilder csv = new StringBuilder("officer_id,name,email,department,secret_key,message\r\n");
+        for (ApproveOfficerResponse row : rows) {
+            Object[] values = { row.getOfficerId(), row.getOfficerName(), row.getOfficerEmail(),
+                    row.getDepartment(), row.getSecretKey(), row.getMessage() };
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                if (values[i] != null) {
+                    String text = values[i].toString();
+                    boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                            || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+                    csv.append(quote ? '"' + text.replace("\"", "\"\"") + '"' : text);
+                }
+            }
+            csv.append("\r\n");
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"officer-keys-" + LocalDate.now() + ".csv\"")
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(csv.toString());
+    }
 }
@@ -0,0 +1,22 @@
+package com.project.auth.dto;
+
+import com.project.auth.entity.Status;
+import com.project.auth.entity.User;
+
+/**
+ * The fields of a user the directory cache keeps. Credentials are left out
+ * so they are not held in memory for the life of the cache.
+ */
+public record DirectoryUser(
+        Long id,
+        String name,
+        String email,
+        String department,
+        String zone,
+        Status status) {
+
+    public static DirectoryUser of(User user) {
+        return new DirectoryUser(user.getId(), user.getName(), user.getEmail(), user.getDepartment(),
+                user.getZone(), user.getStatus());
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfficerImportResult {
+    private int imported;
+    private List<Long> officerIds;
+    private List<SkippedRow> skipped;
+    // Secret keys of the imported officers, when they were approved on import
+    private List<ApproveOfficerResponse> approved;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkippedRow {
+        private int line;
+        private String email;
+        private String error;
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.auth.event;
+
+import com.project.auth.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a user is created or changes role/status, so that
+ * components holding derived views of the user directory can refresh them.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDirectoryChangedEvent {
+    private final Long userId;
+    private final Role role;
+}
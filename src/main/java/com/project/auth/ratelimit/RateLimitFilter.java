@@ -0,0 +1,137 @@
+package com.project.auth.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured write limits. Runs in the security chain after the
+ * JWT filter, so authenticated callers are limited per user and their role
+ * picks the limit; anyone else is limited per client address. Rejected
+ * requests get 429 with Retry-After in seconds.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_LIMIT = "DEFAULT";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    private List<LimitedRoute> routes = List.of();
+
+    @PostConstruct
+    void compileRoutes() {
+        List<LimitedRoute> compiled = new ArrayList<>();
+        properties.getRoutes().forEach((name, route) -> {
+            Map<String, RateLimitProperties.Limit> limits = new HashMap<>();
+            route.getLimits().forEach((role, limit) -> {
+                if (limit.getCapacity() <= 0 || limit.getPeriod() == null || limit.getPeriod().isNegative()
+                        || limit.getPeriod().isZero()) {
+                    throw new IllegalStateException("Rate limit " + name + "." + role
+                            + " needs a positive capacity and period");
+                }
+                limits.put(role.toUpperCase(Locale.ROOT), limit);
+            });
+            compiled.add(new LimitedRoute(name, route.getMethod().toUpperCase(Locale.ROOT),
+                    PathPatternParser.defaultInstance.parse(route.getPath()), limits));
+        });
+        routes = List.copyOf(compiled);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        if (route != null) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            boolean authenticated = auth != null && auth.isAuthenticated()
+                    && !(auth instanceof AnonymousAuthenticationToken);
+            RateLimitProperties.Limit limit = route.limitFor(authenticated ? roleOf(auth) : null);
+            if (limit != null) {
+                String caller = authenticated ? "user:" + auth.getName() : "ip:" + request.getRemoteAddr();
+                long waitNanos = rateLimiter.tryAcquire(route.name(), caller, limit);
+                if (waitNanos > 0) {
+                    reject(response, route, waitNanos);
+                    return;
+                }
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = null;
+        for (LimitedRoute route : routes) {
+            if (!route.method().equals(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, LimitedRoute route, long waitNanos) throws IOException {
+        meterRegistry.counter("civicpulse.ratelimit.rejected", "route", route.name()).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry in " + retryAfter + " seconds\"}");
+    }
+
+    private static String roleOf(Authentication auth) {
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                return name.substring(5);
+            }
+        }
+        return null;
+    }
+
+    private record LimitedRoute(String name, String method, PathPattern pattern,
+            Map<String, RateLimitProperties.Limit> limits) {
+
+        RateLimitProperties.Limit limitFor(String role) {
+            RateLimitProperties.Limit limit = role != null ? limits.get(role) : null;
+            return limit != null ? limit : limits.get(DEFAULT_LIMIT);
+        }
+    }
+}
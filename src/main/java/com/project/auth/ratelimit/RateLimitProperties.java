@@ -0,0 +1,47 @@
+package com.project.auth.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Write rate limits, under rate-limit.*. Each route names a method and path
+ * pattern and a limit per role, with "default" for roles not listed:
+ *
+ *   rate-limit.routes.reopen.method=POST
+ *   rate-limit.routes.reopen.path=/api/complaints/{id}/reopen
+ *   rate-limit.routes.reopen.limits.default.capacity=3
+ *   rate-limit.routes.reopen.limits.default.period=10m
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets tracked at once; past this, requests from new callers are let through
+    private int maxBuckets = 100_000;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String method = "POST";
+        private String path;
+        private Map<String, Limit> limits = new LinkedHashMap<>();
+    }
+
+    /**
+     * Up to capacity requests at once, refilled evenly over the period
+     */
+    @Data
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.auth.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per route and caller, kept as GCRA state: a single
+ * theoretical arrival time per bucket, advanced with a compare-and-set, so
+ * taking a token never locks. A bucket whose arrival time has passed is full
+ * again and holds nothing worth keeping; those are swept periodically.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Map<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        meterRegistry.gaugeMapSize("civicpulse.ratelimit.buckets", List.of(), buckets);
+    }
+
+    /**
+     * Take a token from the caller's bucket for the route. Returns 0 when
+     * allowed, otherwise the nanoseconds until a token is available.
+     */
+    public long tryAcquire(String route, String caller, RateLimitProperties.Limit limit) {
+        long period = limit.getPeriod().toNanos();
+        long interval = period / Math.max(limit.getCapacity(), 1);
+        long now = System.nanoTime();
+
+        BucketKey key = new BucketKey(route, caller);
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evictIdle();
+                if (buckets.size() >= properties.getMaxBuckets()) {
+                    log.warn("Rate limiter is tracking {} buckets; not limiting {}", buckets.size(), caller);
+                    return 0;
+                }
+            }
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > period) {
+                return next - now - period;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely. A caller racing the sweep
+     * may get one token from a fresh bucket, which is harmless.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+
+    private record BucketKey(String route, String caller) {
+    }
+}
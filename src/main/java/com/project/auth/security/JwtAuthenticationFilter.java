@@ -1,5 +1,7 @@
 package com.project.auth.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +26,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -32,12 +37,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        // Parse, user lookup and signature/expiry check, timed together
+        Timer.Sample validation = null;
+        String outcome = "invalid";
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            validation = Timer.start(meterRegistry);
             jwt = authorizationHeader.substring(7);
             try {
                 username = jwtUtil.extractUsername(jwt);
             } catch (Exception e) {
+                outcome = "malformed";
                 logger.error("JWT Token parsing error", e);
             }
         }
@@ -46,12 +56,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
             if (jwtUtil.validateToken(jwt, userDetails)) {
+                outcome = "valid";
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
+        if (validation != null) {
+            validation.stop(Timer.builder("civicpulse.jwt.validation")
+                    .description("Bearer token parsing, user lookup and validation")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
         chain.doFilter(request, response);
     }
 }
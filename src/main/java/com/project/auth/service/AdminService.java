@@ -1,8 +1,11 @@
 package com.project.auth.service;
 
 import com.project.auth.dto.ApproveOfficerResponse;
+import com.project.auth.dto.OfficerImportResult;
 import com.project.auth.dto.UserResponse;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 public interface AdminService {
@@ -11,4 +14,19 @@ public interface AdminService {
     List<UserResponse> getApprovedOfficers();
 
     ApproveOfficerResponse approveOfficer(Long officerId);
+
+    /**
+     * Create officers from CSV with a header row naming name, email, password
+     * and optionally department and zone columns. They are pending unless
+     * approve is set, in which case they are created approved in the same
+     * transaction and the result carries their secret keys.
+     */
+    OfficerImportResult importOfficers(Reader csv, boolean approve) throws IOException;
+
+    /**
+     * Approve the given officers, or every pending officer (of the department,
+     * when given) if officerIds is null. Each response carries the new secret
+     * key, or a message saying why that officer was skipped.
+     */
+    List<ApproveOfficerResponse> approveOfficers(List<Long> officerIds, String department);
 }
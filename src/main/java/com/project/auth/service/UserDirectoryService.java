@@ -0,0 +1,23 @@
+package com.project.auth.service;
+
+import com.project.auth.dto.DirectoryUser;
+import com.project.auth.entity.Role;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through cache of users by role, department and zone. Returned lists
+ * are shared and unmodifiable; load the entity when one is needed.
+ */
+public interface UserDirectoryService {
+    List<DirectoryUser> findByRole(Role role);
+
+    List<DirectoryUser> findByRoleAndDepartment(Role role, String department);
+
+    List<DirectoryUser> findByRoleAndZone(Role role, String zone);
+
+    void invalidate();
+
+    Map<String, Object> getCacheStatistics();
+}
@@ -1,18 +1,41 @@
 package com.project.auth.service.impl;
 
 import com.project.auth.dto.ApproveOfficerResponse;
+import com.project.auth.dto.OfficerImportResult;
+import com.project.auth.dto.SignupRequest;
 import com.project.auth.dto.UserResponse;
 import com.project.auth.entity.Role;
 import com.project.auth.entity.Status;
 import com.project.auth.entity.User;
+import com.project.auth.event.UserDirectoryChangedEvent;
 import com.project.auth.repository.UserRepository;
 import com.project.auth.service.AdminService;
+import com.project.auth.util.BulkPasswordEncoder;
 import com.project.auth.util.SecretKeyGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +50,35 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BulkPasswordEncoder bulkPasswordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${onboarding.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${onboarding.batch-size:500}")
+    private int batchSize;
+
+    // Bulk writes go through JDBC batches; users ids are IDENTITY, which keeps Hibernate from batching inserts
+    private static final String INSERT_OFFICER = "INSERT INTO users "
+            + "(name, email, password, role, status, secret_key_hash, department, zone, created_at, updated_at) "
+            + "VALUES (?, ?, ?, 'OFFICER', ?, ?, ?, ?, ?, ?) ON CONFLICT (email) DO NOTHING";
+
+    private static final String APPROVE_OFFICER = "UPDATE users SET secret_key_hash = ?, status = 'APPROVED', "
+            + "updated_at = ? WHERE id = ? AND role = 'OFFICER' AND status = 'PENDING_VERIFICATION'";
+
     @Override
     public List<UserResponse> getPendingOfficers() {
         List<User> pendingOfficers = userRepository.findByRoleAndStatus(Role.OFFICER, Status.PENDING_VERIFICATION);
@@ -70,6 +122,7 @@ public class AdminServiceImpl implements AdminService {
         officer.setSecretKeyHash(hashedSecretKey);
         officer.setStatus(Status.APPROVED);
         officer = userRepository.save(officer);
+        eventPublisher.publishEvent(new UserDirectoryChangedEvent(officer.getId(), officer.getRole()));
 
         return ApproveOfficerResponse.builder()
                 .officerId(officer.getId())
@@ -81,6 +134,266 @@ public class AdminServiceImpl implements AdminService {
                 .build();
     }
 
+    @Override
+    public OfficerImportResult importOfficers(Reader csv, boolean approve) throws IOException {
+        List<OfficerRow> rows = new ArrayList<>();
+        List<OfficerImportResult.SkippedRow> skipped = new ArrayList<>();
+        readOfficerRows(csv, rows, skipped);
+
+        // Passwords and secret keys are hashed before the transaction so it stays short
+        List<String> hashes = bulkPasswordEncoder.encodeAll(rows.stream().map(OfficerRow::password).toList());
+        List<String> secretKeys = approve
+                ? rows.stream().map(row -> secretKeyGenerator.generateSecretKey()).toList()
+                : null;
+        List<String> secretKeyHashes = approve ? bulkPasswordEncoder.encodeAll(secretKeys) : null;
+        String officerStatus = (approve ? Status.APPROVED : Status.PENDING_VERIFICATION).name();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Approved officers are inserted approved, so no one is left pending if the import fails part way
+        Map<String, Long> insertedIds = new TransactionTemplate(transactionManager).execute(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_OFFICER, indices(rows.size()), batchSize, (ps, i) -> {
+                OfficerRow row = rows.get(i);
+                ps.setString(1, row.name());
+                ps.setString(2, row.email());
+                ps.setString(3, hashes.get(i));
+                ps.setString(4, officerStatus);
+                ps.setString(5, approve ? secretKeyHashes.get(i) : null);
+                ps.setString(6, row.department());
+                ps.setString(7, row.zone());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            });
+            List<String> inserted = new ArrayList<>();
+            int i = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    OfficerRow row = rows.get(i++);
+                    if (count == 0) {
+                        skipped.add(new OfficerImportResult.SkippedRow(row.line(), row.email(), "Email already exists"));
+                    } else {
+                        inserted.add(row.email());
+                    }
+                }
+            }
+            Map<String, Long> ids = new HashMap<>();
+            if (!inserted.isEmpty()) {
+                jdbcTemplate.query("SELECT id, email FROM users WHERE email = ANY(?)",
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", inserted.toArray())),
+                        rs -> {
+                            ids.put(rs.getString("email"), rs.getLong("id"));
+                        });
+            }
+            return ids;
+        });
+
+        List<Long> officerIds = insertedIds.values().stream().sorted().toList();
+        officerIds.forEach(id -> eventPublisher.publishEvent(new UserDirectoryChangedEvent(id, Role.OFFICER)));
+        List<ApproveOfficerResponse> approved = new ArrayList<>();
+        if (approve) {
+            for (int i = 0; i < rows.size(); i++) {
+                OfficerRow row = rows.get(i);
+                Long id = insertedIds.get(row.email());
+                if (id != null) {
+                    approved.add(ApproveOfficerResponse.builder()
+                            .officerId(id)
+                            .officerName(row.name())
+                            .officerEmail(row.email())
+                            .department(row.department())
+                            .secretKey(secretKeys.get(i))
+                            .message("Officer approved successfully")
+                            .build());
+                }
+            }
+        }
+        skipped.sort((a, b) -> Integer.compare(a.getLine(), b.getLine()));
+        return OfficerImportResult.builder()
+                .imported(officerIds.size())
+                .officerIds(officerIds)
+                .skipped(skipped)
+                .approved(approved)
+                .build();
+    }
+
+    @Override
+    public List<ApproveOfficerResponse> approveOfficers(List<Long> officerIds, String department) {
+        List<User> candidates;
+        if (officerIds == null) {
+            candidates = userRepository.findByRoleAndStatus(Role.OFFICER, Status.PENDING_VERIFICATION).stream()
+                    .filter(officer -> department == null || department.equals(officer.getDepartment()))
+                    .collect(Collectors.toList());
+        } else {
+            candidates = userRepository.findAllById(officerIds);
+        }
+        if (candidates.size() > maxRows) {
+            throw new RuntimeException("At most " + maxRows + " officers can be approved at once");
+        }
+
+        List<ApproveOfficerResponse> responses = new ArrayList<>();
+        List<User> officers = new ArrayList<>();
+        for (User user : candidates) {
+            if (user.getRole() != Role.OFFICER) {
+                responses.add(skippedApproval(user, "User is not an officer"));
+            } else if (user.getStatus() != Status.PENDING_VERIFICATION) {
+                responses.add(skippedApproval(user, "Officer is not in pending verification status"));
+            } else {
+                officers.add(user);
+            }
+        }
+
+        List<String> secretKeys = officers.stream().map(officer -> secretKeyGenerator.generateSecretKey()).toList();
+        List<String> hashes = bulkPasswordEncoder.encodeAll(secretKeys);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = new TransactionTemplate(transactionManager).execute(status ->
+                jdbcTemplate.batchUpdate(APPROVE_OFFICER, indices(officers.size()), batchSize, (ps, i) -> {
+                    ps.setString(1, hashes.get(i));
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, officers.get(i).getId());
+                }));
+
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                User officer = officers.get(i);
+                if (count == 0) {
+                    // Approved or changed by someone else since it was read
+                    responses.add(skippedApproval(officer, "Officer is not in pending verification status"));
+                } else {
+                    eventPublisher.publishEvent(new UserDirectoryChangedEvent(officer.getId(), officer.getRole()));
+                    responses.add(ApproveOfficerResponse.builder()
+                            .officerId(officer.getId())
+                            .officerName(officer.getName())
+                            .officerEmail(officer.getEmail())
+                            .department(officer.getDepartment())
+                            .secretKey(secretKeys.get(i))
+                            .message("Officer approved successfully")
+                            .build());
+                }
+                i++;
+            }
+        }
+        return responses;
+    }
+
+    private void readOfficerRows(Reader csv, List<OfficerRow> rows, List<OfficerImportResult.SkippedRow> skipped)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(csv);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new RuntimeException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header.replace("\uFEFF", ""));
+        for (int c = 0; c < names.size(); c++) {
+            columns.put(names.get(c).trim().toLowerCase(Locale.ROOT), c);
+        }
+        for (String required : List.of("name", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("The header row has no " + required + " column");
+            }
+        }
+
+        Set<String> emails = new HashSet<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(line);
+            OfficerRow row = new OfficerRow(lineNumber, field(fields, columns.get("name")),
+                    field(fields, columns.get("email")), field(fields, columns.get("password")),
+                    field(fields, columns.get("department")), field(fields, columns.get("zone")));
+            String error = validate(row);
+            if (error == null && !emails.add(row.email())) {
+                error = "Email appears more than once in the file";
+            }
+            if (error != null) {
+                skipped.add(new OfficerImportResult.SkippedRow(lineNumber, row.email(), error));
+            } else if (rows.size() >= maxRows) {
+                throw new RuntimeException("At most " + maxRows + " officers can be imported at once");
+            } else {
+                rows.add(row);
+            }
+        }
+    }
+
+    // The same constraints a signup request is held to, messages in field order
+    private String validate(OfficerRow row) {
+        SignupRequest request = new SignupRequest(row.name(), row.email(), row.password(), Role.OFFICER,
+                row.department(), row.zone());
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<String> fieldOrder = List.of("name", "email", "password", "role", "department", "zone");
+        return violations.stream()
+                .sorted(Comparator.comparing((ConstraintViolation<SignupRequest> v) ->
+                                fieldOrder.indexOf(v.getPropertyPath().toString()))
+                        .thenComparing(ConstraintViolation::getMessage))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    // One CSV record per line; quoted fields may contain commas and doubled quotes
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, Integer column) {
+        if (column == null || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<Integer> indices(int size) {
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    private static ApproveOfficerResponse skippedApproval(User user, String message) {
+        return ApproveOfficerResponse.builder()
+                .officerId(user.getId())
+                .officerName(user.getName())
+                .officerEmail(user.getEmail())
+                .department(user.getDepartment())
+                .message(message)
+                .build();
+    }
+
+    private record OfficerRow(int line, String name, String email, String password, String department, String zone) {
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
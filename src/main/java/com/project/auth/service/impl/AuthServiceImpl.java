@@ -6,10 +6,12 @@ import com.project.auth.dto.SignupRequest;
 import com.project.auth.entity.Role;
 import com.project.auth.entity.Status;
 import com.project.auth.entity.User;
+import com.project.auth.event.UserDirectoryChangedEvent;
 import com.project.auth.repository.UserRepository;
 import com.project.auth.security.JwtUtil;
 import com.project.auth.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -31,6 +33,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public JwtResponse registerUser(SignupRequest signupRequest) {
         // Check if email already exists
@@ -61,6 +66,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserDirectoryChangedEvent(user.getId(), user.getRole()));
 
         // Generate JWT token
         String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
@@ -0,0 +1,146 @@
+package com.project.auth.service.impl;
+
+import com.project.auth.dto.DirectoryUser;
+import com.project.auth.entity.Role;
+import com.project.auth.event.UserDirectoryChangedEvent;
+import com.project.auth.repository.UserRepository;
+import com.project.auth.service.UserDirectoryService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+public class UserDirectoryServiceImpl implements UserDirectoryService, MeterBinder {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ConcurrentMap<Role, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Override
+    public List<DirectoryUser> findByRole(Role role) {
+        return snapshot(role).all;
+    }
+
+    @Override
+    public List<DirectoryUser> findByRoleAndDepartment(Role role, String department) {
+        return snapshot(role).byDepartment.getOrDefault(department, Collections.emptyList());
+    }
+
+    @Override
+    public List<DirectoryUser> findByRoleAndZone(Role role, String zone) {
+        return snapshot(role).byZone.getOrDefault(zone, Collections.emptyList());
+    }
+
+    @Override
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshots.clear();
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Publish the counters under Micrometer's cache meter names
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tags("cache", "user-directory", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tags("cache", "user-directory", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", invalidations, AtomicLong::get)
+                .tag("cache", "user-directory")
+                .register(registry);
+        Gauge.builder("cache.size", snapshots, Map::size)
+                .tag("cache", "user-directory")
+                .description("Roles currently cached")
+                .register(registry);
+    }
+
+    /**
+     * Signup, officer approval and status changes all publish this event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDirectoryChanged(UserDirectoryChangedEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : Math.round(hitCount * 10000.0 / total) / 100.0);
+        stats.put("invalidations", invalidations.get());
+        stats.put("cachedRoles", snapshots.keySet());
+        return stats;
+    }
+
+    private Snapshot snapshot(Role role) {
+        Snapshot cached = snapshots.get(role);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long loadedAt = generation.get();
+        Snapshot loaded = new Snapshot(userRepository.findByRole(role).stream()
+                .map(DirectoryUser::of)
+                .collect(Collectors.toList()));
+        if (generation.get() == loadedAt) {
+            snapshots.putIfAbsent(role, loaded);
+        }
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        private final List<DirectoryUser> all;
+        private final Map<String, List<DirectoryUser>> byDepartment;
+        private final Map<String, List<DirectoryUser>> byZone;
+
+        private Snapshot(List<DirectoryUser> users) {
+            this.all = Collections.unmodifiableList(users);
+            this.byDepartment = index(users.stream()
+                    .filter(u -> u.department() != null)
+                    .collect(Collectors.groupingBy(DirectoryUser::department)));
+            this.byZone = index(users.stream()
+                    .filter(u -> u.zone() != null)
+                    .collect(Collectors.groupingBy(DirectoryUser::zone)));
+        }
+
+        private static Map<String, List<DirectoryUser>> index(Map<String, List<DirectoryUser>> grouped) {
+            Map<String, List<DirectoryUser>> result = new HashMap<>();
+            grouped.forEach((key, list) -> result.put(key, Collections.unmodifiableList(list)));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.auth.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Hashes a batch of passwords or secret keys across a bounded fork-join pool.
+ * BCrypt is deliberately slow, so hundreds of hashes one after another take
+ * most of a minute; spread over the pool they take a few seconds. The pool is
+ * separate from the common one so a bulk import cannot starve other work.
+ */
+@Component
+public class BulkPasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ForkJoinPool pool;
+
+    public BulkPasswordEncoder(PasswordEncoder passwordEncoder,
+            @Value("${onboarding.hash-parallelism:0}") int parallelism) {
+        this.passwordEncoder = passwordEncoder;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                p -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    thread.setName("bulk-hash-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Encode every value, returning the hashes in the same order
+     */
+    public List<String> encodeAll(List<String> values) {
+        return pool.submit(() -> values.parallelStream().map(passwordEncoder::encode).toList()).join();
+    }
+}
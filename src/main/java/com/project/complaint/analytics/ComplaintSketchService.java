@@ -0,0 +1,318 @@
+package com.project.complaint.analytics;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Approximate analytics per department, zone and day: time-to-resolve and
+ * deadline-slack percentiles (HDR histograms) and distinct reporting citizens
+ * (HyperLogLog).
+ *
+ * Observations are recorded on the write path into small in-memory cells and
+ * merged into complaint_sketches on a fixed delay, so the sketches survive
+ * restarts and memory only holds what changed since the last flush. Queries
+ * merge the stored cells for a range with the unflushed ones.
+ *
+ * Sketches record events: a resolution stays counted if the complaint is
+ * later reopened, and a second resolution is counted again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintSketchService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int REBUILD_PAGE_SIZE = 2000;
+    private static final int REBUILD_FLUSH_CELLS = 500;
+
+    private final SketchStore store;
+
+    @Value("${analytics.sketch-retention-days:730}")
+    private int retentionDays;
+
+    private final Object bufferLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "complaint-sketch-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by bufferLock
+    private Map<SketchKey, SketchCell> pending = new HashMap<>();
+
+    /**
+     * Count the reporting citizen once the filing commits
+     */
+    public void complaintFiled(Complaint complaint) {
+        if (complaint.getCitizen() == null || complaint.getCreatedAt() == null) {
+            return;
+        }
+        SketchKey key = key(complaint.getCreatedAt(), complaint.getDepartment(), complaint.getZone());
+        long citizenId = complaint.getCitizen().getId();
+        afterCommit(() -> record(key, cell -> cell.recordCitizen(citizenId)));
+    }
+
+    /**
+     * Record time-to-resolve and deadline slack once the resolution commits
+     */
+    public void complaintResolved(Complaint complaint) {
+        LocalDateTime resolvedAt = complaint.getResolvedAt();
+        if (resolvedAt == null || complaint.getCreatedAt() == null) {
+            return;
+        }
+        SketchKey key = key(resolvedAt, complaint.getDepartment(), complaint.getZone());
+        long resolution = Duration.between(complaint.getCreatedAt(), resolvedAt).toMinutes();
+        Long slack = complaint.getDeadline() != null
+                ? Duration.between(resolvedAt, complaint.getDeadline()).toMinutes()
+                : null;
+        afterCommit(() -> record(key, cell -> {
+            cell.recordResolution(resolution);
+            if (slack != null) {
+                cell.recordSlack(slack);
+            }
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.sketch-flush-interval-ms:10000}")
+    public void flush() {
+        Map<SketchKey, SketchCell> cells;
+        synchronized (bufferLock) {
+            cells = pending;
+            pending = new HashMap<>();
+        }
+        if (cells.isEmpty()) {
+            return;
+        }
+        try {
+            store.mergeAll(cells);
+        } catch (Exception e) {
+            log.warn("Sketch flush failed, keeping {} cells for the next attempt", cells.size(), e);
+            synchronized (bufferLock) {
+                cells.forEach((key, cell) -> pending.computeIfAbsent(key, k -> new SketchCell()).merge(cell));
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void dropExpired() {
+        store.deleteBefore(LocalDate.now().minusDays(retentionDays));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (store.isEmpty() && !store.complaintPage(0, 1).isEmpty()) {
+                rebuildAsync();
+            }
+        } catch (Exception e) {
+            log.warn("Could not check complaint sketches on startup", e);
+        }
+    }
+
+    /**
+     * Replace every stored sketch with one rebuilt from the complaints table.
+     * Changes committed while it runs may be counted twice; the sketches are
+     * approximate anyway. Returns false when a rebuild is already running.
+     */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(this::rebuild);
+        return true;
+    }
+
+    /**
+     * Percentiles and distinct citizens over [from, to), per group.
+     *
+     * @param groupBy "department", "zone" or null for a single overall group
+     */
+    public Map<String, Object> summarize(LocalDate from, LocalDate to, String department, String zone,
+            String groupBy) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("'to' must be after 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Range too large: at most " + MAX_RANGE_DAYS + " days per request");
+        }
+        Function<SketchKey, String> group;
+        if ("department".equalsIgnoreCase(groupBy)) {
+            group = SketchKey::getDepartment;
+        } else if ("zone".equalsIgnoreCase(groupBy)) {
+            group = SketchKey::getZone;
+        } else if (groupBy == null || groupBy.isEmpty()) {
+            group = k -> "all";
+        } else {
+            throw new RuntimeException("groupBy must be 'department' or 'zone'");
+        }
+
+        Map<String, SketchCell> merged = new TreeMap<>();
+        store.forEach(from, to, department, zone,
+                (key, cell) -> merged.computeIfAbsent(group.apply(key), g -> new SketchCell()).merge(cell));
+        synchronized (bufferLock) {
+            pending.forEach((key, cell) -> {
+                if (!key.getDay().isBefore(from) && key.getDay().isBefore(to)
+                        && (department == null || department.equals(key.getDepartment()))
+                        && (zone == null || zone.equals(key.getZone()))) {
+                    merged.computeIfAbsent(group.apply(key), g -> new SketchCell()).merge(cell);
+                }
+            });
+        }
+
+        Map<String, Object> groups = new LinkedHashMap<>();
+        merged.forEach((name, cell) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("resolutionHours", resolutionPercentiles(cell.resolutionMinutes));
+            summary.put("deadlineSlackHours", slackPercentiles(cell));
+            summary.put("distinctCitizens", cell.citizens.estimate());
+            groups.put(name, summary);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("department", department);
+        result.put("zone", zone);
+        result.put("groupBy", groupBy);
+        result.put("groups", groups);
+        return result;
+    }
+
+    private void rebuild() {
+        try {
+            store.deleteAll();
+            synchronized (bufferLock) {
+                pending = new HashMap<>();
+            }
+            Map<SketchKey, SketchCell> cells = new HashMap<>();
+            long afterId = 0;
+            long complaints = 0;
+            List<Map<String, Object>> page;
+            while (!(page = store.complaintPage(afterId, REBUILD_PAGE_SIZE)).isEmpty()) {
+                for (Map<String, Object> row : page) {
+                    afterId = ((Number) row.get("id")).longValue();
+                    addRow(cells, row);
+                }
+                complaints += page.size();
+                if (cells.size() >= REBUILD_FLUSH_CELLS) {
+                    store.mergeAll(cells);
+                    cells = new HashMap<>();
+                }
+            }
+            store.mergeAll(cells);
+            log.info("Rebuilt complaint sketches from {} complaints", complaints);
+        } catch (Exception e) {
+            log.error("Complaint sketch rebuild failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private static void addRow(Map<SketchKey, SketchCell> cells, Map<String, Object> row) {
+        String department = (String) row.get("department");
+        String zone = (String) row.get("zone");
+        LocalDateTime createdAt = toDateTime(row.get("created_at"));
+        LocalDateTime resolvedAt = toDateTime(row.get("resolved_at"));
+        LocalDateTime deadline = toDateTime(row.get("deadline"));
+        Object citizenId = row.get("citizen_id");
+
+        if (createdAt != null && citizenId != null) {
+            cells.computeIfAbsent(key(createdAt, department, zone), k -> new SketchCell())
+                    .recordCitizen(((Number) citizenId).longValue());
+        }
+        boolean resolved = ((Number) row.get("status")).intValue() == ComplaintStatus.RESOLVED.getCode();
+        if (resolved && createdAt != null && resolvedAt != null) {
+            SketchCell cell = cells.computeIfAbsent(key(resolvedAt, department, zone), k -> new SketchCell());
+            cell.recordResolution(Duration.between(createdAt, resolvedAt).toMinutes());
+            if (deadline != null) {
+                cell.recordSlack(Duration.between(resolvedAt, deadline).toMinutes());
+            }
+        }
+    }
+
+    private void record(SketchKey key, Consumer<SketchCell> update) {
+        synchronized (bufferLock) {
+            update.accept(pending.computeIfAbsent(key, k -> new SketchCell()));
+        }
+    }
+
+    private static SketchKey key(LocalDateTime at, String department, String zone) {
+        return new SketchKey(at.toLocalDate(), department != null ? department : "", zone != null ? zone : "");
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        return value == null ? null : ((Timestamp) value).toLocalDateTime();
+    }
+
+    private static Map<String, Object> resolutionPercentiles(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = histogram.getTotalCount();
+        summary.put("count", count);
+        if (count == 0) {
+            return summary;
+        }
+        summary.put("p50", hours(histogram.getValueAtPercentile(50)));
+        summary.put("p90", hours(histogram.getValueAtPercentile(90)));
+        summary.put("p99", hours(histogram.getValueAtPercentile(99)));
+        summary.put("max", hours(histogram.getMaxValue()));
+        summary.put("mean", hours(histogram.getMean()));
+        return summary;
+    }
+
+    // Positive hours: resolved before the deadline; negative: overdue
+    private static Map<String, Object> slackPercentiles(SketchCell cell) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = cell.slackCount();
+        summary.put("count", count);
+        if (count == 0) {
+            return summary;
+        }
+        summary.put("p01", hours(cell.slackAtPercentile(1)));
+        summary.put("p10", hours(cell.slackAtPercentile(10)));
+        summary.put("p50", hours(cell.slackAtPercentile(50)));
+        summary.put("p90", hours(cell.slackAtPercentile(90)));
+        summary.put("min", hours(cell.slackMin()));
+        summary.put("max", hours(cell.slackMax()));
+        summary.put("mean", hours(cell.slackMean()));
+        summary.put("lateShare", Math.round(cell.lateMinutes.getTotalCount() * 10000.0 / count) / 100.0);
+        return summary;
+    }
+
+    private static double hours(double minutes) {
+        return Math.round(minutes / 60.0 * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.complaint.analytics;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * HyperLogLog distinct counter with 2^12 one-byte registers (about 1.6%
+ * standard error). Two counters merge by taking the register-wise maximum.
+ * Not thread-safe.
+ */
+public class HyperLogLog {
+
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Rank of the first set bit in the remaining bits; a sentinel bit caps it
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Small cardinalities: linear counting is more accurate
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Registers, deflated; mostly-empty daily counters shrink to a few bytes
+     */
+    public byte[] toBytes() {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(registers);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        byte[] buffer = new byte[512];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        inflater.setInput(bytes);
+        byte[] registers = new byte[REGISTERS];
+        try {
+            int read = 0;
+            while (read < REGISTERS && !inflater.finished() && !inflater.needsInput()) {
+                read += inflater.inflate(registers, read, REGISTERS - read);
+            }
+            if (read != REGISTERS) {
+                throw new IllegalArgumentException("Truncated HyperLogLog payload");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt HyperLogLog payload", e);
+        } finally {
+            inflater.end();
+        }
+        return new HyperLogLog(registers);
+    }
+
+    // 64-bit finalizer from MurmurHash3; spreads sequential ids across registers
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.complaint.analytics;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+
+/**
+ * The sketches kept for one department, zone and day: time-to-resolve in
+ * minutes, deadline slack in minutes and distinct reporting citizens. All of
+ * them merge, so a cell can hold either a full day or just the changes since
+ * the last flush.
+ *
+ * HDR histograms only hold non-negative values with relative precision, so
+ * slack is split into resolved-early and resolved-late magnitudes rather than
+ * shifted by a large offset, which would cost all precision near zero.
+ */
+class SketchCell {
+
+    private static final long MAX_MINUTES = 2L * 365 * 24 * 60;
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    final Histogram resolutionMinutes;
+    final Histogram earlyMinutes;
+    final Histogram lateMinutes;
+    final HyperLogLog citizens;
+
+    SketchCell() {
+        this(new Histogram(SIGNIFICANT_DIGITS), new Histogram(SIGNIFICANT_DIGITS), new Histogram(SIGNIFICANT_DIGITS),
+                new HyperLogLog());
+    }
+
+    private SketchCell(Histogram resolutionMinutes, Histogram earlyMinutes, Histogram lateMinutes,
+            HyperLogLog citizens) {
+        this.resolutionMinutes = resolutionMinutes;
+        this.earlyMinutes = earlyMinutes;
+        this.lateMinutes = lateMinutes;
+        this.citizens = citizens;
+    }
+
+    void recordResolution(long minutes) {
+        resolutionMinutes.recordValue(clamp(minutes));
+    }
+
+    /**
+     * @param minutes deadline minus resolution time; negative when late
+     */
+    void recordSlack(long minutes) {
+        if (minutes >= 0) {
+            earlyMinutes.recordValue(clamp(minutes));
+        } else {
+            lateMinutes.recordValue(clamp(-minutes));
+        }
+    }
+
+    void recordCitizen(long citizenId) {
+        citizens.add(citizenId);
+    }
+
+    void merge(SketchCell other) {
+        resolutionMinutes.add(other.resolutionMinutes);
+        earlyMinutes.add(other.earlyMinutes);
+        lateMinutes.add(other.lateMinutes);
+        citizens.merge(other.citizens);
+    }
+
+    long slackCount() {
+        return earlyMinutes.getTotalCount() + lateMinutes.getTotalCount();
+    }
+
+    /**
+     * Signed slack at the given percentile by nearest rank: late magnitudes,
+     * largest first, followed by early ones
+     */
+    long slackAtPercentile(double percentile) {
+        long late = lateMinutes.getTotalCount();
+        long early = earlyMinutes.getTotalCount();
+        long position = Math.min(late + early, Math.max(1, (long) Math.ceil(percentile / 100.0 * (late + early))));
+        // Aim half a rank low; the histograms round the count up to the wanted value
+        if (position <= late) {
+            return -lateMinutes.getValueAtPercentile(100.0 * (late - position + 0.5) / late);
+        }
+        return earlyMinutes.getValueAtPercentile(100.0 * (position - late - 0.5) / early);
+    }
+
+    long slackMin() {
+        return lateMinutes.getTotalCount() > 0 ? -lateMinutes.getMaxValue() : earlyMinutes.getMinValue();
+    }
+
+    long slackMax() {
+        return earlyMinutes.getTotalCount() > 0 ? earlyMinutes.getMaxValue() : -lateMinutes.getMinValue();
+    }
+
+    double slackMean() {
+        long count = slackCount();
+        if (count == 0) {
+            return 0.0;
+        }
+        return (earlyMinutes.getMean() * earlyMinutes.getTotalCount()
+                - lateMinutes.getMean() * lateMinutes.getTotalCount()) / count;
+    }
+
+    byte[] resolutionBytes() {
+        return encode(resolutionMinutes);
+    }
+
+    byte[] earlyBytes() {
+        return encode(earlyMinutes);
+    }
+
+    byte[] lateBytes() {
+        return encode(lateMinutes);
+    }
+
+    byte[] citizenBytes() {
+        return citizens.toBytes();
+    }
+
+    static SketchCell decode(byte[] resolution, byte[] early, byte[] late, byte[] citizens) {
+        return new SketchCell(decode(resolution), decode(early), decode(late),
+                citizens != null ? HyperLogLog.fromBytes(citizens) : new HyperLogLog());
+    }
+
+    private static long clamp(long minutes) {
+        return Math.max(0, Math.min(minutes, MAX_MINUTES));
+    }
+
+    private static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] bytes = new byte[length];
+        buffer.flip();
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static Histogram decode(byte[] bytes) {
+        if (bytes == null) {
+            return new Histogram(SIGNIFICANT_DIGITS);
+        }
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 2);
+            histogram.setAutoResize(true);
+            return histogram;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt histogram payload", e);
+        }
+    }
+}
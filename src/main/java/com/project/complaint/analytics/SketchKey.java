@@ -0,0 +1,19 @@
+package com.project.complaint.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * One day for one department and zone; complaints without a zone use ''
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+class SketchKey {
+    private final LocalDate day;
+    private final String department;
+    private final String zone;
+}
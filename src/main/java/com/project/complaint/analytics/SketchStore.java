@@ -0,0 +1,91 @@
+package com.project.complaint.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * SQL for the complaint_sketches table
+ */
+@Repository
+@RequiredArgsConstructor
+public class SketchStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Merge buffered cells into the stored ones. Rows are locked while they
+     * are read, merged and written back, so concurrent flushes cannot lose
+     * each other's observations.
+     */
+    @Transactional
+    public void mergeAll(Map<SketchKey, SketchCell> cells) {
+        cells.forEach((key, cell) -> {
+            Object[] id = { Date.valueOf(key.getDay()), key.getDepartment(), key.getZone() };
+            jdbcTemplate.update("INSERT INTO complaint_sketches (day, department, zone, updated_at) "
+                    + "VALUES (?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT (day, department, zone) DO NOTHING", id);
+            SketchCell stored = jdbcTemplate.queryForObject("SELECT resolution_minutes, slack_early_minutes, "
+                    + "slack_late_minutes, citizens FROM complaint_sketches "
+                    + "WHERE day = ? AND department = ? AND zone = ? FOR UPDATE",
+                    (rs, i) -> SketchCell.decode(rs.getBytes(1), rs.getBytes(2), rs.getBytes(3), rs.getBytes(4)), id);
+            stored.merge(cell);
+            jdbcTemplate.update("UPDATE complaint_sketches SET resolution_minutes = ?, slack_early_minutes = ?, "
+                    + "slack_late_minutes = ?, citizens = ?, updated_at = CURRENT_TIMESTAMP "
+                    + "WHERE day = ? AND department = ? AND zone = ?",
+                    stored.resolutionBytes(), stored.earlyBytes(), stored.lateBytes(), stored.citizenBytes(),
+                    id[0], id[1], id[2]);
+        });
+    }
+
+    /**
+     * Stream the stored cells for [from, to) to the consumer, one row at a time
+     */
+    public void forEach(LocalDate from, LocalDate to, String department, String zone,
+            BiConsumer<SketchKey, SketchCell> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT day, department, zone, resolution_minutes, slack_early_minutes, "
+                + "slack_late_minutes, citizens FROM complaint_sketches WHERE day >= ? AND day < ?");
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (department != null) {
+            sql.append(" AND department = ?");
+            args.add(department);
+        }
+        if (zone != null) {
+            sql.append(" AND zone = ?");
+            args.add(zone);
+        }
+        jdbcTemplate.query(sql.toString(), rs -> {
+            consumer.accept(
+                    new SketchKey(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getString(3)),
+                    SketchCell.decode(rs.getBytes(4), rs.getBytes(5), rs.getBytes(6), rs.getBytes(7)));
+        }, args.toArray());
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM complaint_sketches)", Boolean.class));
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM complaint_sketches");
+    }
+
+    public void deleteBefore(LocalDate day) {
+        jdbcTemplate.update("DELETE FROM complaint_sketches WHERE day < ?", Date.valueOf(day));
+    }
+
+    /**
+     * A keyset page of the complaint columns the sketches are built from
+     */
+    public List<Map<String, Object>> complaintPage(long afterId, int size) {
+        return jdbcTemplate.queryForList("SELECT id, citizen_id, department, zone, status, created_at, "
+                + "resolved_at, deadline FROM complaints WHERE id > ? ORDER BY id LIMIT ?", afterId, size);
+    }
+}
@@ -0,0 +1,193 @@
+package com.project.complaint.archive;
+
+import com.project.complaint.dto.ComplaintFilterDto;
+import com.project.complaint.service.ComplaintVersionTracker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hot/cold storage for complaints. V8__Add_Complaint_Archive.sql adds
+ * complaints_archive, a child table of complaints holding only archived rows,
+ * so reads of complaints still see every complaint.
+ *
+ * Complaints that are resolved, validated and rated, and were resolved more
+ * than the retention age ago, are archived in small batches: each batch is
+ * flagged and then moved into complaints_archive in one transaction.
+ * Operational queries filter on archived = false and skip the archive table.
+ * A reopened complaint is moved back first. Without the migration (a schema
+ * created by Hibernate) the flag alone is maintained and the same queries
+ * still apply.
+ */
+@Component
+@Slf4j
+public class ComplaintArchiver {
+
+    // Status 2 is RESOLVED and validation status 1 is VALIDATED
+    private static final String ARCHIVE_BATCH = "UPDATE ONLY complaints SET archived = TRUE, archived_at = ?, "
+            + "version = version + 1 WHERE id IN (SELECT id FROM ONLY complaints "
+            + "WHERE archived = FALSE AND status = 2 AND validation_status = 1 AND rating IS NOT NULL "
+            + "AND resolved_at < ? ORDER BY resolved_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id";
+
+    private static final String MOVE_TO_ARCHIVE = "WITH moved AS (DELETE FROM ONLY complaints WHERE id = ANY (?) "
+            + "RETURNING *) INSERT INTO complaints_archive SELECT * FROM moved";
+
+    private static final String MOVE_FROM_ARCHIVE = "WITH moved AS (DELETE FROM complaints_archive WHERE id = ? "
+            + "RETURNING *) INSERT INTO complaints SELECT * FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ComplaintVersionTracker versionTracker;
+    private final int retentionDays;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "complaint-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public ComplaintArchiver(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ComplaintVersionTracker versionTracker,
+            @Value("${archive.retention-days:365}") int retentionDays,
+            @Value("${archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.versionTracker = versionTracker;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Complaints resolved before this instant may be archived. Anything
+     * created after it is guaranteed to be active.
+     */
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+
+    /**
+     * Whether a query has to look at archived complaints: when the caller
+     * asks for them, or when its created-from bound reaches past the horizon
+     */
+    public boolean reachesArchive(ComplaintFilterDto filter) {
+        return Boolean.TRUE.equals(filter.getIncludeArchived())
+                || (filter.getCreatedFrom() != null && filter.getCreatedFrom().isBefore(horizon()));
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 2 * * *}")
+    public void scheduledArchive() {
+        archiveAsync();
+    }
+
+    /**
+     * Start an archiving pass in the background. Returns false when one is running.
+     */
+    public boolean archiveAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                archive();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("retentionDays", retentionDays);
+        status.put("horizon", horizon());
+        status.put("archiveTable", hasArchiveTable());
+        status.put("hotComplaints", jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM complaints WHERE archived = FALSE", Long.class));
+        status.put("archivedComplaints", jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM complaints WHERE archived = TRUE", Long.class));
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    /**
+     * Move an archived complaint back to the hot table, in the caller's
+     * transaction, before it is saved as active again
+     */
+    public void restore(Long complaintId) {
+        if (hasArchiveTable()) {
+            jdbcTemplate.update(MOVE_FROM_ARCHIVE, complaintId);
+        }
+    }
+
+    private void archive() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Timestamp cutoff = Timestamp.valueOf(horizon());
+        boolean archiveTable = hasArchiveTable();
+        long archived = 0;
+        try {
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff, archiveTable));
+                archived += moved;
+            } while (moved == batchSize && !Thread.currentThread().isInterrupted());
+            lastRun = runStatus(startedAt, archived, null);
+            log.info("Archived {} complaints resolved before {}", archived, cutoff);
+        } catch (Exception e) {
+            lastRun = runStatus(startedAt, archived, e.getMessage());
+            log.error("Complaint archiving failed after {} complaints", archived, e);
+        }
+        if (archived > 0) {
+            // Lists that held the moved complaints no longer match their tags
+            versionTracker.allChanged();
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff, boolean archiveTable) {
+        List<Long> ids = jdbcTemplate.queryForList(ARCHIVE_BATCH, Long.class,
+                Timestamp.valueOf(LocalDateTime.now()), cutoff, batchSize);
+        if (archiveTable && !ids.isEmpty()) {
+            jdbcTemplate.update(MOVE_TO_ARCHIVE,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+        }
+        return ids.size();
+    }
+
+    private boolean hasArchiveTable() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('complaints_archive') IS NOT NULL", Boolean.class));
+    }
+
+    private static Map<String, Object> runStatus(LocalDateTime startedAt, long archived, String error) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", LocalDateTime.now());
+        status.put("archived", archived);
+        status.put("error", error);
+        return status;
+    }
+}
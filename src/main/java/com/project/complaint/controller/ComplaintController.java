@@ -1,18 +1,50 @@
 package com.project.complaint.controller;
 
+import com.project.complaint.analytics.ComplaintSketchService;
+import com.project.complaint.archive.ComplaintArchiver;
+import com.project.complaint.dto.ComplaintFilterDto;
 import com.project.complaint.dto.ComplaintRequestDto;
+import com.project.complaint.escalation.QueuedEscalation;
+import com.project.complaint.event.ComplaintEventLog;
+import com.project.complaint.event.LifecycleEvent;
+import com.project.complaint.export.ComplaintExporter;
+import com.project.complaint.export.ExportFormat;
+import com.project.complaint.idempotency.IdempotencyService;
+import com.project.complaint.leaderboard.OfficerLeaderboard;
 import com.project.complaint.model.Complaint;
 import com.project.complaint.model.ComplaintEscalation;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import com.project.complaint.notification.NotificationDispatcher;
+import com.project.complaint.rollup.ComplaintRollupService;
+import com.project.complaint.search.ComplaintSearchIndex;
+import com.project.complaint.service.ComplaintClaimService;
 import com.project.complaint.service.ComplaintService;
+import com.project.complaint.service.ComplaintVersionTracker;
 import com.project.complaint.service.EscalationService;
+import com.project.complaint.service.OfficerRatingService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/complaints")
@@ -22,6 +54,19 @@ public class ComplaintController {
 
     private final ComplaintService complaintService;
     private final EscalationService escalationService;
+    private final ComplaintClaimService claimService;
+    private final ComplaintVersionTracker versionTracker;
+    private final ComplaintSearchIndex searchIndex;
+    private final OfficerRatingService officerRatingService;
+    private final OfficerLeaderboard leaderboard;
+    private final ComplaintRollupService rollupService;
+    private final ComplaintSketchService sketchService;
+    private final ComplaintArchiver archiver;
+    private final ComplaintExporter exporter;
+    private final IdempotencyService idempotency;
+    private final ComplaintEventLog eventLog;
+    private final NotificationDispatcher notificationDispatcher;
+    private final MeterRegistry meterRegistry;
 
     @PostMapping(consumes = { "multipart/form-data" })
     public ResponseEntity<?> fileComplaint(
@@ -31,25 +76,35 @@ public class ComplaintController {
             @RequestParam(value = "longitude", required = false) Double longitude,
             @RequestParam(value = "locationAddress", required = false) String locationAddress,
             @RequestParam(value = "zone", required = false) String zone,
-            @RequestPart(value = "photo", required = false) MultipartFile photo) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-
-            ComplaintRequestDto request = new ComplaintRequestDto();
-            request.setDepartment(department);
-            request.setDescription(description);
-            request.setLatitude(latitude);
-            request.setLongitude(longitude);
-            request.setLocationAddress(locationAddress);
-            request.setZone(zone);
+            @RequestPart(value = "photo", required = false) MultipartFile photo,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        List<Object> fingerprint = Arrays.asList("file", department, description, latitude, longitude,
+                locationAddress, zone, uploadFingerprint(photo));
+
+        return idempotency.execute(idempotencyKey, email, fingerprint, () -> {
+            try {
+                ComplaintRequestDto request = new ComplaintRequestDto();
+                request.setDepartment(department);
+                request.setDescription(description);
+                request.setLatitude(latitude);
+                request.setLongitude(longitude);
+                request.setLocationAddress(locationAddress);
+                request.setZone(zone);
+
+                Complaint complaint = complaintService.fileComplaint(request, photo, email);
+                return ResponseEntity.ok(complaint);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return ResponseEntity.status(500).body("Error filing complaint: " + e.getMessage());
+            }
+        });
+    }
 
-            Complaint complaint = complaintService.fileComplaint(request, photo, email);
-            return ResponseEntity.ok(complaint);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error filing complaint: " + e.getMessage());
-        }
+    // Name and size of an upload, enough to tell a retry from a different file
+    private static String uploadFingerprint(MultipartFile file) {
+        return file == null || file.isEmpty() ? null : file.getOriginalFilename() + ":" + file.getSize();
     }
 
     @GetMapping("/test")
@@ -58,38 +113,97 @@ public class ComplaintController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Complaint>> getMyComplaints() {
+    public ResponseEntity<List<Complaint>> getMyComplaints(
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest request) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        return ResponseEntity.ok(complaintService.getMyComplaints(email));
+        return conditional(request, versionTracker.userTag(includeArchived ? "my-archived" : "my", email),
+                () -> complaintService.getMyComplaints(email, includeArchived));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<Complaint>> getAllComplaints() {
-        return ResponseEntity.ok(complaintService.getAllComplaints());
+    public ResponseEntity<List<Complaint>> getAllComplaints(
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest request) {
+        return conditional(request, versionTracker.complaintsTag(includeArchived ? "all-archived" : "all"),
+                () -> complaintService.getAllComplaints(includeArchived));
     }
 
     @GetMapping("/officer/my")
-    public ResponseEntity<List<Complaint>> getOfficerComplaints() {
+    public ResponseEntity<List<Complaint>> getOfficerComplaints(
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest request) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        return ResponseEntity.ok(complaintService.getOfficerComplaints(email));
+        return conditional(request, versionTracker.userTag(includeArchived ? "officer-my-archived" : "officer-my", email),
+                () -> complaintService.getOfficerComplaints(email, includeArchived));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<?> queryComplaints(
+            ComplaintFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(complaintService.queryComplaints(filter, cursor, Math.max(1, Math.min(limit, 200))));
+    }
+
+    /**
+     * Stream every complaint matching the /query filters as CSV or NDJSON,
+     * optionally gzip-compressed
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportComplaints(
+            ComplaintFilterDto filter,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String fileName = "complaints-" + LocalDate.now() + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(out -> exporter.export(filter, exportFormat, gzip, out));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchComplaints(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String zone,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(defaultValue = "20") int limit) {
+        Map<String, String> filters = new HashMap<>();
+        if (department != null) filters.put("department", department);
+        if (zone != null) filters.put("zone", zone);
+        // The index holds enum names; parse so "resolved" matches and unknown values are rejected
+        if (status != null) filters.put("status", ComplaintStatus.from(status).name());
+        if (priority != null) filters.put("priority", Priority.from(priority).name());
+        return ResponseEntity.ok(complaintService.searchComplaints(query, filters, Math.max(1, Math.min(limit, 100))));
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        if (!searchIndex.rebuildAsync()) {
+            return ResponseEntity.status(409).body("Search index rebuild already in progress");
+        }
+        return ResponseEntity.accepted().body("Search index rebuild started");
     }
 
     @PostMapping("/{id}/proof")
     public ResponseEntity<?> uploadProofOfWork(
             @PathVariable Long id,
-            @RequestPart(value = "proof", required = true) MultipartFile proof) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
+            @RequestPart(value = "proof", required = true) MultipartFile proof,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
 
-            Complaint updated = complaintService.uploadProofOfWork(id, proof, email);
-            return ResponseEntity.ok(updated);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error uploading proof: " + e.getMessage());
-        }
+        return idempotency.execute(idempotencyKey, email, Arrays.asList("proof", id, uploadFingerprint(proof)), () -> {
+            try {
+                Complaint updated = complaintService.uploadProofOfWork(id, proof, email);
+                return ResponseEntity.ok(updated);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return ResponseEntity.status(500).body("Error uploading proof: " + e.getMessage());
+            }
+        });
     }
 
     @PutMapping("/{id}/assign")
@@ -101,6 +215,25 @@ public class ComplaintController {
         return ResponseEntity.ok(complaintService.assignComplaint(id, officerId, priority, deadline));
     }
 
+    @PostMapping("/claim-next")
+    public ResponseEntity<Complaint> claimNextComplaint() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Complaint claimed = claimService.claimNext(auth.getName());
+        return claimed != null ? ResponseEntity.ok(claimed) : ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/heartbeat")
+    public ResponseEntity<Complaint> renewClaim(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(claimService.heartbeat(id, auth.getName()));
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<Complaint> releaseClaim(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(claimService.release(id, auth.getName()));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<Complaint> updateStatus(
             @PathVariable Long id,
@@ -114,26 +247,50 @@ public class ComplaintController {
     }
 
     @GetMapping("/statistics")
-    public ResponseEntity<?> getStatistics() {
-        return ResponseEntity.ok(complaintService.getStatistics());
+    public ResponseEntity<?> getStatistics(WebRequest request) {
+        return conditional(request, versionTracker.complaintsTag("statistics"), complaintService::getStatistics);
     }
 
     @GetMapping("/officers/workload")
-    public ResponseEntity<?> getOfficersWithWorkload() {
-        return ResponseEntity.ok(complaintService.getOfficersWithWorkload());
+    public ResponseEntity<?> getOfficersWithWorkload(WebRequest request) {
+        return conditional(request, versionTracker.workloadTag(), complaintService::getOfficersWithWorkload);
     }
 
     @PostMapping("/{id}/escalate")
-    public ResponseEntity<?> escalateComplaint(
+    public ResponseEntity<Complaint> escalateComplaint(
             @PathVariable Long id,
             @RequestParam(required = false) String reason) {
-        try {
-            String escalationReason = reason != null ? reason : "Manual escalation by admin";
-            Complaint escalated = escalationService.escalateComplaint(id, escalationReason);
-            return ResponseEntity.ok(escalated);
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error escalating complaint: " + e.getMessage());
+        String escalationReason = reason != null ? reason : "Manual escalation by admin";
+        return ResponseEntity.ok(escalationService.escalateComplaint(id, escalationReason));
+    }
+
+    @GetMapping("/escalations/next")
+    public ResponseEntity<QueuedEscalation> nextEscalation() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        QueuedEscalation next = escalationService.nextEscalation(auth.getName());
+        return next != null ? ResponseEntity.ok(next) : ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/escalations/queue")
+    public ResponseEntity<List<QueuedEscalation>> getEscalationQueue(
+            @RequestParam(required = false) Integer level,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (level != null) {
+            return ResponseEntity.ok(escalationService.getUnresolvedEscalations(level, limit));
         }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(escalationService.getUnresolvedEscalations(auth.getName(), limit));
+    }
+
+    @GetMapping("/escalations/tiers")
+    public ResponseEntity<List<Map<String, Object>>> getEscalationTiers() {
+        return ResponseEntity.ok(escalationService.getTiers());
+    }
+
+    @PostMapping("/escalations/{escalationId}/resolve")
+    public ResponseEntity<Void> resolveEscalation(@PathVariable Long escalationId) {
+        escalationService.resolveEscalation(escalationId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}/escalation-history")
@@ -146,96 +303,179 @@ public class ComplaintController {
         }
     }
 
-    @PostMapping("/{id}/validate")
-    public ResponseEntity<?> validateComplaint(@PathVariable Long id) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<List<LifecycleEvent>> getTimeline(@PathVariable Long id) {
+        return ResponseEntity.ok(eventLog.timeline(id));
+    }
 
-            Complaint validated = complaintService.validateComplaint(id, email);
-            return ResponseEntity.ok(validated);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error validating complaint: " + e.getMessage());
-        }
+    @PostMapping("/{id}/validate")
+    public ResponseEntity<Complaint> validateComplaint(@PathVariable Long id) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(complaintService.validateComplaint(id, auth.getName()));
     }
 
     @PostMapping("/{id}/reject")
-    public ResponseEntity<?> rejectComplaint(
+    public ResponseEntity<Complaint> rejectComplaint(
             @PathVariable Long id,
             @RequestParam String reason) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-
-            Complaint rejected = complaintService.rejectComplaint(id, email, reason);
-            return ResponseEntity.ok(rejected);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error rejecting complaint: " + e.getMessage());
-        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(complaintService.rejectComplaint(id, auth.getName(), reason));
     }
 
     @PostMapping("/{id}/rate")
-    public ResponseEntity<?> rateComplaint(
+    public ResponseEntity<Complaint> rateComplaint(
             @PathVariable Long id,
             @RequestParam Integer rating,
             @RequestParam(required = false) String feedback) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-
-            Complaint rated = complaintService.rateComplaint(id, email, rating, feedback);
-            return ResponseEntity.ok(rated);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error rating complaint: " + e.getMessage());
-        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(complaintService.rateComplaint(id, auth.getName(), rating, feedback));
     }
 
     @PostMapping("/{id}/reopen")
-    public ResponseEntity<?> reopenComplaint(
+    public ResponseEntity<Complaint> reopenComplaint(
             @PathVariable Long id,
             @RequestParam String reason) {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-
-            Complaint reopened = complaintService.reopenComplaint(id, email, reason);
-            return ResponseEntity.ok(reopened);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Error reopening complaint: " + e.getMessage());
-        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(complaintService.reopenComplaint(id, auth.getName(), reason));
     }
 
     @PostMapping("/{id}/satisfied")
-    public ResponseEntity<?> markSatisfied(
+    public ResponseEntity<Complaint> markSatisfied(
             @PathVariable Long id,
             @RequestParam Boolean satisfied) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(complaintService.markSatisfied(id, auth.getName(), satisfied));
+    }
+
+    @GetMapping("/officer/ratings")
+    public ResponseEntity<?> getOfficerRatings(WebRequest request) {
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             String email = auth.getName();
 
-            Complaint updated = complaintService.markSatisfied(id, email, satisfied);
-            return ResponseEntity.ok(updated);
+            return conditional(request, versionTracker.userTag("ratings", email),
+                    () -> complaintService.getOfficerRatingsStatistics(email));
         } catch (Exception e) {
             e.printStackTrace();
-            return ResponseEntity.status(500).body("Error marking satisfaction: " + e.getMessage());
+            return ResponseEntity.status(500).body("Error fetching ratings: " + e.getMessage());
         }
     }
 
-    @GetMapping("/officer/ratings")
-    public ResponseEntity<?> getOfficerRatings() {
+    @PostMapping("/officer/ratings/rebuild")
+    public ResponseEntity<?> rebuildOfficerRatings() {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-
-            java.util.Map<String, Object> stats = complaintService.getOfficerRatingsStatistics(email);
-            return ResponseEntity.ok(stats);
+            int officers = officerRatingService.rebuild();
+            return ResponseEntity.ok(Map.of("officers", officers));
         } catch (Exception e) {
             e.printStackTrace();
-            return ResponseEntity.status(500).body("Error fetching ratings: " + e.getMessage());
+            return ResponseEntity.status(500).body("Error rebuilding ratings: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("department", department);
+        body.put("ready", leaderboard.isReady());
+        body.put("officers", leaderboard.top(department, Math.max(1, Math.min(limit, 100))));
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/leaderboard/officers/{officerId}")
+    public ResponseEntity<?> getOfficerRank(@PathVariable Long officerId) {
+        return ResponseEntity.ok(leaderboard.rankOf(officerId));
+    }
+
+    /**
+     * Counts per hour or day; defaults to the last 30 days, or 48 hours
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTrends(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String zone,
+            @RequestParam(required = false) String department) {
+        boolean daily = !"hour".equalsIgnoreCase(granularity);
+        LocalDateTime end = to != null ? LocalDateTime.parse(to) : LocalDateTime.now().plusHours(1);
+        LocalDateTime start = from != null ? LocalDateTime.parse(from)
+                : daily ? end.minusDays(30) : end.minusHours(48);
+        return ResponseEntity.ok(rollupService.trends(daily, start, end, zone, department));
+    }
+
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<?> backfillRollups(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        if (!rollupService.backfillAsync(from != null ? LocalDate.parse(from) : null,
+                to != null ? LocalDate.parse(to) : null)) {
+            return ResponseEntity.status(409).body("Rollup backfill already in progress");
+        }
+        return ResponseEntity.accepted().body("Rollup backfill started");
+    }
+
+    @GetMapping("/rollups/backfill")
+    public ResponseEntity<?> getRollupBackfillStatus() {
+        return ResponseEntity.ok(rollupService.getBackfillStatus());
+    }
+
+    /**
+     * Approximate time-to-resolve and deadline-slack percentiles (hours) and
+     * distinct reporting citizens; defaults to the last 30 days
+     */
+    @GetMapping("/analytics/sketches")
+    public ResponseEntity<?> getSketchAnalytics(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String zone,
+            @RequestParam(required = false) String groupBy) {
+        LocalDate end = to != null ? LocalDate.parse(to) : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? LocalDate.parse(from) : end.minusDays(30);
+        return ResponseEntity.ok(sketchService.summarize(start, end, department, zone, groupBy));
+    }
+
+    @PostMapping("/analytics/sketches/rebuild")
+    public ResponseEntity<?> rebuildSketches() {
+        if (!sketchService.rebuildAsync()) {
+            return ResponseEntity.status(409).body("Sketch rebuild already in progress");
+        }
+        return ResponseEntity.accepted().body("Sketch rebuild started");
+    }
+
+    @PostMapping("/archive/run")
+    public ResponseEntity<?> runArchiver() {
+        if (!archiver.archiveAsync()) {
+            return ResponseEntity.status(409).body("Archiving already in progress");
+        }
+        return ResponseEntity.accepted().body("Archiving started");
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<?> getArchiveStatus() {
+        return ResponseEntity.ok(archiver.getStatus());
+    }
+
+    @GetMapping("/notifications/outbox")
+    public ResponseEntity<?> getNotificationOutboxStatus() {
+        return ResponseEntity.ok(notificationDispatcher.getStatus());
+    }
+
+    /**
+     * Answer 304 before running any query when the client's If-None-Match
+     * already carries the current version tag; otherwise build and tag the body.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            meterRegistry.counter("civicpulse.etag.requests", "result", "not_modified").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+        meterRegistry.counter("civicpulse.etag.requests", "result", "full").increment();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body.get());
     }
 }
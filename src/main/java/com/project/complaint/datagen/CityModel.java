@@ -0,0 +1,163 @@
+package com.project.complaint.datagen;
+
+import lombok.Value;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * The shape of the synthetic city: zones around a centre, hotspots inside
+ * each zone where complaints cluster, how departments share the complaint
+ * volume, and when during the week complaints are filed. Everything is fixed
+ * or derived from the seed.
+ */
+class CityModel {
+
+    // Departments offered by the complaint form, with their share of complaints
+    static final String[] DEPARTMENTS = { "Roads", "Sanitation", "Water Supply", "Electricity",
+            "Street Lights", "Drainage", "Parks", "Other" };
+    private static final double[] DEPARTMENT_WEIGHTS = { 0.24, 0.20, 0.15, 0.10, 0.10, 0.09, 0.07, 0.05 };
+
+    static final String[] ZONES = { "Central", "North", "South", "East", "West", "Harbour", "Old Town",
+            "Airport" };
+
+    private static final String[][] ISSUES = {
+            { "Pothole", "Broken pavement", "Damaged speed breaker", "Road cave-in", "Missing manhole cover" },
+            { "Garbage not collected", "Overflowing bin", "Illegal dumping", "Dead animal on street" },
+            { "No water supply", "Leaking pipeline", "Contaminated water", "Low water pressure" },
+            { "Power outage", "Exposed wiring", "Transformer sparking", "Fallen electric pole" },
+            { "Street light not working", "Street light on during day", "Flickering street light" },
+            { "Blocked drain", "Waterlogging", "Open drain", "Sewage overflow" },
+            { "Overgrown park", "Broken playground equipment", "Fallen tree", "Park lights not working" },
+            { "Stray animals", "Noise complaint", "Encroachment on footpath", "Illegal parking" } };
+
+    private static final String[] STREET_KINDS = { "Road", "Street", "Main Road", "Cross", "Lane", "Avenue" };
+
+    // Filing volume by hour of day, from early morning lows to late-morning and evening peaks
+    private static final double[] HOUR_WEIGHTS = { 0.3, 0.2, 0.1, 0.1, 0.1, 0.3, 0.8, 1.5, 2.4, 3.2, 3.5, 3.3,
+            2.8, 2.6, 2.5, 2.4, 2.5, 2.9, 3.1, 2.8, 2.0, 1.4, 0.9, 0.5 };
+
+    private static final double CENTRE_LAT = 12.9716;
+    private static final double CENTRE_LON = 77.5946;
+    // About 1.1 km per 0.01 degree at this latitude
+    private static final double HOTSPOT_SPREAD = 0.004;
+    private static final double ZONE_SPREAD = 0.03;
+
+    private final double[][] zoneCentres = new double[ZONES.length][];
+    private final double[][][] hotspots;
+    private final String[][] hotspotStreets;
+    private final double[] hourCumulative = cumulative(HOUR_WEIGHTS);
+    private final double[] departmentCumulative = cumulative(DEPARTMENT_WEIGHTS);
+
+    CityModel(long seed, int hotspotsPerZone) {
+        SplittableRandom random = new SplittableRandom(seed);
+        hotspots = new double[ZONES.length][hotspotsPerZone][];
+        hotspotStreets = new String[ZONES.length][hotspotsPerZone];
+        for (int z = 0; z < ZONES.length; z++) {
+            // Central sits on the centre, the others on a ring around it
+            double angle = 2 * Math.PI * z / (ZONES.length - 1);
+            double distance = z == 0 ? 0 : 0.06 + random.nextDouble() * 0.03;
+            zoneCentres[z] = new double[] { CENTRE_LAT + distance * Math.sin(angle),
+                    CENTRE_LON + distance * Math.cos(angle) };
+            for (int h = 0; h < hotspotsPerZone; h++) {
+                hotspots[z][h] = new double[] { zoneCentres[z][0] + gaussian(random) * ZONE_SPREAD,
+                        zoneCentres[z][1] + gaussian(random) * ZONE_SPREAD };
+                hotspotStreets[z][h] = (h + 1) + " " + STREET_KINDS[random.nextInt(STREET_KINDS.length)];
+            }
+        }
+    }
+
+    int department(SplittableRandom random) {
+        return pick(departmentCumulative, random);
+    }
+
+    static double departmentWeight(int department) {
+        return DEPARTMENT_WEIGHTS[department];
+    }
+
+    int zone(SplittableRandom random) {
+        // Central gets twice the volume of each outer zone
+        int slot = random.nextInt(ZONES.length + 1);
+        return slot >= ZONES.length ? 0 : slot;
+    }
+
+    /**
+     * Most complaints cluster on a hotspot, where repeated reports of one
+     * problem share an address; the rest are scattered over the zone
+     */
+    Location location(int zone, SplittableRandom random) {
+        if (random.nextDouble() < 0.7) {
+            int h = (int) (hotspots[zone].length * Math.pow(random.nextDouble(), 2));
+            double[] spot = hotspots[zone][h];
+            return new Location(spot[0] + gaussian(random) * HOTSPOT_SPREAD,
+                    spot[1] + gaussian(random) * HOTSPOT_SPREAD, hotspotStreets[zone][h] + ", " + ZONES[zone]);
+        }
+        double[] centre = zoneCentres[zone];
+        return new Location(centre[0] + gaussian(random) * ZONE_SPREAD, centre[1] + gaussian(random) * ZONE_SPREAD,
+                "Plot " + (1 + random.nextInt(2000)) + ", " + ZONES[zone]);
+    }
+
+    String description(int department, String address, SplittableRandom random) {
+        String[] issues = ISSUES[department];
+        return issues[random.nextInt(issues.length)] + " near " + address;
+    }
+
+    /**
+     * Relative filing volume of a day: quieter weekends and a slow upward trend
+     */
+    static double dayWeight(LocalDate day, double progress) {
+        DayOfWeek weekday = day.getDayOfWeek();
+        double weekly = weekday == DayOfWeek.SUNDAY ? 0.55
+                : weekday == DayOfWeek.SATURDAY ? 0.75
+                : weekday == DayOfWeek.MONDAY ? 1.2 : 1.0;
+        return weekly * (0.7 + 0.6 * progress);
+    }
+
+    /**
+     * Second of the day a complaint is filed, following the hourly profile
+     */
+    int secondOfDay(SplittableRandom random) {
+        return pick(hourCumulative, random) * 3600 + random.nextInt(3600);
+    }
+
+    static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Log-normally distributed duration with the given median
+     */
+    static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * gaussian(random));
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double r = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    @Value
+    static class Location {
+        double latitude;
+        double longitude;
+        String address;
+    }
+}
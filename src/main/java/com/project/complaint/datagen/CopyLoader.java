@@ -0,0 +1,81 @@
+package com.project.complaint.datagen;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Buffers CSV rows for one table and sends them with COPY FROM STDIN in
+ * batches. Null values are written as empty unquoted fields, which CSV COPY
+ * reads as NULL; strings are always quoted.
+ */
+class CopyLoader {
+
+    private final CopyManager copyManager;
+    private final String copySql;
+    private final int batchSize;
+    private final StringBuilder buffer = new StringBuilder(1 << 20);
+    private int buffered;
+    private long rows;
+
+    CopyLoader(CopyManager copyManager, String table, String columns, int batchSize) {
+        this.copyManager = copyManager;
+        this.copySql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+        this.batchSize = batchSize;
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            append(values[i]);
+        }
+        buffer.append('\n');
+        if (++buffered >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (buffered == 0) {
+            return;
+        }
+        try {
+            copyManager.copyIn(copySql, new StringReader(buffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY failed: " + copySql, e);
+        }
+        rows += buffered;
+        buffered = 0;
+        buffer.setLength(0);
+    }
+
+    long rows() {
+        return rows + buffered;
+    }
+
+    private void append(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String s) {
+            buffer.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        } else if (value instanceof LocalDateTime t) {
+            buffer.append(t);
+        } else {
+            buffer.append(value);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.project.complaint.datagen;
+
+import com.project.complaint.analytics.ComplaintSketchService;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import com.project.complaint.model.ValidationStatus;
+import com.project.complaint.rollup.ComplaintRollupService;
+import com.project.complaint.service.OfficerRatingService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a synthetic city for scale testing when the datagen profile is
+ * active: citizens, officers spread over departments and zones, and
+ * complaints clustered on hotspots with realistic filing times and
+ * lifecycles (assignment, escalation past the deadline, resolution,
+ * validation, ratings and reopening).
+ *
+ * Rows go in with COPY in one transaction. The output depends only on the
+ * seed, the settings and the until date, so on an empty database two runs
+ * produce identical tables apart from the salted password hashes. Generated
+ * accounts share the password
+ * {@value #PASSWORD}; officers log in with the key {@value #OFFICER_SECRET_KEY}.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class SyntheticCityGenerator implements CommandLineRunner {
+
+    static final String PASSWORD = "Datagen@123";
+    static final String OFFICER_SECRET_KEY = "DATAGEN-OFFICER-KEY";
+    private static final String EMAIL_DOMAIN = "@datagen.local";
+
+    private static final String USER_COLUMNS =
+            "id, name, email, password, role, status, department, zone, secret_key_hash, created_at, updated_at";
+    private static final String COMPLAINT_COLUMNS = "id, department, description, photo_url, latitude, longitude, "
+            + "location_address, status, priority, zone, citizen_id, officer_id, deadline, escalated, escalated_at, "
+            + "escalation_reason, proof_of_work_url, proof_of_work_uploaded_at, validation_status, rejection_reason, "
+            + "validated_by, validated_at, rating, feedback, rated_at, satisfied, satisfied_at, reopened, "
+            + "reopened_at, reopen_reason, resolved_at, archived, archived_at, created_at, updated_at";
+    private static final String ESCALATION_COLUMNS =
+            "id, complaint_id, original_officer_id, escalated_to_id, escalation_reason, escalated_at, resolved";
+
+    private static final Priority[] PRIORITIES = { Priority.HIGH, Priority.MEDIUM, Priority.LOW };
+    private static final double[] PRIORITY_SHARES = { 0.2, 0.5, 0.3 };
+    private static final double[] RATING_ON_TIME = { 0.04, 0.06, 0.15, 0.35, 0.40 };
+    private static final double[] RATING_LATE = { 0.15, 0.20, 0.30, 0.20, 0.15 };
+    private static final String[] GOOD_FEEDBACK = { "Fixed quickly, thank you", "Good work by the team",
+            "Resolved as promised" };
+    private static final String[] POOR_FEEDBACK = { "Took far too long", "Problem is only partly fixed",
+            "Nobody informed me of progress" };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final OfficerRatingService officerRatings;
+    private final ComplaintRollupService rollups;
+    private final ComplaintSketchService sketches;
+
+    private final long seed;
+    private final int complaints;
+    private final int citizens;
+    private final int officers;
+    private final int days;
+    private final String until;
+    private final int hotspotsPerZone;
+    private final int batchSize;
+
+    public SyntheticCityGenerator(DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            OfficerRatingService officerRatings,
+            ComplaintRollupService rollups,
+            ComplaintSketchService sketches,
+            @Value("${datagen.seed:42}") long seed,
+            @Value("${datagen.complaints:1000000}") int complaints,
+            @Value("${datagen.citizens:200000}") int citizens,
+            @Value("${datagen.officers:2000}") int officers,
+            @Value("${datagen.days:730}") int days,
+            @Value("${datagen.until:}") String until,
+            @Value("${datagen.hotspots-per-zone:60}") int hotspotsPerZone,
+            @Value("${datagen.batch-size:20000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.officerRatings = officerRatings;
+        this.rollups = rollups;
+        this.sketches = sketches;
+        this.seed = seed;
+        this.complaints = complaints;
+        this.citizens = citizens;
+        this.officers = officers;
+        this.days = days;
+        this.until = until;
+        this.hotspotsPerZone = hotspotsPerZone;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Long.class, "%" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already loaded ({} generated users), skipping", existing);
+            return;
+        }
+        List<Long> admins = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE role = 'ADMIN' ORDER BY id LIMIT 1", Long.class);
+        if (admins.isEmpty()) {
+            throw new IllegalStateException("No admin user to validate and take escalations");
+        }
+
+        LocalDate end = until == null || until.isBlank() ? LocalDate.now() : LocalDate.parse(until.trim());
+        log.info("Generating {} complaints from {} citizens and {} officers over {} days up to {} (seed {})",
+                complaints, citizens, officers, days, end, seed);
+        long started = System.nanoTime();
+
+        Generation generation;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                generation = new Generation(connection, admins.get(0), end);
+                generation.load();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        for (String table : List.of("users", "complaints", "complaint_escalations")) {
+            jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                    + "(SELECT MAX(id) FROM " + table + "))");
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        log.info("Loaded {} users, {} complaints and {} escalations in {}s ({})",
+                generation.users.rows(), generation.complaintRows.rows(), generation.escalations.rows(),
+                (System.nanoTime() - started) / 1_000_000_000, Arrays.toString(generation.statusCounts));
+
+        // Derived tables; the in-memory views build from the complaints table once startup completes
+        officerRatings.rebuild();
+        rollups.backfillAsync(null, null);
+        sketches.rebuildAsync();
+    }
+
+    /**
+     * One load. Random streams are split per concern, so changing one count
+     * does not reshuffle the rest.
+     */
+    private final class Generation {
+
+        private final long adminId;
+        private final LocalDate end;
+        private final LocalDateTime endTime;
+        private final CityModel city;
+        private final CopyLoader users;
+        private final CopyLoader complaintRows;
+        private final CopyLoader escalations;
+        private final long firstUserId;
+        private final long firstComplaintId;
+        private final long firstEscalationId;
+        private final long[] statusCounts = new long[ComplaintStatus.values().length];
+
+        // Officer ids by department and zone
+        private final long[][][] officerIds =
+                new long[CityModel.DEPARTMENTS.length][CityModel.ZONES.length][];
+        private long firstCitizenId;
+
+        Generation(Connection connection, long adminId, LocalDate end) throws SQLException {
+            this.adminId = adminId;
+            this.end = end;
+            this.endTime = end.atStartOfDay();
+            this.city = new CityModel(seed, hotspotsPerZone);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            this.users = new CopyLoader(copy, "users", USER_COLUMNS, batchSize);
+            this.complaintRows = new CopyLoader(copy, "complaints", COMPLAINT_COLUMNS, batchSize);
+            this.escalations = new CopyLoader(copy, "complaint_escalations", ESCALATION_COLUMNS, batchSize);
+            this.firstUserId = nextId(connection, "users");
+            this.firstComplaintId = nextId(connection, "complaints");
+            this.firstEscalationId = nextId(connection, "complaint_escalations");
+        }
+
+        void load() throws SQLException {
+            loadUsers(new SplittableRandom(seed ^ 0x5EED_0001L));
+            loadComplaints(new SplittableRandom(seed ^ 0x5EED_0002L));
+        }
+
+        private void loadUsers(SplittableRandom random) throws SQLException {
+            String passwordHash = passwordEncoder.encode(PASSWORD);
+            String secretKeyHash = passwordEncoder.encode(OFFICER_SECRET_KEY);
+            LocalDateTime since = endTime.minusDays(days);
+            long id = firstUserId;
+
+            // Officers per department in proportion to its complaints, dealt round the zones
+            List<List<List<Long>>> byDepartment = new ArrayList<>();
+            int officerNumber = 0;
+            for (int d = 0; d < CityModel.DEPARTMENTS.length; d++) {
+                List<List<Long>> byZone = new ArrayList<>();
+                for (int z = 0; z < CityModel.ZONES.length; z++) {
+                    byZone.add(new ArrayList<>());
+                }
+                int count = Math.max(1, (int) Math.round(officers * CityModel.departmentWeight(d)));
+                for (int i = 0; i < count; i++, id++, officerNumber++) {
+                    int zone = i % CityModel.ZONES.length;
+                    LocalDateTime createdAt = since.minusDays(random.nextInt(365));
+                    users.row(id, "Officer " + officerNumber, "officer" + officerNumber + EMAIL_DOMAIN,
+                            passwordHash, "OFFICER", "APPROVED", CityModel.DEPARTMENTS[d], CityModel.ZONES[zone],
+                            secretKeyHash, createdAt, createdAt);
+                    byZone.get(zone).add(id);
+                }
+                byDepartment.add(byZone);
+            }
+            for (int d = 0; d < officerIds.length; d++) {
+                for (int z = 0; z < CityModel.ZONES.length; z++) {
+                    officerIds[d][z] = byDepartment.get(d).get(z).stream().mapToLong(Long::longValue).toArray();
+                }
+            }
+
+            firstCitizenId = id;
+            for (int i = 0; i < citizens; i++, id++) {
+                LocalDateTime createdAt = since.minusDays(random.nextInt(365))
+                        .plusSeconds(random.nextInt(86_400));
+                users.row(id, "Citizen " + i, "citizen" + i + EMAIL_DOMAIN, passwordHash, "CITIZEN", "ACTIVE",
+                        null, null, null, createdAt, createdAt);
+            }
+            users.flush();
+        }
+
+        private void loadComplaints(SplittableRandom random) throws SQLException {
+            LocalDate first = end.minusDays(days);
+            double[] weights = new double[days];
+            double total = 0;
+            for (int d = 0; d < days; d++) {
+                weights[d] = CityModel.dayWeight(first.plusDays(d), (double) d / days);
+                total += weights[d];
+            }
+
+            long id = firstComplaintId;
+            double carry = 0;
+            for (int d = 0; d < days; d++) {
+                double expected = complaints * weights[d] / total + carry;
+                int count = d == days - 1 ? (int) (firstComplaintId + complaints - id) : (int) expected;
+                carry = expected - count;
+                int[] seconds = new int[count];
+                for (int i = 0; i < count; i++) {
+                    seconds[i] = city.secondOfDay(random);
+                }
+                Arrays.sort(seconds);
+                LocalDateTime day = first.plusDays(d).atStartOfDay();
+                for (int second : seconds) {
+                    complaint(id++, day.plusSeconds(second), random);
+                }
+            }
+            complaintRows.flush();
+            escalations.flush();
+        }
+
+        private void complaint(long id, LocalDateTime createdAt, SplittableRandom random) throws SQLException {
+            int department = city.department(random);
+            int zone = city.zone(random);
+            CityModel.Location location = city.location(zone, random);
+            // A few citizens file most complaints
+            long citizenId = firstCitizenId + (long) (citizens * Math.pow(random.nextDouble(), 2.5));
+            String photoUrl = random.nextDouble() < 0.6 ? "datagen/photo-" + id + ".jpg" : null;
+
+            ComplaintStatus status = ComplaintStatus.PENDING;
+            Priority priority = Priority.LOW;
+            Long officerId = null;
+            LocalDateTime deadline = null;
+            boolean escalated = false;
+            LocalDateTime escalatedAt = null;
+            String escalationReason = null;
+            String proofUrl = null;
+            LocalDateTime proofAt = null;
+            ValidationStatus validation = ValidationStatus.PENDING_VALIDATION;
+            String rejectionReason = null;
+            Long validatedBy = null;
+            LocalDateTime validatedAt = null;
+            Integer rating = null;
+            String feedback = null;
+            LocalDateTime ratedAt = null;
+            boolean satisfied = false;
+            LocalDateTime satisfiedAt = null;
+            boolean reopened = false;
+            LocalDateTime reopenedAt = null;
+            String reopenReason = null;
+            LocalDateTime resolvedAt = null;
+            LocalDateTime updatedAt = createdAt;
+
+            LocalDateTime assignedAt = plusHours(createdAt, CityModel.logNormal(random, 4, 1.0));
+            if (assignedAt.isBefore(endTime) && random.nextDouble() >= 0.02) {
+                status = ComplaintStatus.IN_PROGRESS;
+                priority = PRIORITIES[pick(PRIORITY_SHARES, random)];
+                long[] candidates = officerIds[department][zone];
+                if (candidates.length == 0) {
+                    candidates = officerIds[department][0];
+                }
+                officerId = candidates[random.nextInt(candidates.length)];
+                deadline = priority.deadlineFrom(assignedAt);
+                updatedAt = assignedAt;
+
+                LocalDateTime doneAt = plusHours(assignedAt,
+                        CityModel.logNormal(random, priority.getDeadlineHours() * 0.5, 0.9));
+                // The hourly escalation check picks up what is still open past its deadline
+                LocalDateTime checkAt = deadline.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                if (doneAt.isAfter(checkAt) && checkAt.isBefore(endTime)) {
+                    escalated = true;
+                    escalatedAt = checkAt;
+                    escalationReason = String.format("Automatic escalation: Complaint exceeded deadline of %s",
+                            deadline);
+                    escalations.row(firstEscalationId + escalations.rows(), id, officerId, adminId,
+                            escalationReason, escalatedAt, doneAt.isBefore(endTime));
+                    officerId = adminId;
+                    updatedAt = escalatedAt;
+                }
+
+                if (doneAt.isBefore(endTime)) {
+                    status = ComplaintStatus.RESOLVED;
+                    resolvedAt = doneAt;
+                    proofUrl = "datagen/proof-" + id + ".jpg";
+                    proofAt = doneAt.minusMinutes(5 + random.nextInt(120));
+                    updatedAt = doneAt;
+
+                    LocalDateTime reviewAt = plusHours(doneAt, CityModel.logNormal(random, 8, 1.0));
+                    if (reviewAt.isBefore(endTime)) {
+                        validatedBy = adminId;
+                        validatedAt = reviewAt;
+                        updatedAt = reviewAt;
+                        if (random.nextDouble() < 0.06) {
+                            status = ComplaintStatus.REJECTED;
+                            validation = ValidationStatus.REJECTED_BY_ADMIN;
+                            rejectionReason = "Proof of work does not show the problem fixed";
+                        } else {
+                            validation = ValidationStatus.VALIDATED;
+                            LocalDateTime rateAt = plusHours(reviewAt, CityModel.logNormal(random, 20, 1.2));
+                            if (random.nextDouble() < 0.55 && rateAt.isBefore(endTime)) {
+                                boolean late = doneAt.isAfter(deadline);
+                                rating = 1 + pick(late ? RATING_LATE : RATING_ON_TIME, random);
+                                ratedAt = rateAt;
+                                updatedAt = rateAt;
+                                if (random.nextDouble() < 0.3) {
+                                    String[] texts = rating >= 4 ? GOOD_FEEDBACK : POOR_FEEDBACK;
+                                    feedback = texts[random.nextInt(texts.length)];
+                                }
+                                if (rating >= 4) {
+                                    satisfied = true;
+                                    satisfiedAt = rateAt;
+                                }
+                                LocalDateTime reopenAt = plusHours(rateAt, CityModel.logNormal(random, 6, 1.0));
+                                if (rating <= 2 && random.nextDouble() < 0.3 && reopenAt.isBefore(endTime)) {
+                                    // Reopening clears the rating, as ComplaintService does
+                                    status = ComplaintStatus.IN_PROGRESS;
+                                    reopened = true;
+                                    reopenedAt = reopenAt;
+                                    reopenReason = "The problem has come back";
+                                    rating = null;
+                                    feedback = null;
+                                    ratedAt = null;
+                                    satisfied = false;
+                                    satisfiedAt = null;
+                                    updatedAt = reopenAt;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            statusCounts[status.ordinal()]++;
+            complaintRows.row(id, CityModel.DEPARTMENTS[department],
+                    city.description(department, location.getAddress(), random), photoUrl,
+                    round(location.getLatitude()), round(location.getLongitude()), location.getAddress(),
+                    status.getCode(), priority.getCode(), CityModel.ZONES[zone], citizenId, officerId, deadline,
+                    escalated, escalatedAt, escalationReason, proofUrl, proofAt, validation.getCode(),
+                    rejectionReason, validatedBy, validatedAt, rating, feedback, ratedAt, satisfied, satisfiedAt,
+                    reopened, reopenedAt, reopenReason, resolvedAt, false, null, createdAt, updatedAt);
+        }
+
+        private long nextId(Connection connection, String table) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static LocalDateTime plusHours(LocalDateTime time, double hours) {
+        return time.plusSeconds((long) (hours * 3600));
+    }
+
+    private static double round(double degrees) {
+        return Math.round(degrees * 1_000_000) / 1_000_000.0;
+    }
+
+    private static int pick(double[] shares, SplittableRandom random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < shares.length - 1; i++) {
+            r -= shares[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return shares.length - 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.complaint.diagnostics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlBudgetConfig {
+
+    /**
+     * Wrap the connection pool so every JDBC execution, from Hibernate and
+     * JdbcTemplate alike, passes through SqlStatementListener
+     */
+    @Bean
+    public static BeanPostProcessor sqlBudgetDataSourceProxy(Environment environment) {
+        boolean enabled = environment.getProperty("sql.budget.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
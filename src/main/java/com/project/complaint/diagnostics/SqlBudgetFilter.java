@@ -0,0 +1,158 @@
+package com.project.complaint.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts and times the SQL each request runs, per endpoint, and flags
+ * requests that exceed their statement budget or repeat one statement shape
+ * often enough to suggest an N+1. Runs ahead of the security filters so the
+ * token's user lookup is counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL = 300;
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        DebugHeaderResponse debugResponse = properties.isDebugHeader() ? new DebugHeaderResponse(response, stats) : null;
+        try {
+            chain.doFilter(request, debugResponse != null ? debugResponse : response);
+        } finally {
+            RequestSqlStats.end();
+            if (debugResponse != null) {
+                debugResponse.writeHeaders();
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestSqlStats stats) {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+
+        DistributionSummary.builder("civicpulse.sql.statements")
+                .description("JDBC statements per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("civicpulse.sql.time")
+                .description("Time spent in JDBC per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = properties.budgetFor(pattern);
+        if (stats.getStatements() > budget) {
+            meterRegistry.counter("civicpulse.sql.budget.exceeded", "endpoint", endpoint).increment();
+            log.warn("{} ran {} SQL statements, over its budget of {}", endpoint, stats.getStatements(), budget);
+        }
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= properties.getRepeatThreshold()) {
+            meterRegistry.counter("civicpulse.sql.repeated", "endpoint", endpoint).increment();
+            log.warn("{} ran the same statement {} times, likely N+1: {}", endpoint, repeated.getValue(),
+                    abbreviate(repeated.getKey()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL ? sql : sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+
+    /**
+     * Adds the X-SQL-* headers just before the response commits. Statements
+     * run while the body is being written (lazy loads during serialization)
+     * come too late for the header but are still in the metrics and logs.
+     */
+    private static final class DebugHeaderResponse extends HttpServletResponseWrapper {
+
+        private final RequestSqlStats stats;
+        private boolean written;
+
+        private DebugHeaderResponse(HttpServletResponse response, RequestSqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-SQL-Statements", Integer.toString(stats.getStatements()));
+            setHeader("X-SQL-Time-Ms", String.format("%.2f", stats.getNanos() / 1_000_000.0));
+            Map.Entry<String, Integer> repeated = stats.mostRepeated();
+            setHeader("X-SQL-Max-Repeat", Integer.toString(repeated != null ? repeated.getValue() : 0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
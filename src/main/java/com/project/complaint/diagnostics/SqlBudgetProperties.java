@@ -0,0 +1,35 @@
+package com.project.complaint.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL budgets, under sql.budget.*. Endpoint budgets are keyed by
+ * the handler's path pattern, e.g. sql.budget.endpoints.[/api/complaints/all]=5
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sql.budget")
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    // Statements allowed per request for endpoints without their own budget
+    private int defaultStatements = 25;
+
+    // One statement shape run this many times in a request is reported as a likely N+1
+    private int repeatThreshold = 10;
+
+    // Add X-SQL-* response headers with the request's counts
+    private boolean debugHeader = false;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String pattern) {
+        return pattern != null ? endpoints.getOrDefault(pattern, defaultStatements) : defaultStatements;
+    }
+}
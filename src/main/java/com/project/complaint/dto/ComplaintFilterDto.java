@@ -0,0 +1,45 @@
+package com.project.complaint.dto;
+
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import com.project.complaint.model.ValidationStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Optional filters for the complaint query endpoint. Every field left null is
+ * ignored; list fields match any of the given values.
+ */
+@Data
+public class ComplaintFilterDto {
+    private List<ComplaintStatus> status;
+    private List<Priority> priority;
+    private String department;
+    private String zone;
+    private Boolean escalated;
+    private ValidationStatus validationStatus;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineTo;
+
+    // Archived complaints are included on request, or when createdFrom reaches past the archive horizon
+    private Boolean includeArchived;
+
+    // Bounding box
+    private Double minLatitude;
+    private Double maxLatitude;
+    private Double minLongitude;
+    private Double maxLongitude;
+}
@@ -0,0 +1,19 @@
+package com.project.complaint.dto;
+
+import com.project.complaint.model.Complaint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintPageDto {
+    private List<Complaint> items;
+    private String nextCursor; // null on the last page
+    private Boolean hasMore;
+}
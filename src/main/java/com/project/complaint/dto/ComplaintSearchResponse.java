@@ -0,0 +1,30 @@
+package com.project.complaint.dto;
+
+import com.project.complaint.model.Complaint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintSearchResponse {
+    private String query;
+    private Long total;
+    private Boolean indexReady;
+    private List<Hit> results;
+    private Map<String, Map<String, Long>> facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private Double score;
+        private Complaint complaint;
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.complaint.escalation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Open escalations of open complaints, in memory, as one ordered queue per
+ * assignee and one per tier level. Taking the head of a queue is O(log n)
+ * and reads take no lock; changes are applied after their transaction
+ * commits. Loaded from complaint_escalations on startup.
+ *
+ * A complaint has at most one open escalation here: escalating it further
+ * replaces the previous one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EscalationQueue {
+
+    // Status 0 is PENDING and 1 is IN_PROGRESS
+    private static final String OPEN_ESCALATIONS = "SELECT e.id, e.complaint_id, e.escalated_to_id, e.tier, "
+            + "e.escalated_at, c.priority, c.deadline FROM complaint_escalations e "
+            + "JOIN complaints c ON c.id = e.complaint_id "
+            + "WHERE COALESCE(e.resolved, FALSE) = FALSE AND e.escalated_to_id IS NOT NULL "
+            + "AND c.archived = FALSE AND c.status IN (0, 1) ORDER BY e.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EscalationTierProperties properties;
+
+    private final Map<Long, QueuedEscalation> byComplaint = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<QueuedEscalation>> byAssignee = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<QueuedEscalation>> byLevel = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int finalLevel = properties.getTiers().size();
+        List<QueuedEscalation> open = jdbcTemplate.query(OPEN_ESCALATIONS, (rs, row) -> {
+            Timestamp deadline = rs.getTimestamp("deadline");
+            int tier = rs.getInt("tier");
+            return new QueuedEscalation(rs.getLong("id"), rs.getLong("complaint_id"), rs.getLong("escalated_to_id"),
+                    // Escalations from before tiers went straight to an administrator
+                    rs.wasNull() ? finalLevel : tier,
+                    rs.getShort("priority"),
+                    deadline != null ? deadline.toLocalDateTime() : null,
+                    rs.getTimestamp("escalated_at").toLocalDateTime());
+        });
+        synchronized (this) {
+            open.forEach(this::put);
+        }
+        log.info("Loaded {} open escalations into the escalation queues", byComplaint.size());
+    }
+
+    /**
+     * Queue the escalation once the transaction commits, replacing any open
+     * one for the same complaint
+     */
+    public void escalated(QueuedEscalation escalation) {
+        afterCommit(() -> {
+            synchronized (this) {
+                put(escalation);
+            }
+        });
+    }
+
+    /**
+     * Drop the complaint's open escalation once the transaction commits
+     */
+    public void complaintSettled(Long complaintId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(byComplaint.get(complaintId));
+            }
+        });
+    }
+
+    public void escalationResolved(Long escalationId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                byComplaint.values().stream()
+                        .filter(e -> e.escalationId() == escalationId)
+                        .findFirst()
+                        .ifPresent(this::remove);
+            }
+        });
+    }
+
+    public QueuedEscalation next(Long assigneeId) {
+        NavigableSet<QueuedEscalation> queue = byAssignee.get(assigneeId);
+        return queue == null || queue.isEmpty() ? null : queue.first();
+    }
+
+    public List<QueuedEscalation> peek(Long assigneeId, int limit) {
+        return head(byAssignee.get(assigneeId), limit);
+    }
+
+    public List<QueuedEscalation> peekLevel(int level, int limit) {
+        return head(byLevel.get(level), limit);
+    }
+
+    public QueuedEscalation forComplaint(Long complaintId) {
+        return byComplaint.get(complaintId);
+    }
+
+    public int size(Long assigneeId) {
+        NavigableSet<QueuedEscalation> queue = byAssignee.get(assigneeId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    public Map<Integer, Integer> levelSizes() {
+        Map<Integer, Integer> sizes = new TreeMap<>();
+        byLevel.forEach((level, queue) -> sizes.put(level, queue.size()));
+        return sizes;
+    }
+
+    private void put(QueuedEscalation escalation) {
+        remove(byComplaint.get(escalation.complaintId()));
+        byComplaint.put(escalation.complaintId(), escalation);
+        byAssignee.computeIfAbsent(escalation.assigneeId(), id -> new ConcurrentSkipListSet<>(QueuedEscalation.ORDER))
+                .add(escalation);
+        byLevel.computeIfAbsent(escalation.level(), level -> new ConcurrentSkipListSet<>(QueuedEscalation.ORDER))
+                .add(escalation);
+    }
+
+    private void remove(QueuedEscalation escalation) {
+        if (escalation == null) {
+            return;
+        }
+        byComplaint.remove(escalation.complaintId(), escalation);
+        NavigableSet<QueuedEscalation> assigneeQueue = byAssignee.get(escalation.assigneeId());
+        if (assigneeQueue != null) {
+            assigneeQueue.remove(escalation);
+        }
+        NavigableSet<QueuedEscalation> levelQueue = byLevel.get(escalation.level());
+        if (levelQueue != null) {
+            levelQueue.remove(escalation);
+        }
+    }
+
+    private static List<QueuedEscalation> head(NavigableSet<QueuedEscalation> queue, int limit) {
+        List<QueuedEscalation> items = new ArrayList<>();
+        if (queue != null) {
+            for (QueuedEscalation escalation : queue) {
+                if (items.size() >= limit) {
+                    break;
+                }
+                items.add(escalation);
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.complaint.escalation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escalation chain above the assigned officer, under escalation.tiers[n].*,
+ * lowest tier first. A complaint reaches tier n once its deadline is
+ * after-hours of that tier behind it:
+ *
+ *   escalation.tiers[0].name=Zone supervisor
+ *   escalation.tiers[0].scope=ZONE
+ *   escalation.tiers[0].after-hours=0
+ *   escalation.tiers[0].assignees.[North Zone]=north.supervisor@civicpulse.com
+ *
+ * ZONE and DEPARTMENT tiers map the complaint's zone or department to the
+ * email of the user who takes it; ADMIN tiers go to the administrator with the
+ * shortest queue. A tier with nobody for a complaint is passed over.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "escalation")
+public class EscalationTierProperties {
+
+    private List<Tier> tiers = new ArrayList<>();
+
+    public enum Scope {
+        ZONE, DEPARTMENT, ADMIN
+    }
+
+    @Data
+    public static class Tier {
+        private String name;
+        private Scope scope = Scope.ADMIN;
+        private long afterHours;
+        private Map<String, String> assignees = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.complaint.escalation;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * An open escalation as held in the in-memory queues. Ordered by priority,
+ * highest first, then by how long the complaint has been overdue, longest
+ * first.
+ */
+public record QueuedEscalation(
+        long escalationId,
+        long complaintId,
+        long assigneeId,
+        int level,
+        short priority,
+        LocalDateTime deadline,
+        LocalDateTime escalatedAt) {
+
+    // Deadlines never change while queued, so the order is stable; null deadlines go last
+    static final Comparator<QueuedEscalation> ORDER = Comparator
+            .comparingInt((QueuedEscalation e) -> -e.priority())
+            .thenComparing(QueuedEscalation::deadline, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(QueuedEscalation::escalationId);
+}
@@ -0,0 +1,147 @@
+package com.project.complaint.event;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintEventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Append-only history of complaint changes.
+ *
+ * Write paths record an event, which joins a lock-free queue once their
+ * transaction commits; nothing is written on the request thread. The queue is
+ * drained on a fixed delay and appended to complaint_events in JDBC batches.
+ * A failed batch goes back on the queue for the next attempt.
+ *
+ * Loss is bounded: the queue holds at most buffer-capacity events, and events
+ * arriving while it is full are dropped and counted. A crash loses what was
+ * queued, at most one flush interval's worth under normal load.
+ */
+@Service
+@Slf4j
+public class ComplaintEventLog {
+
+    public static final String SYSTEM_ACTOR = "system";
+
+    private static final int MAX_DETAIL = 1000;
+
+    private final ComplaintEventStore store;
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final int batchSize;
+
+    private final Queue<LifecycleEvent> queue = new ConcurrentLinkedQueue<>();
+    // Approximate queue length; ConcurrentLinkedQueue.size() walks the queue
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ComplaintEventLog(ComplaintEventStore store,
+            MeterRegistry meterRegistry,
+            @Value("${events.buffer-capacity:100000}") int capacity,
+            @Value("${events.batch-size:500}") int batchSize) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        meterRegistry.gauge("civicpulse.events.queued", queued);
+    }
+
+    /**
+     * Record an event for the complaint in its current state, once the
+     * transaction commits. The actor is the authenticated user, if any.
+     */
+    public void record(Complaint complaint, ComplaintEventType type, String detail) {
+        LifecycleEvent event = new LifecycleEvent(complaint.getId(), type, currentActor(), complaint.getStatus(),
+                abbreviate(detail), LocalDateTime.now());
+        afterCommit(() -> enqueue(event));
+    }
+
+    private void enqueue(LifecycleEvent event) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            meterRegistry.counter("civicpulse.events.dropped").increment();
+            return;
+        }
+        queue.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${events.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<LifecycleEvent> batch = new ArrayList<>(batchSize);
+            LifecycleEvent event;
+            while (true) {
+                while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                    batch.add(event);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    store.append(batch);
+                } catch (Exception e) {
+                    log.warn("Complaint event flush failed, keeping {} events for the next attempt", batch.size(), e);
+                    queue.addAll(batch);
+                    return;
+                }
+                queued.addAndGet(-batch.size());
+                meterRegistry.counter("civicpulse.events.written").increment(batch.size());
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * The complaint's events in order, including those not yet flushed
+     */
+    public List<LifecycleEvent> timeline(Long complaintId) {
+        List<LifecycleEvent> events = new ArrayList<>(store.timeline(complaintId));
+        int stored = events.size();
+        for (LifecycleEvent event : queue) {
+            if (event.complaintId().equals(complaintId)) {
+                events.add(event);
+            }
+        }
+        if (events.size() > stored) {
+            events.sort(Comparator.comparing(LifecycleEvent::at));
+        }
+        return events;
+    }
+
+    private static String currentActor() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && !(auth instanceof AnonymousAuthenticationToken) ? auth.getName() : SYSTEM_ACTOR;
+    }
+
+    private static String abbreviate(String detail) {
+        return detail == null || detail.length() <= MAX_DETAIL ? detail : detail.substring(0, MAX_DETAIL);
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.complaint.event;
+
+import com.project.complaint.model.ComplaintEventTypeConverter;
+import com.project.complaint.model.ComplaintStatusConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * SQL for the complaint_events table
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComplaintEventStore {
+
+    private static final ComplaintEventTypeConverter TYPES = new ComplaintEventTypeConverter();
+    private static final ComplaintStatusConverter STATUSES = new ComplaintStatusConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Append events as one JDBC batch
+     */
+    public void append(List<LifecycleEvent> events) {
+        jdbcTemplate.batchUpdate("INSERT INTO complaint_events "
+                + "(complaint_id, type, actor, status, detail, occurred_at) VALUES (?, ?, ?, ?, ?, ?)",
+                events, events.size(), (ps, event) -> {
+                    ps.setLong(1, event.complaintId());
+                    ps.setShort(2, event.type().getCode());
+                    ps.setString(3, event.actor());
+                    if (event.status() != null) {
+                        ps.setShort(4, event.status().getCode());
+                    } else {
+                        ps.setNull(4, Types.SMALLINT);
+                    }
+                    ps.setString(5, event.detail());
+                    ps.setTimestamp(6, Timestamp.valueOf(event.at()));
+                });
+    }
+
+    public List<LifecycleEvent> timeline(Long complaintId) {
+        return jdbcTemplate.query("SELECT type, actor, status, detail, occurred_at FROM complaint_events "
+                + "WHERE complaint_id = ? ORDER BY occurred_at, id",
+                (rs, row) -> new LifecycleEvent(
+                        complaintId,
+                        TYPES.convertToEntityAttribute(rs.getShort("type")),
+                        rs.getString("actor"),
+                        STATUSES.convertToEntityAttribute(rs.getObject("status", Short.class)),
+                        rs.getString("detail"),
+                        rs.getTimestamp("occurred_at").toLocalDateTime()),
+                complaintId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.complaint.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.complaint.model.ComplaintEventType;
+import com.project.complaint.model.ComplaintStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An immutable complaint event, as buffered and as returned in a complaint's
+ * timeline
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LifecycleEvent(
+        @JsonIgnore Long complaintId,
+        ComplaintEventType type,
+        String actor,
+        ComplaintStatus status,
+        String detail,
+        LocalDateTime at) {
+}
@@ -0,0 +1,176 @@
+package com.project.complaint.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.auth.entity.User;
+import com.project.complaint.archive.ComplaintArchiver;
+import com.project.complaint.dto.ComplaintFilterDto;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.repository.ComplaintSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full complaint extracts for auditors. Rows are read through a database
+ * cursor as flat tuples (no entities, so the persistence context stays empty)
+ * and written straight to the response, keeping memory flat whatever the
+ * row count.
+ */
+@Service
+@Slf4j
+public class ComplaintExporter {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final String[] COLUMNS = { "id", "department", "description", "status", "priority", "zone",
+            "locationAddress", "latitude", "longitude", "citizenId", "citizenName", "citizenEmail",
+            "officerId", "officerName", "officerEmail", "deadline", "escalated", "escalatedAt",
+            "validationStatus", "rating", "satisfied", "reopened", "resolvedAt", "archived", "createdAt",
+            "updatedAt" };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ComplaintArchiver archiver;
+    private final ObjectMapper objectMapper;
+
+    public ComplaintExporter(PlatformTransactionManager transactionManager, ComplaintArchiver archiver,
+            ObjectMapper objectMapper) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiver = archiver;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every complaint matching the filter, in id order. The PostgreSQL
+     * driver only uses a cursor inside a transaction, hence the one here.
+     */
+    public void export(ComplaintFilterDto filter, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_BYTES) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_BYTES);
+
+        if (format == ExportFormat.CSV) {
+            writeCsv(writer, COLUMNS);
+        }
+        long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                try (Stream<Tuple> stream = query(filter).getResultStream()) {
+                    long count = 0;
+                    for (Iterator<Tuple> it = stream.iterator(); it.hasNext();) {
+                        Object[] values = it.next().toArray();
+                        if (format == ExportFormat.CSV) {
+                            writeCsv(writer, values);
+                        } else {
+                            writeJson(writer, values);
+                        }
+                        if (++count % FLUSH_EVERY_ROWS == 0) {
+                            writer.flush();
+                        }
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client going away mid-download
+            throw e.getCause();
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} complaints as {}{}", rows, format, gzip ? " (gzip)" : "");
+    }
+
+    private TypedQuery<Tuple> query(ComplaintFilterDto filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Complaint> root = query.from(Complaint.class);
+        Join<Complaint, User> citizen = root.join("citizen", JoinType.LEFT);
+        Join<Complaint, User> officer = root.join("assignedOfficer", JoinType.LEFT);
+
+        // Same order as COLUMNS
+        query.multiselect(root.get("id"), root.get("department"), root.get("description"), root.get("status"),
+                root.get("priority"), root.get("zone"), root.get("locationAddress"), root.get("latitude"),
+                root.get("longitude"), citizen.get("id"), citizen.get("name"), citizen.get("email"),
+                officer.get("id"), officer.get("name"), officer.get("email"), root.get("deadline"),
+                root.get("escalated"), root.get("escalatedAt"), root.get("validationStatus"), root.get("rating"),
+                root.get("satisfied"), root.get("reopened"), root.get("resolvedAt"), root.get("archived"),
+                root.get("createdAt"), root.get("updatedAt"));
+
+        Specification<Complaint> spec = ComplaintSpecifications.matching(filter);
+        if (!archiver.reachesArchive(filter)) {
+            spec = spec.and(ComplaintSpecifications.notArchived());
+        }
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static void writeCsv(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value instanceof Enum<?> e ? e.name() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                    || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeJson(Writer writer, Object[] values) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            row.put(COLUMNS[i], values[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,234 @@
+package com.project.complaint.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for requests repeated with the same
+ * Idempotency-Key, so a retried submission or upload does not run twice.
+ *
+ * Keys are scoped to the caller. The first request with a key runs and its
+ * response is kept as bytes for the TTL; a copy arriving while it is still
+ * running waits for it. Server errors are handed to the waiting copies but not
+ * kept, so a later retry runs again. Reusing a key for a different request is
+ * rejected with 422. The store is bounded; past max-entries the oldest keys go
+ * first.
+ */
+@Component
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Entries in insertion order; with a single TTL that is also expiry order.
+    // A key retried after a server error appears again with its new entry,
+    // and the stale copy is dropped when eviction reaches it.
+    private final Queue<Queued> order = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyService(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.wait-seconds:30}") long waitSeconds) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        this.maxEntries = maxEntries;
+        this.waitMillis = TimeUnit.SECONDS.toMillis(waitSeconds);
+        meterRegistry.gaugeMapSize("civicpulse.idempotency.keys", List.of(), entries);
+    }
+
+    /**
+     * Run the action once per caller and key. Without a key the action just
+     * runs. The fingerprint identifies the request the key was first used for.
+     */
+    public ResponseEntity<?> execute(String key, String caller, List<?> fingerprint,
+            Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = caller + '\n' + key;
+        Entry entry = new Entry(fingerprint, System.nanoTime() + ttlNanos);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(scopedKey, entry)) != null && existing.isExpired()) {
+            entries.remove(scopedKey, existing);
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        order.add(new Queued(scopedKey, entry));
+        evictOverflow();
+        count("executed");
+        StoredResponse stored;
+        try {
+            stored = store(action.get());
+        } catch (RuntimeException | Error e) {
+            entries.remove(scopedKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (stored.status() >= 500) {
+            entries.remove(scopedKey, entry);
+        }
+        entry.response.complete(stored);
+        return stored.toResponse(false);
+    }
+
+    private ResponseEntity<?> replay(Entry existing, List<?> fingerprint) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            count("mismatched");
+            return ResponseEntity.unprocessableEntity().body(HEADER + " was already used for a different request");
+        }
+        try {
+            StoredResponse stored = existing.response.get(waitMillis, TimeUnit.MILLISECONDS);
+            count("replayed");
+            return stored.toResponse(true);
+        } catch (TimeoutException e) {
+            count("in_progress");
+            return ResponseEntity.status(409).body("A request with this " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(409).body("A request with this " + HEADER + " is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * The response as it will be written, so replays return the same bytes
+     * even after the entities in it have changed
+     */
+    private StoredResponse store(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        try {
+            if (body == null) {
+                return new StoredResponse(response.getStatusCode().value(), null, null);
+            }
+            if (body instanceof String text) {
+                return new StoredResponse(response.getStatusCode().value(), MediaType.TEXT_PLAIN,
+                        text.getBytes(StandardCharsets.UTF_8));
+            }
+            return new StoredResponse(response.getStatusCode().value(), MediaType.APPLICATION_JSON,
+                    objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    /**
+     * Drop entries past their TTL from the front of the queue. Requests still
+     * running are passed over and stay until a later sweep.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        for (Iterator<Queued> it = order.iterator(); it.hasNext(); ) {
+            Queued queued = it.next();
+            if (isStale(queued)) {
+                it.remove();
+            } else if (now - queued.entry.expiresAt <= 0) {
+                return;
+            } else if (queued.entry.response.isDone()) {
+                it.remove();
+                entries.remove(queued.key, queued.entry);
+            }
+        }
+    }
+
+    /**
+     * Drop the oldest completed entries until the store is back within
+     * max-entries; requests still running are passed over
+     */
+    private void evictOverflow() {
+        for (Iterator<Queued> it = order.iterator(); it.hasNext() && entries.size() > maxEntries; ) {
+            Queued queued = it.next();
+            if (isStale(queued)) {
+                it.remove();
+            } else if (queued.entry.response.isDone()) {
+                it.remove();
+                entries.remove(queued.key, queued.entry);
+            }
+        }
+    }
+
+    // The key was removed or now belongs to a later request
+    private boolean isStale(Queued queued) {
+        return entries.get(queued.key) != queued.entry;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("civicpulse.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static final class Entry {
+        private final List<?> fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(List<?> fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return response.isDone() && System.nanoTime() - expiresAt > 0;
+        }
+    }
+
+    private record Queued(String key, Entry entry) {
+    }
+
+    private record StoredResponse(int status, MediaType contentType, byte[] body) {
+
+        ResponseEntity<?> toResponse(boolean replayed) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatusCode.valueOf(status));
+            if (replayed) {
+                builder.header(REPLAYED_HEADER, "true");
+            }
+            if (body == null) {
+                return builder.build();
+            }
+            return builder.contentType(contentType).body(body);
+        }
+    }
+}
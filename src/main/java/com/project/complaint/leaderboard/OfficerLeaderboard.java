@@ -0,0 +1,262 @@
+package com.project.complaint.leaderboard;
+
+import com.project.auth.dto.DirectoryUser;
+import com.project.auth.entity.Role;
+import com.project.auth.entity.User;
+import com.project.auth.event.UserDirectoryChangedEvent;
+import com.project.auth.service.UserDirectoryService;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.repository.ComplaintRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Officer rankings by SLA met rate, average rating and resolution time,
+ * citywide and per department.
+ *
+ * Standings live in order-statistic trees, so top-N and any officer's rank
+ * are O(log n). The trees are built from one grouped query on startup; after
+ * that each complaint change marks its officers dirty and a background worker
+ * recomputes just those officers with an officer-scoped query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OfficerLeaderboard {
+
+    private final ComplaintRepository complaintRepository;
+    private final UserDirectoryService userDirectory;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "officer-leaderboard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock
+    private final Map<Long, OfficerStanding> standings = new HashMap<>();
+    private final RankTree<OfficerStanding> citywide = new RankTree<>(OfficerStanding.RANKING);
+    private final Map<String, RankTree<OfficerStanding>> byDepartment = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        worker.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Recompute the complaint's current and previous officers once the
+     * transaction commits
+     */
+    public void complaintChanged(Complaint complaint, User... previousOfficers) {
+        List<Long> officerIds = new ArrayList<>();
+        if (complaint.getAssignedOfficer() != null) {
+            officerIds.add(complaint.getAssignedOfficer().getId());
+        }
+        for (User previous : previousOfficers) {
+            if (previous != null) {
+                officerIds.add(previous.getId());
+            }
+        }
+        if (!officerIds.isEmpty()) {
+            afterCommit(() -> markDirty(officerIds));
+        }
+    }
+
+    /**
+     * New or approved officers join the board; changed details are picked up
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDirectoryChanged(UserDirectoryChangedEvent event) {
+        if (event.getRole() == Role.OFFICER) {
+            markDirty(List.of(event.getUserId()));
+        }
+    }
+
+    /**
+     * The best {@code limit} officers, citywide when department is null
+     */
+    public List<Map<String, Object>> top(String department, int limit) {
+        lock.readLock().lock();
+        try {
+            RankTree<OfficerStanding> tree = treeFor(department);
+            List<Map<String, Object>> result = new ArrayList<>();
+            if (tree == null) {
+                return result;
+            }
+            int rank = 1;
+            for (OfficerStanding standing : tree.first(limit)) {
+                result.add(entry(rank++, tree.size(), standing));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * An officer's citywide rank and rank within their department
+     */
+    public Map<String, Object> rankOf(Long officerId) {
+        lock.readLock().lock();
+        try {
+            OfficerStanding standing = standings.get(officerId);
+            if (standing == null) {
+                throw new RuntimeException("Officer not on the leaderboard");
+            }
+            Map<String, Object> result = entry(citywide.rank(standing) + 1, citywide.size(), standing);
+            RankTree<OfficerStanding> department = departmentTree(standing.getDepartment());
+            if (department != null) {
+                result.put("departmentRank", department.rank(standing) + 1);
+                result.put("departmentSize", department.size());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markDirty(List<Long> officerIds) {
+        dirty.addAll(officerIds);
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext()) {
+            Long officerId = it.next();
+            it.remove();
+            try {
+                refresh(officerId);
+            } catch (Exception e) {
+                log.warn("Failed to refresh leaderboard for officer {}", officerId, e);
+            }
+        }
+    }
+
+    private void refresh(Long officerId) {
+        DirectoryUser officer = officersById().get(officerId);
+        OfficerStanding updated = officer == null ? null
+                : OfficerStanding.of(officer, complaintRepository.findOfficerPerformance(officerId).orElse(null));
+
+        lock.writeLock().lock();
+        try {
+            OfficerStanding previous = standings.remove(officerId);
+            if (previous != null) {
+                citywide.remove(previous);
+                RankTree<OfficerStanding> department = departmentTree(previous.getDepartment());
+                if (department != null) {
+                    department.remove(previous);
+                }
+            }
+            if (updated != null) {
+                add(updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        try {
+            Map<Long, OfficerPerformance> performance = complaintRepository.findAllOfficerPerformance().stream()
+                    .collect(Collectors.toMap(OfficerPerformance::getOfficerId, Function.identity()));
+
+            lock.writeLock().lock();
+            try {
+                standings.clear();
+                citywide.clear();
+                byDepartment.clear();
+                for (DirectoryUser officer : userDirectory.findByRole(Role.OFFICER)) {
+                    add(OfficerStanding.of(officer, performance.get(officer.id())));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Officer leaderboard built with {} officers", standings.size());
+        } catch (Exception e) {
+            log.error("Officer leaderboard build failed", e);
+        }
+    }
+
+    // Caller holds the write lock
+    private void add(OfficerStanding standing) {
+        standings.put(standing.getOfficerId(), standing);
+        citywide.insert(standing);
+        if (standing.getDepartment() != null) {
+            byDepartment.computeIfAbsent(standing.getDepartment(), d -> new RankTree<>(OfficerStanding.RANKING))
+                    .insert(standing);
+        }
+    }
+
+    private RankTree<OfficerStanding> treeFor(String department) {
+        return department == null ? citywide : byDepartment.get(department);
+    }
+
+    private RankTree<OfficerStanding> departmentTree(String department) {
+        return department == null ? null : byDepartment.get(department);
+    }
+
+    private Map<Long, DirectoryUser> officersById() {
+        return userDirectory.findByRole(Role.OFFICER).stream()
+                .collect(Collectors.toMap(DirectoryUser::id, Function.identity()));
+    }
+
+    private static Map<String, Object> entry(int rank, int of, OfficerStanding standing) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("rank", rank);
+        entry.put("of", of);
+        entry.put("officerId", standing.getOfficerId());
+        entry.put("name", standing.getName());
+        entry.put("department", standing.getDepartment());
+        entry.put("zone", standing.getZone());
+        entry.put("slaMetRate", standing.getSlaMetRate());
+        entry.put("averageRating", standing.getAverageRating());
+        entry.put("averageResolutionHours", standing.getAverageResolutionHours());
+        entry.put("resolvedCount", standing.getResolvedCount());
+        entry.put("slaMet", standing.getSlaMet());
+        entry.put("slaViolated", standing.getSlaViolated());
+        entry.put("ratingCount", standing.getRatingCount());
+        return entry;
+    }
+}
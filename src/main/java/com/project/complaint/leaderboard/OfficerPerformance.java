@@ -0,0 +1,21 @@
+package com.project.complaint.leaderboard;
+
+/**
+ * Per-officer totals read from the complaints table in one aggregate query
+ */
+public interface OfficerPerformance {
+    Long getOfficerId();
+
+    long getResolved();
+
+    long getSlaMet();
+
+    long getSlaViolated();
+
+    long getRatingCount();
+
+    long getRatingSum();
+
+    // Null when nothing resolved has a resolution time
+    Double getAverageResolutionSeconds();
+}
@@ -0,0 +1,65 @@
+package com.project.complaint.leaderboard;
+
+import com.project.auth.dto.DirectoryUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+
+/**
+ * An officer's leaderboard entry. Immutable; a change replaces the entry.
+ */
+@Getter
+@AllArgsConstructor
+public class OfficerStanding {
+
+    /**
+     * Best first: SLA met rate, then average rating, then faster average
+     * resolution; officer id breaks ties so every entry has a distinct rank.
+     */
+    public static final Comparator<OfficerStanding> RANKING = Comparator
+            .comparingDouble(OfficerStanding::getSlaMetRate).reversed()
+            .thenComparing(Comparator.comparingDouble(OfficerStanding::getAverageRating).reversed())
+            .thenComparingDouble(OfficerStanding::resolutionSortKey)
+            .thenComparing(OfficerStanding::getOfficerId);
+
+    private final Long officerId;
+    private final String name;
+    private final String department;
+    private final String zone;
+    private final long resolvedCount;
+    private final long slaMet;
+    private final long slaViolated;
+    private final long ratingCount;
+    private final long ratingSum;
+    private final Double averageResolutionSeconds;
+
+    static OfficerStanding of(DirectoryUser officer, OfficerPerformance performance) {
+        if (performance == null) {
+            return new OfficerStanding(officer.id(), officer.name(), officer.department(),
+                    officer.zone(), 0, 0, 0, 0, 0, null);
+        }
+        return new OfficerStanding(officer.id(), officer.name(), officer.department(),
+                officer.zone(), performance.getResolved(), performance.getSlaMet(),
+                performance.getSlaViolated(), performance.getRatingCount(), performance.getRatingSum(),
+                performance.getAverageResolutionSeconds());
+    }
+
+    public double getSlaMetRate() {
+        long judged = slaMet + slaViolated;
+        return judged == 0 ? 0.0 : Math.round(slaMet * 10000.0 / judged) / 100.0;
+    }
+
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0.0 : Math.round(ratingSum * 100.0 / ratingCount) / 100.0;
+    }
+
+    public Double getAverageResolutionHours() {
+        return averageResolutionSeconds == null ? null : Math.round(averageResolutionSeconds / 36.0) / 100.0;
+    }
+
+    // Officers with nothing resolved sort after every resolution time
+    private double resolutionSortKey() {
+        return averageResolutionSeconds == null ? Double.MAX_VALUE : averageResolutionSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.complaint.model;
+
+/**
+ * Enum persisted as a stable SMALLINT code rather than its name or ordinal,
+ * so constants can be renamed or reordered without rewriting data.
+ */
+public interface CodedEnum {
+    short getCode();
+}
@@ -0,0 +1,41 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Maps a {@link CodedEnum} to its SMALLINT code and back
+ */
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+
+    private final E[] byCode;
+
+    protected CodedEnumConverter(Class<E> type) {
+        E[] constants = type.getEnumConstants();
+        int max = 0;
+        for (E constant : constants) {
+            max = Math.max(max, constant.getCode());
+        }
+        @SuppressWarnings("unchecked")
+        E[] table = (E[]) java.lang.reflect.Array.newInstance(type, max + 1);
+        for (E constant : constants) {
+            table[constant.getCode()] = constant;
+        }
+        this.byCode = table;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        if (code < 0 || code >= byCode.length || byCode[code] == null) {
+            throw new IllegalArgumentException("Unknown code " + code);
+        }
+        return byCode[code];
+    }
+}
@@ -7,18 +7,28 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "complaints")
+@NamedEntityGraph(name = Complaint.WITH_USERS, attributeNodes = {
+        @NamedAttributeNode("citizen"),
+        @NamedAttributeNode("assignedOfficer"),
+        @NamedAttributeNode("validatedBy") })
+// Updates write only the changed columns, guarded by the version
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Complaint {
 
+    // Fetch plan for endpoints that return complaints with their users
+    public static final String WITH_USERS = "Complaint.withUsers";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,20 +49,22 @@ public class Complaint {
     @Column(name = "location_address")
     private String locationAddress;
 
-    @Column(nullable = false)
-    private String status; // PENDING, IN_PROGRESS, RESOLVED, REJECTED
+    @Convert(converter = ComplaintStatusConverter.class)
+    @Column(nullable = false, columnDefinition = "SMALLINT")
+    private ComplaintStatus status;
 
-    @Column(nullable = true)
-    private String priority; // HIGH, MEDIUM, LOW
+    @Convert(converter = PriorityConverter.class)
+    @Column(nullable = true, columnDefinition = "SMALLINT")
+    private Priority priority;
 
     @Column(nullable = true)
     private String zone;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "citizen_id", nullable = false)
     private User citizen;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "officer_id")
     private User assignedOfficer;
 
@@ -69,19 +81,29 @@ public class Complaint {
     @Column(name = "escalation_reason", length = 500)
     private String escalationReason;
 
+    // Set while an officer holds the complaint through claim-next; past it, others may claim it
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // 0 while with the assigned officer, n once at escalation.tiers[n-1]
+    @Builder.Default
+    @Column(name = "escalation_level", nullable = false)
+    private Short escalationLevel = 0;
+
     @Column(name = "proof_of_work_url")
     private String proofOfWorkUrl;
 
     @Column(name = "proof_of_work_uploaded_at")
     private LocalDateTime proofOfWorkUploadedAt;
 
-    @Column(name = "validation_status")
-    private String validationStatus; // PENDING_VALIDATION, VALIDATED, REJECTED_BY_ADMIN
+    @Convert(converter = ValidationStatusConverter.class)
+    @Column(name = "validation_status", columnDefinition = "SMALLINT")
+    private ValidationStatus validationStatus;
 
     @Column(name = "rejection_reason", length = 1000)
     private String rejectionReason;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "validated_by")
     private User validatedBy;
 
@@ -117,6 +139,14 @@ public class Complaint {
     @Column(name = "resolved_at")
     private LocalDateTime resolvedAt;
 
+    // Set by ComplaintArchiver; archived complaints live in complaints_archive
+    @Builder.Default
+    @Column(name = "archived", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean archived = false;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -124,4 +154,9 @@ public class Complaint {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    // Optimistic lock: a concurrent change makes the later update fail with a conflict
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
 }
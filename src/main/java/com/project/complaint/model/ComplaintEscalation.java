@@ -12,25 +12,36 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "complaint_escalations")
+@NamedEntityGraph(name = ComplaintEscalation.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode(value = "complaint", subgraph = "complaint"),
+        @NamedAttributeNode("originalOfficer"),
+        @NamedAttributeNode("escalatedTo") }, subgraphs = @NamedSubgraph(name = "complaint", attributeNodes = {
+                @NamedAttributeNode("citizen"),
+                @NamedAttributeNode("assignedOfficer"),
+                @NamedAttributeNode("validatedBy") }))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ComplaintEscalation {
 
+    // Fetch plan for endpoints that return escalations with their complaint and users
+    public static final String WITH_DETAILS = "ComplaintEscalation.withDetails";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
-    @JoinColumn(name = "complaint_id", nullable = false)
+    // No database constraint: it would not follow an archived complaint into complaints_archive
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "complaint_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Complaint complaint;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "original_officer_id")
     private User originalOfficer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "escalated_to_id")
     private User escalatedTo;
 
@@ -41,6 +52,10 @@ public class ComplaintEscalation {
     @Column(name = "escalated_at", nullable = false, updatable = false)
     private LocalDateTime escalatedAt;
 
+    // Level reached, as on Complaint.escalationLevel; null for escalations from before tiers
+    @Column(name = "tier")
+    private Short tier;
+
     @Column(name = "resolved")
     private Boolean resolved = false;
 }
@@ -0,0 +1,48 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a complaint's append-only event log. Rows are only written by
+ * ComplaintEventLog; the entity exists to describe the schema. There is no
+ * foreign key to complaints, whose archived rows move to complaints_archive (V8).
+ */
+@Entity
+@Table(name = "complaint_events", indexes = {
+        @Index(name = "idx_complaint_events_complaint", columnList = "complaint_id, occurred_at, id") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private Long complaintId;
+
+    @Convert(converter = ComplaintEventTypeConverter.class)
+    @Column(nullable = false, columnDefinition = "SMALLINT")
+    private ComplaintEventType type;
+
+    // Email of the user who acted, or "system" for scheduled work
+    @Column(nullable = false)
+    private String actor;
+
+    // Complaint status after the event
+    @Convert(converter = ComplaintStatusConverter.class)
+    @Column(columnDefinition = "SMALLINT")
+    private ComplaintStatus status;
+
+    @Column(length = 1000)
+    private String detail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
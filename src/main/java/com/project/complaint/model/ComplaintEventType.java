@@ -0,0 +1,31 @@
+package com.project.complaint.model;
+
+/**
+ * What happened to a complaint, as recorded in its event log
+ */
+public enum ComplaintEventType implements CodedEnum {
+    FILED(0),
+    ASSIGNED(1),
+    STATUS_CHANGED(2),
+    PROOF_UPLOADED(3),
+    VALIDATED(4),
+    REJECTED(5),
+    RATED(6),
+    REOPENED(7),
+    SATISFACTION(8),
+    ESCALATED(9),
+    ESCALATION_RESOLVED(10),
+    CLAIMED(11),
+    CLAIM_RELEASED(12);
+
+    private final short code;
+
+    ComplaintEventType(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+}
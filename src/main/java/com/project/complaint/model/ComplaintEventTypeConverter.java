@@ -0,0 +1,10 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class ComplaintEventTypeConverter extends CodedEnumConverter<ComplaintEventType> {
+    public ComplaintEventTypeConverter() {
+        super(ComplaintEventType.class);
+    }
+}
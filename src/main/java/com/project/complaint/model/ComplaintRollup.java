@@ -0,0 +1,40 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Complaint counts for one time bucket, zone and department. Rows are only
+ * written by RollupStore; the entities exist to describe the schema.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class ComplaintRollup {
+
+    @EmbeddedId
+    private ComplaintRollupKey id;
+
+    @Column(nullable = false)
+    private long filed;
+
+    @Column(nullable = false)
+    private long resolved;
+
+    @Column(name = "sla_met", nullable = false)
+    private long slaMet;
+
+    @Column(name = "sla_violated", nullable = false)
+    private long slaViolated;
+
+    @Column(nullable = false)
+    private long escalated;
+
+    @Column(nullable = false)
+    private long reopened;
+}
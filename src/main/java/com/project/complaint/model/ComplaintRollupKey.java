@@ -0,0 +1,32 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Bucket start plus the zone × department it counts. Complaints without a
+ * zone are stored under the empty string so the key has no nulls.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintRollupKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private String zone;
+
+    @Column(nullable = false)
+    private String department;
+}
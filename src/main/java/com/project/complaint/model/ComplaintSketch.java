@@ -0,0 +1,41 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialized analytics sketches for one department, zone and day. Rows are
+ * only written by SketchStore; the entity exists to describe the schema.
+ */
+@Entity
+@Table(name = "complaint_sketches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintSketch {
+
+    @EmbeddedId
+    private ComplaintSketchKey id;
+
+    // HDR histogram of resolvedAt - createdAt, in minutes
+    @Column(name = "resolution_minutes")
+    private byte[] resolutionMinutes;
+
+    // HDR histograms of deadline - resolvedAt, in minutes, for early and late resolutions
+    @Column(name = "slack_early_minutes")
+    private byte[] slackEarlyMinutes;
+
+    @Column(name = "slack_late_minutes")
+    private byte[] slackLateMinutes;
+
+    // HyperLogLog registers over citizen ids
+    @Column(name = "citizens")
+    private byte[] citizens;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
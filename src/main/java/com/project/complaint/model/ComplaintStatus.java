@@ -0,0 +1,68 @@
+package com.project.complaint.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Complaint lifecycle.
+ *
+ * PENDING -> IN_PROGRESS | RESOLVED | REJECTED
+ * IN_PROGRESS -> PENDING | RESOLVED | REJECTED
+ * RESOLVED -> IN_PROGRESS (reopened) | REJECTED (proof rejected by an admin)
+ * REJECTED -> PENDING (rejection withdrawn)
+ *
+ * Codes are ordered so that open complaints (PENDING, IN_PROGRESS) sort
+ * below closed ones.
+ */
+public enum ComplaintStatus implements CodedEnum {
+    PENDING(0),
+    IN_PROGRESS(1),
+    RESOLVED(2),
+    REJECTED(3);
+
+    public static final Set<ComplaintStatus> CLOSED = EnumSet.of(RESOLVED, REJECTED);
+
+    private final short code;
+
+    ComplaintStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+
+    public boolean isClosed() {
+        return CLOSED.contains(this);
+    }
+
+    public boolean canTransitionTo(ComplaintStatus next) {
+        if (next == this) {
+            return true;
+        }
+        switch (this) {
+            case PENDING:
+                return next == IN_PROGRESS || next == RESOLVED || next == REJECTED;
+            case IN_PROGRESS:
+                return next == PENDING || next == RESOLVED || next == REJECTED;
+            case RESOLVED:
+                return next == IN_PROGRESS || next == REJECTED;
+            case REJECTED:
+                return next == PENDING;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Parse a client supplied value, rejecting unknown names
+     */
+    public static ComplaintStatus from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid status: " + value);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class ComplaintStatusConverter extends CodedEnumConverter<ComplaintStatus> {
+    public ComplaintStatusConverter() {
+        super(ComplaintStatus.class);
+    }
+}
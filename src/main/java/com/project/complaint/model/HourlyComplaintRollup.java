@@ -0,0 +1,11 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "complaint_rollups_hourly")
+@NoArgsConstructor
+public class HourlyComplaintRollup extends ComplaintRollup {
+}
@@ -0,0 +1,23 @@
+package com.project.complaint.model;
+
+/**
+ * Why a user is being notified about a complaint
+ */
+public enum NotificationType implements CodedEnum {
+    ASSIGNED_TO_YOU(0),
+    COMPLAINT_ASSIGNED(1),
+    ESCALATED_TO_YOU(2),
+    ESCALATED_FROM_YOU(3),
+    COMPLAINT_RESOLVED(4);
+
+    private final short code;
+
+    NotificationType(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class NotificationTypeConverter extends CodedEnumConverter<NotificationType> {
+    public NotificationTypeConverter() {
+        super(NotificationType.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Check;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running rating totals for one officer. Rows are only changed through the
+ * delta updates in OfficerRatingSummaryRepository so concurrent ratings add up.
+ */
+@Entity
+@Table(name = "officer_rating_summaries")
+@Check(name = "chk_officer_rating_summaries_counts", constraints = "rating_count >= 0 AND satisfied_count >= 0 "
+        + "AND stars_1 >= 0 AND stars_2 >= 0 AND stars_3 >= 0 AND stars_4 >= 0 AND stars_5 >= 0")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfficerRatingSummary {
+
+    @Id
+    @Column(name = "officer_id")
+    private Long officerId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    @Column(name = "satisfied_count", nullable = false)
+    private long satisfiedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public long starCount(int stars) {
+        switch (stars) {
+            case 1: return stars1;
+            case 2: return stars2;
+            case 3: return stars3;
+            case 4: return stars4;
+            case 5: return stars5;
+            default: return 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting in the transactional outbox. Rows are written by
+ * NotificationOutbox in the transaction that caused them and claimed by
+ * NotificationDispatcher; the entity exists to describe the schema.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "available_at") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(name = "complaint_id", nullable = false)
+    private Long complaintId;
+
+    @Convert(converter = NotificationTypeConverter.class)
+    @Column(nullable = false, columnDefinition = "SMALLINT")
+    private NotificationType type;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Next attempt, pushed back after each failure
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // Set when the retries are used up
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,47 @@
+package com.project.complaint.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Complaint priority with its resolution window.
+ * HIGH: 48 hours, MEDIUM: 96 hours, LOW: 168 hours
+ *
+ * Codes grow with urgency so that ORDER BY priority DESC puts HIGH first.
+ */
+public enum Priority implements CodedEnum {
+    LOW(1, 168),
+    MEDIUM(2, 96),
+    HIGH(3, 48);
+
+    private final short code;
+    private final int deadlineHours;
+
+    Priority(int code, int deadlineHours) {
+        this.code = (short) code;
+        this.deadlineHours = deadlineHours;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+
+    public int getDeadlineHours() {
+        return deadlineHours;
+    }
+
+    public LocalDateTime deadlineFrom(LocalDateTime start) {
+        return start.plusHours(deadlineHours);
+    }
+
+    /**
+     * Parse a client supplied value, rejecting unknown names
+     */
+    public static Priority from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid priority: " + value);
+        }
+    }
+}
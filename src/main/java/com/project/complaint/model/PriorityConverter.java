@@ -0,0 +1,10 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class PriorityConverter extends CodedEnumConverter<Priority> {
+    public PriorityConverter() {
+        super(Priority.class);
+    }
+}
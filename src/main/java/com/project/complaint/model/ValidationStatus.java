@@ -0,0 +1,18 @@
+package com.project.complaint.model;
+
+public enum ValidationStatus implements CodedEnum {
+    PENDING_VALIDATION(0),
+    VALIDATED(1),
+    REJECTED_BY_ADMIN(2);
+
+    private final short code;
+
+    ValidationStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+}
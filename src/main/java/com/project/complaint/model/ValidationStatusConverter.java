@@ -0,0 +1,10 @@
+package com.project.complaint.model;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class ValidationStatusConverter extends CodedEnumConverter<ValidationStatus> {
+    public ValidationStatusConverter() {
+        super(ValidationStatus.class);
+    }
+}
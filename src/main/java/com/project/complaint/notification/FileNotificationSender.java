@@ -0,0 +1,37 @@
+package com.project.complaint.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stand-in sender that appends each notification as a JSON line to a local
+ * file, for measuring dispatch throughput without a mail server
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "file")
+public class FileNotificationSender implements NotificationSender {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileNotificationSender(ObjectMapper objectMapper,
+            @Value("${notifications.file:notifications.jsonl}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public synchronized void send(Notification notification) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(notification) + "\n").getBytes(StandardCharsets.UTF_8);
+        Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.complaint.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in sender that writes each notification to the log
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogNotificationSender implements NotificationSender {
+
+    @Override
+    public void send(Notification notification) {
+        log.info("Notify {} <{}>: {} update(s)", notification.recipientName(), notification.recipientEmail(),
+                notification.items().size());
+        for (Notification.Item item : notification.items()) {
+            log.info("  complaint {} {}: {}", item.complaintId(), item.type(), item.message());
+        }
+    }
+}
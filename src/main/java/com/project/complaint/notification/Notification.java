@@ -0,0 +1,14 @@
+package com.project.complaint.notification;
+
+import com.project.complaint.model.NotificationType;
+
+import java.util.List;
+
+/**
+ * Everything due for one recipient in a dispatch, sent as a single message
+ */
+public record Notification(Long recipientId, String recipientEmail, String recipientName, List<Item> items) {
+
+    public record Item(long outboxId, Long complaintId, NotificationType type, String message) {
+    }
+}
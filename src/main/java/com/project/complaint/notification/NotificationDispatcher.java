@@ -0,0 +1,233 @@
+package com.project.complaint.notification;
+
+import com.project.complaint.model.NotificationTypeConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends what the outbox holds. A pool of workers each claim a batch of due
+ * rows with FOR UPDATE SKIP LOCKED, so they never wait on or double-send each
+ * other's rows, coalesce the batch into one message per recipient, and hand
+ * those to the NotificationSender.
+ *
+ * Sent rows are marked in the same transaction as the claim. A failed send
+ * pushes its rows back with exponential backoff until max-attempts, after
+ * which they are marked failed. Delivery is at least once: a crash between
+ * sending and committing sends that batch again.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final NotificationTypeConverter TYPES = new NotificationTypeConverter();
+
+    private static final String CLAIM = "SELECT o.id, o.recipient_id, o.complaint_id, o.type, o.message, o.attempts, "
+            + "u.email, u.name FROM notification_outbox o JOIN users u ON u.id = o.recipient_id "
+            + "WHERE o.sent_at IS NULL AND o.failed_at IS NULL AND o.available_at <= ? "
+            + "ORDER BY o.available_at, o.id LIMIT ? FOR UPDATE OF o SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationSender sender;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int threads;
+    private final int batchSize;
+    private final long pollMillis;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final long maxBackoffSeconds;
+    private final int retentionDays;
+
+    private final ExecutorService workers;
+
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NotificationSender sender,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.enabled:true}") boolean enabled,
+            @Value("${notifications.dispatcher-threads:2}") int threads,
+            @Value("${notifications.batch-size:200}") int batchSize,
+            @Value("${notifications.poll-interval-ms:1000}") long pollMillis,
+            @Value("${notifications.max-attempts:8}") int maxAttempts,
+            @Value("${notifications.backoff-seconds:30}") long backoffSeconds,
+            @Value("${notifications.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${notifications.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sender = sender;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.retentionDays = retentionDays;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(threads, 1), r -> {
+            Thread thread = new Thread(r, "notification-dispatcher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Notification dispatch is disabled; notifications stay in the outbox");
+            return;
+        }
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            int claimed;
+            try {
+                claimed = dispatchBatch();
+            } catch (Exception e) {
+                log.warn("Notification dispatch failed", e);
+                claimed = 0;
+            }
+            if (claimed < batchSize) {
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim, send and mark one batch. Returns the number of rows claimed.
+     */
+    public int dispatchBatch() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, Notification> byRecipient = new LinkedHashMap<>();
+            Map<Long, Integer> attempts = new LinkedHashMap<>();
+            jdbcTemplate.query(CLAIM, rs -> {
+                long id = rs.getLong("id");
+                long recipientId = rs.getLong("recipient_id");
+                String email = rs.getString("email");
+                String name = rs.getString("name");
+                attempts.put(id, rs.getInt("attempts"));
+                byRecipient.computeIfAbsent(recipientId, r -> new Notification(r, email, name, new ArrayList<>()))
+                        .items().add(new Notification.Item(id, rs.getLong("complaint_id"),
+                                TYPES.convertToEntityAttribute(rs.getShort("type")), rs.getString("message")));
+            }, Timestamp.valueOf(now), batchSize);
+
+            List<Long> sent = new ArrayList<>();
+            for (Notification notification : byRecipient.values()) {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "sent";
+                try {
+                    sender.send(notification);
+                    notification.items().forEach(item -> sent.add(item.outboxId()));
+                } catch (Exception e) {
+                    outcome = "failed";
+                    retryLater(notification, attempts, now, e);
+                } finally {
+                    sample.stop(Timer.builder("civicpulse.notifications.send")
+                            .description("Coalesced notification deliveries")
+                            .tag("outcome", outcome)
+                            .register(meterRegistry));
+                }
+            }
+            markSent(sent, now);
+            meterRegistry.counter("civicpulse.notifications.delivered").increment(sent.size());
+            return attempts.size();
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    private void markSent(List<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE notification_outbox SET sent_at = ?, attempts = attempts + 1 WHERE id = ANY (?)",
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(now));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                });
+    }
+
+    private void retryLater(Notification notification, Map<Long, Integer> attempts, LocalDateTime now, Exception error) {
+        String message = String.valueOf(error.getMessage());
+        String lastError = message.length() <= 1000 ? message : message.substring(0, 1000);
+        List<Object[]> updates = new ArrayList<>();
+        int failed = 0;
+        for (Notification.Item item : notification.items()) {
+            int tries = attempts.get(item.outboxId()) + 1;
+            boolean exhausted = tries >= maxAttempts;
+            failed += exhausted ? 1 : 0;
+            updates.add(new Object[] { tries, Timestamp.valueOf(now.plusSeconds(backoff(tries))), lastError,
+                    exhausted ? Timestamp.valueOf(now) : null, item.outboxId() });
+        }
+        jdbcTemplate.batchUpdate("UPDATE notification_outbox SET attempts = ?, available_at = ?, last_error = ?, "
+                + "failed_at = ? WHERE id = ?", updates);
+        meterRegistry.counter("civicpulse.notifications.retried").increment(updates.size() - failed);
+        meterRegistry.counter("civicpulse.notifications.failed").increment(failed);
+        log.warn("Could not notify user {} about {} complaint(s): {}", notification.recipientId(),
+                notification.items().size(), message);
+    }
+
+    // 30s, 60s, 120s, ... up to the cap
+    private long backoff(int attempts) {
+        long seconds = backoffSeconds << Math.min(attempts - 1, 20);
+        return Math.min(seconds, maxBackoffSeconds);
+    }
+
+    @Scheduled(cron = "${notifications.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        int purged = jdbcTemplate.update("DELETE FROM notification_outbox WHERE sent_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+        if (purged > 0) {
+            log.info("Purged {} sent notifications", purged);
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>(jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) FILTER (WHERE sent_at IS NULL AND failed_at IS NULL) AS pending, "
+                        + "COUNT(*) FILTER (WHERE sent_at IS NOT NULL) AS sent, "
+                        + "COUNT(*) FILTER (WHERE failed_at IS NOT NULL) AS failed, "
+                        + "MIN(available_at) FILTER (WHERE sent_at IS NULL AND failed_at IS NULL) AS next_due "
+                        + "FROM notification_outbox"));
+        status.put("enabled", enabled);
+        status.put("dispatcherThreads", threads);
+        status.put("sender", sender.getClass().getSimpleName());
+        return status;
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.complaint.notification;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Writes notifications into the outbox table within the caller's
+ * transaction, so they exist exactly when the change that caused them
+ * commits. NotificationDispatcher sends them later, off the request path.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private static final int MAX_MESSAGE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void enqueue(Long recipientId, Complaint complaint, NotificationType type, String message) {
+        if (recipientId == null) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO notification_outbox "
+                + "(recipient_id, complaint_id, type, message, created_at, available_at, attempts) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)",
+                recipientId, complaint.getId(), type.getCode(),
+                message.length() <= MAX_MESSAGE ? message : message.substring(0, MAX_MESSAGE), now, now);
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.complaint.notification;
+
+/**
+ * Delivers notifications. Selected by notifications.sender; an exception
+ * leaves the notification in the outbox to be retried.
+ */
+public interface NotificationSender {
+
+    void send(Notification notification) throws Exception;
+}
@@ -1,6 +1,7 @@
 package com.project.complaint.repository;
 
 import com.project.complaint.model.ComplaintEscalation;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,7 +12,9 @@ public interface ComplaintEscalationRepository extends JpaRepository<ComplaintEs
 
     List<ComplaintEscalation> findByComplaintId(Long complaintId);
 
+    @EntityGraph(ComplaintEscalation.WITH_DETAILS)
     List<ComplaintEscalation> findByComplaintIdOrderByEscalatedAtDesc(Long complaintId);
 
+    @EntityGraph(ComplaintEscalation.WITH_DETAILS)
     List<ComplaintEscalation> findByResolvedFalse();
 }
@@ -1,41 +1,110 @@
 package com.project.complaint.repository;
 
+import com.project.complaint.leaderboard.OfficerPerformance;
 import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.search.SearchDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+public interface ComplaintRepository extends JpaRepository<Complaint, Long>, JpaSpecificationExecutor<Complaint> {
+
+    // Leaderboard totals; status 2 is RESOLVED and SLA is judged as in countSlaMet
+    String OFFICER_PERFORMANCE_SELECT = "SELECT officer_id AS officerId, "
+            + "COUNT(*) FILTER (WHERE status = 2) AS resolved, "
+            + "COUNT(*) FILTER (WHERE status = 2 AND resolved_at <= deadline) AS slaMet, "
+            + "COUNT(*) FILTER (WHERE status = 2 AND resolved_at > deadline) AS slaViolated, "
+            + "COUNT(rating) AS ratingCount, COALESCE(SUM(rating), 0) AS ratingSum, "
+            + "AVG(EXTRACT(EPOCH FROM (resolved_at - created_at))) FILTER (WHERE status = 2) AS averageResolutionSeconds "
+            + "FROM complaints ";
+
+    // Single complaint loads are returned to clients, so bring the users along in one join
+    @Override
+    @EntityGraph(Complaint.WITH_USERS)
+    Optional<Complaint> findById(Long id);
+
+    @Override
+    @EntityGraph(Complaint.WITH_USERS)
+    List<Complaint> findAllById(Iterable<Long> ids);
+
     List<Complaint> findByCitizenId(Long citizenId);
 
     List<Complaint> findByAssignedOfficerId(Long officerId);
 
-    List<Complaint> findByStatus(String status);
+    List<Complaint> findByStatus(ComplaintStatus status);
 
+    @EntityGraph(Complaint.WITH_USERS)
     List<Complaint> findByDepartmentAndLocationAddress(String department, String locationAddress);
 
-    // Count active complaints for an officer (excluding RESOLVED and REJECTED)
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.assignedOfficer.id = :officerId AND c.status NOT IN ('RESOLVED', 'REJECTED')")
+    @EntityGraph(Complaint.WITH_USERS)
+    List<Complaint> findByDepartmentAndLocationAddressAndArchivedFalse(String department, String locationAddress);
+
+    // Operational queries name archived = false so the planner skips complaints_archive
+
+    // Count active complaints for an officer (PENDING or IN_PROGRESS)
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.assignedOfficer.id = :officerId AND c.archived = false AND c.status IN (com.project.complaint.model.ComplaintStatus.PENDING, com.project.complaint.model.ComplaintStatus.IN_PROGRESS)")
     Long countActiveComplaintsByOfficer(@Param("officerId") Long officerId);
 
-    // Find overdue complaints that haven't been escalated yet
-    @Query("SELECT c FROM Complaint c WHERE c.deadline < :currentTime AND c.status NOT IN ('RESOLVED', 'REJECTED') AND (c.escalated = false OR c.escalated IS NULL)")
-    List<Complaint> findOverdueComplaints(@Param("currentTime") LocalDateTime currentTime);
+    // Active complaint counts for every officer that has any, in one grouped query
+    @Query("SELECT c.assignedOfficer.id, COUNT(c) FROM Complaint c WHERE c.assignedOfficer IS NOT NULL AND c.archived = false AND c.status IN (com.project.complaint.model.ComplaintStatus.PENDING, com.project.complaint.model.ComplaintStatus.IN_PROGRESS) GROUP BY c.assignedOfficer.id")
+    List<Object[]> countActiveComplaintsPerOfficer();
+
+    // Find open complaints past their deadline that can still climb the escalation chain. Complaints
+    // escalated before tiers existed kept level 0 and count as already at the top.
+    @Query("SELECT c FROM Complaint c WHERE c.deadline < :dueBefore AND c.archived = false AND c.status IN (com.project.complaint.model.ComplaintStatus.PENDING, com.project.complaint.model.ComplaintStatus.IN_PROGRESS) AND c.escalationLevel < :topLevel AND (c.escalated = false OR c.escalated IS NULL OR c.escalationLevel > 0)")
+    List<Complaint> findComplaintsDueForEscalation(@Param("dueBefore") LocalDateTime dueBefore,
+            @Param("topLevel") int topLevel);
+
+    // Work queue: the most urgent unassigned, or lease-expired, pending complaint of a department, locked
+    // for the caller; rows other officers are claiming are skipped. Status 0 is PENDING.
+    @Query(value = "SELECT id FROM complaints WHERE archived = FALSE AND status = 0 AND department = :department "
+            + "AND (CAST(:zone AS VARCHAR) IS NULL OR zone = :zone OR zone IS NULL) "
+            + "AND (officer_id IS NULL OR lease_expires_at < :now) "
+            + "ORDER BY priority DESC NULLS LAST, created_at, id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> lockNextClaimable(@Param("department") String department, @Param("zone") String zone,
+            @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id FROM complaints WHERE archived = FALSE AND status = 0 AND lease_expires_at < :now "
+            + "ORDER BY lease_expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockExpiredLeases(@Param("now") LocalDateTime now, @Param("limit") int limit);
 
     // Find all complaints sorted by creation date (most recent first)
+    @EntityGraph(Complaint.WITH_USERS)
     List<Complaint> findAllByOrderByCreatedAtDesc();
 
+    @EntityGraph(Complaint.WITH_USERS)
+    List<Complaint> findByArchivedFalseOrderByCreatedAtDesc();
+
     // Find complaints by citizen sorted by creation date
+    @EntityGraph(Complaint.WITH_USERS)
     List<Complaint> findByCitizenIdOrderByCreatedAtDesc(Long citizenId);
 
+    @EntityGraph(Complaint.WITH_USERS)
+    List<Complaint> findByCitizenIdAndArchivedFalseOrderByCreatedAtDesc(Long citizenId);
+
     // Find complaints by officer sorted by creation date
+    @EntityGraph(Complaint.WITH_USERS)
     List<Complaint> findByAssignedOfficerIdOrderByCreatedAtDesc(Long officerId);
 
+    @EntityGraph(Complaint.WITH_USERS)
+    List<Complaint> findByAssignedOfficerIdAndArchivedFalseOrderByCreatedAtDesc(Long officerId);
+
+    // Most recently rated complaints for an officer, newest rating first
+    @Query("SELECT c FROM Complaint c WHERE c.assignedOfficer.id = :officerId AND c.rating IS NOT NULL ORDER BY c.ratedAt DESC, c.id DESC")
+    List<Complaint> findRecentlyRatedByOfficer(@Param("officerId") Long officerId, Pageable pageable);
+
+    boolean existsByRatingIsNotNull();
+
     // Analytics Queries
     @Query("SELECT c.department, COUNT(c) FROM Complaint c GROUP BY c.department")
     List<Object[]> countByDepartment();
@@ -43,10 +112,10 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     @Query("SELECT c.zone, COUNT(c) FROM Complaint c WHERE c.zone IS NOT NULL GROUP BY c.zone")
     List<Object[]> countByZone();
 
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = 'RESOLVED' AND c.resolvedAt <= c.deadline")
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = com.project.complaint.model.ComplaintStatus.RESOLVED AND c.resolvedAt <= c.deadline")
     Long countSlaMet();
 
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = 'RESOLVED' AND c.resolvedAt > c.deadline")
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = com.project.complaint.model.ComplaintStatus.RESOLVED AND c.resolvedAt > c.deadline")
     Long countSlaViolated();
 
     @Query("SELECT c.zone, c.locationAddress, COUNT(c) FROM Complaint c GROUP BY c.zone, c.locationAddress HAVING COUNT(c) > 1 ORDER BY COUNT(c) DESC")
@@ -56,13 +125,25 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     @Query("SELECT c.department, COUNT(c) FROM Complaint c WHERE c.zone = :zone GROUP BY c.department")
     List<Object[]> countByDepartmentInZone(@Param("zone") String zone);
 
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.zone = :zone AND c.status = 'RESOLVED' AND c.resolvedAt <= c.deadline")
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.zone = :zone AND c.status = com.project.complaint.model.ComplaintStatus.RESOLVED AND c.resolvedAt <= c.deadline")
     Long countSlaMetInZone(@Param("zone") String zone);
 
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.zone = :zone AND c.status = 'RESOLVED' AND c.resolvedAt > c.deadline")
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.zone = :zone AND c.status = com.project.complaint.model.ComplaintStatus.RESOLVED AND c.resolvedAt > c.deadline")
     Long countSlaViolatedInZone(@Param("zone") String zone);
 
-    Long countByZoneAndStatus(String zone, String status);
+    Long countByZoneAndStatus(String zone, ComplaintStatus status);
 
     Long countByZone(String zone);
+
+    @Query(value = OFFICER_PERFORMANCE_SELECT + "WHERE officer_id = :officerId GROUP BY officer_id", nativeQuery = true)
+    Optional<OfficerPerformance> findOfficerPerformance(@Param("officerId") Long officerId);
+
+    @Query(value = OFFICER_PERFORMANCE_SELECT + "WHERE officer_id IS NOT NULL GROUP BY officer_id", nativeQuery = true)
+    List<OfficerPerformance> findAllOfficerPerformance();
+
+    // Search index rebuild: keyset pages of the indexed columns only
+    @Query("SELECT c.id AS id, c.description AS description, c.locationAddress AS locationAddress, "
+            + "c.department AS department, c.zone AS zone, c.status AS status, c.priority AS priority "
+            + "FROM Complaint c WHERE c.id > :afterId ORDER BY c.id")
+    List<SearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,127 @@
+package com.project.complaint.repository;
+
+import com.project.complaint.dto.ComplaintFilterDto;
+import com.project.complaint.model.Complaint;
+import jakarta.persistence.criteria.Predicate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Criteria building blocks for the composable complaint query. Results are
+ * ordered newest first and paged by keyset on (createdAt, id), which the
+ * indexes in V3__Add_Complaint_Query_Indexes.sql serve directly.
+ */
+public final class ComplaintSpecifications {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private ComplaintSpecifications() {
+    }
+
+    /**
+     * Restrict to active complaints; see ComplaintArchiver
+     */
+    public static Specification<Complaint> notArchived() {
+        return (root, query, cb) -> cb.isFalse(root.get("archived"));
+    }
+
+    public static Specification<Complaint> matching(ComplaintFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(root.get("status").in(filter.getStatus()));
+            }
+            if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+                predicates.add(root.get("priority").in(filter.getPriority()));
+            }
+            if (filter.getDepartment() != null) {
+                predicates.add(cb.equal(root.get("department"), filter.getDepartment()));
+            }
+            if (filter.getZone() != null) {
+                predicates.add(cb.equal(root.get("zone"), filter.getZone()));
+            }
+            if (filter.getEscalated() != null) {
+                predicates.add(filter.getEscalated()
+                        ? cb.isTrue(root.get("escalated"))
+                        : cb.or(cb.isFalse(root.get("escalated")), cb.isNull(root.get("escalated"))));
+            }
+            if (filter.getValidationStatus() != null) {
+                predicates.add(cb.equal(root.get("validationStatus"), filter.getValidationStatus()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            if (filter.getDeadlineFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("deadline"), filter.getDeadlineFrom()));
+            }
+            if (filter.getDeadlineTo() != null) {
+                predicates.add(cb.lessThan(root.get("deadline"), filter.getDeadlineTo()));
+            }
+            if (filter.getMinLatitude() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("latitude"), filter.getMinLatitude()));
+            }
+            if (filter.getMaxLatitude() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("latitude"), filter.getMaxLatitude()));
+            }
+            if (filter.getMinLongitude() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("longitude"), filter.getMinLongitude()));
+            }
+            if (filter.getMaxLongitude() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("longitude"), filter.getMaxLongitude()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rows strictly after the cursor position in NEWEST_FIRST order
+     */
+    public static Specification<Complaint> after(Cursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    /**
+     * Opaque keyset position: the (createdAt, id) of the last row returned
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private final LocalDateTime createdAt;
+        private final Long id;
+
+        public static Cursor of(Complaint last) {
+            return new Cursor(last.getCreatedAt(), last.getId());
+        }
+
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        public String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.complaint.repository;
+
+import com.project.complaint.model.OfficerRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OfficerRatingSummaryRepository extends JpaRepository<OfficerRatingSummary, Long> {
+
+    // The officer's totals found by their login, without loading the user first
+    @Query("SELECT s FROM OfficerRatingSummary s JOIN User u ON u.id = s.officerId WHERE u.email = :email")
+    Optional<OfficerRatingSummary> findByOfficerEmail(@Param("email") String email);
+
+    // Create an officer's row at zero on first use. Deltas are applied by a separate UPDATE: an
+    // INSERT ... ON CONFLICT DO UPDATE would check the count constraints against negative VALUES first.
+    @Modifying
+    @Query(value = "INSERT INTO officer_rating_summaries (officer_id, rating_count, rating_sum, "
+            + "stars_1, stars_2, stars_3, stars_4, stars_5, satisfied_count, updated_at) "
+            + "VALUES (:officerId, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (officer_id) DO NOTHING", nativeQuery = true)
+    int ensureSummary(@Param("officerId") Long officerId);
+
+    // Add signed deltas to an officer's totals; the row must exist (see ensureSummary)
+    @Modifying
+    @Query(value = "UPDATE officer_rating_summaries SET "
+            + "rating_count = rating_count + :count, "
+            + "rating_sum = rating_sum + :sum, "
+            + "stars_1 = stars_1 + :s1, "
+            + "stars_2 = stars_2 + :s2, "
+            + "stars_3 = stars_3 + :s3, "
+            + "stars_4 = stars_4 + :s4, "
+            + "stars_5 = stars_5 + :s5, "
+            + "satisfied_count = satisfied_count + :satisfied, "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE officer_id = :officerId", nativeQuery = true)
+    int applyDelta(@Param("officerId") Long officerId, @Param("count") long count, @Param("sum") long sum,
+            @Param("s1") long s1, @Param("s2") long s2, @Param("s3") long s3, @Param("s4") long s4,
+            @Param("s5") long s5, @Param("satisfied") long satisfied);
+
+    // Held by a rebuild so in-flight deltas wait for it instead of being lost
+    @Modifying
+    @Query(value = "LOCK TABLE officer_rating_summaries IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM officer_rating_summaries", nativeQuery = true)
+    int deleteAllSummaries();
+
+    @Modifying
+    @Query(value = "INSERT INTO officer_rating_summaries (officer_id, rating_count, rating_sum, "
+            + "stars_1, stars_2, stars_3, stars_4, stars_5, satisfied_count, updated_at) "
+            + "SELECT officer_id, COUNT(*), SUM(rating), "
+            + "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), SUM(CASE WHEN satisfied THEN 1 ELSE 0 END), "
+            + "CURRENT_TIMESTAMP "
+            + "FROM complaints WHERE rating IS NOT NULL AND officer_id IS NOT NULL GROUP BY officer_id", nativeQuery = true)
+    int insertSummariesFromComplaints();
+}
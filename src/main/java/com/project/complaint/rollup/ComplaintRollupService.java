@@ -0,0 +1,292 @@
+package com.project.complaint.rollup;
+
+import com.project.complaint.model.Complaint;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Hourly and daily complaint counts per zone × department, for trend charts.
+ *
+ * Write paths hand in before/after RollupFacts; the signed difference is
+ * buffered in memory after commit and flushed as batched upserts on a fixed
+ * delay (write-behind). A chunked backfill recomputes days from the complaints
+ * table, on startup when the tables are empty or on demand to repair them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintRollupService {
+
+    private static final int MAX_BUCKETS = 5000;
+    private static final int BACKFILL_DAYS_PER_CHUNK = 7;
+
+    private final RollupStore store;
+
+    private final Object bufferLock = new Object();
+    // Serializes flushes with backfill chunks so a buffered delta is applied exactly once
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "complaint-rollup-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by bufferLock
+    private Map<RollupBucket, long[]> pending = new HashMap<>();
+
+    private volatile Map<String, Object> backfillStatus = Map.of("running", false);
+
+    /**
+     * Buffer the change in this complaint's counts once the transaction commits
+     */
+    public void record(RollupFacts before, Complaint complaint) {
+        Map<RollupBucket, long[]> deltas = new HashMap<>();
+        before.addTo(deltas, -1);
+        RollupFacts.of(complaint).addTo(deltas, 1);
+        deltas.values().removeIf(ComplaintRollupService::isZero);
+        if (!deltas.isEmpty()) {
+            afterCommit(() -> merge(deltas));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rollups.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<RollupBucket, long[]> hourly = drain();
+            if (hourly.isEmpty()) {
+                return;
+            }
+            try {
+                store.applyDeltas(hourly, toDaily(hourly));
+            } catch (Exception e) {
+                log.warn("Rollup flush failed, keeping {} buckets for the next attempt", hourly.size(), e);
+                merge(hourly);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (store.isEmpty() && store.firstComplaintDay() != null) {
+                backfillAsync(null, null);
+            }
+        } catch (Exception e) {
+            log.warn("Could not check complaint rollups on startup", e);
+        }
+    }
+
+    /**
+     * Start recomputing [from, to) in weekly chunks; null bounds mean the first
+     * complaint's day and tomorrow. Returns false when a backfill is running.
+     */
+    public boolean backfillAsync(LocalDate from, LocalDate to) {
+        if (!backfilling.compareAndSet(false, true)) {
+            return false;
+        }
+        backfillStatus = Map.of("running", true);
+        backfillExecutor.execute(() -> backfill(from, to));
+        return true;
+    }
+
+    public Map<String, Object> getBackfillStatus() {
+        return backfillStatus;
+    }
+
+    /**
+     * Bucketed counts for [from, to), including changes not yet flushed.
+     *
+     * @param daily day buckets when true, hour buckets otherwise
+     */
+    public Map<String, Object> trends(boolean daily, LocalDateTime from, LocalDateTime to,
+            String zone, String department) {
+        ChronoUnit unit = daily ? ChronoUnit.DAYS : ChronoUnit.HOURS;
+        LocalDateTime start = from.truncatedTo(unit);
+        if (!to.isAfter(start)) {
+            throw new RuntimeException("'to' must be after 'from'");
+        }
+        if (unit.between(start, to) > MAX_BUCKETS) {
+            throw new RuntimeException("Range too large: at most " + MAX_BUCKETS + " buckets per request");
+        }
+
+        // Zero-filled series, so charts get a point for every bucket
+        Map<LocalDateTime, long[]> series = new TreeMap<>();
+        for (LocalDateTime t = start; t.isBefore(to); t = t.plus(1, unit)) {
+            series.put(t, new long[RollupFacts.METRICS]);
+        }
+
+        for (Map<String, Object> row : store.series(daily ? RollupStore.DAILY : RollupStore.HOURLY,
+                start, to, zone, department)) {
+            long[] counts = series.get(((Timestamp) row.get("bucket_start")).toLocalDateTime());
+            if (counts != null) {
+                counts[RollupFacts.FILED] += ((Number) row.get("filed")).longValue();
+                counts[RollupFacts.RESOLVED] += ((Number) row.get("resolved")).longValue();
+                counts[RollupFacts.SLA_MET] += ((Number) row.get("sla_met")).longValue();
+                counts[RollupFacts.SLA_VIOLATED] += ((Number) row.get("sla_violated")).longValue();
+                counts[RollupFacts.ESCALATED] += ((Number) row.get("escalated")).longValue();
+                counts[RollupFacts.REOPENED] += ((Number) row.get("reopened")).longValue();
+            }
+        }
+
+        synchronized (bufferLock) {
+            pending.forEach((bucket, d) -> {
+                if ((zone == null || zone.equals(bucket.getZone()))
+                        && (department == null || department.equals(bucket.getDepartment()))) {
+                    long[] counts = series.get(bucket.getStart().truncatedTo(unit));
+                    if (counts != null) {
+                        add(counts, d);
+                    }
+                }
+            });
+        }
+
+        long[] totals = new long[RollupFacts.METRICS];
+        List<Map<String, Object>> buckets = new ArrayList<>(series.size());
+        series.forEach((bucketStart, counts) -> {
+            Map<String, Object> point = counts(counts);
+            point.put("bucketStart", bucketStart);
+            buckets.add(point);
+            add(totals, counts);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("granularity", daily ? "day" : "hour");
+        result.put("from", start);
+        result.put("to", to);
+        result.put("zone", zone);
+        result.put("department", department);
+        result.put("totals", counts(totals));
+        result.put("buckets", buckets);
+        return result;
+    }
+
+    private void backfill(LocalDate from, LocalDate to) {
+        LocalDate first = from != null ? from : store.firstComplaintDay();
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        int totalDays = first == null ? 0 : (int) Math.max(0, ChronoUnit.DAYS.between(first, end));
+        int done = 0;
+        int rows = 0;
+        try {
+            for (LocalDate day = first; day != null && day.isBefore(end); day = day.plusDays(BACKFILL_DAYS_PER_CHUNK)) {
+                LocalDate chunkEnd = day.plusDays(BACKFILL_DAYS_PER_CHUNK).isBefore(end)
+                        ? day.plusDays(BACKFILL_DAYS_PER_CHUNK) : end;
+                rows += rebuildChunk(day, chunkEnd);
+                done += (int) ChronoUnit.DAYS.between(day, chunkEnd);
+                backfillStatus = status(true, done, totalDays, rows, null);
+            }
+            backfillStatus = status(false, done, totalDays, rows, null);
+            log.info("Complaint rollup backfill finished: {} days, {} hourly rows", done, rows);
+        } catch (Exception e) {
+            backfillStatus = status(false, done, totalDays, rows, e.getMessage());
+            log.error("Complaint rollup backfill failed after {} days", done, e);
+        } finally {
+            backfilling.set(false);
+        }
+    }
+
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        flushLock.lock();
+        try {
+            Map<RollupBucket, long[]> hourly = drain();
+            try {
+                return store.rebuildDays(from, to, hourly, toDaily(hourly));
+            } catch (RuntimeException e) {
+                merge(hourly);
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<RollupBucket, long[]> drain() {
+        synchronized (bufferLock) {
+            Map<RollupBucket, long[]> drained = pending;
+            pending = new HashMap<>();
+            return drained;
+        }
+    }
+
+    private void merge(Map<RollupBucket, long[]> deltas) {
+        synchronized (bufferLock) {
+            deltas.forEach((bucket, d) -> add(pending.computeIfAbsent(bucket, b -> new long[RollupFacts.METRICS]), d));
+        }
+    }
+
+    private static Map<RollupBucket, long[]> toDaily(Map<RollupBucket, long[]> hourly) {
+        Map<RollupBucket, long[]> daily = new HashMap<>();
+        hourly.forEach((bucket, d) -> add(daily.computeIfAbsent(
+                new RollupBucket(bucket.getStart().truncatedTo(ChronoUnit.DAYS), bucket.getZone(), bucket.getDepartment()),
+                b -> new long[RollupFacts.METRICS]), d));
+        return daily;
+    }
+
+    private static void add(long[] target, long[] delta) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += delta[i];
+        }
+    }
+
+    private static boolean isZero(long[] delta) {
+        for (long d : delta) {
+            if (d != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Object> counts(long[] c) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("filed", c[RollupFacts.FILED]);
+        m.put("resolved", c[RollupFacts.RESOLVED]);
+        m.put("slaMet", c[RollupFacts.SLA_MET]);
+        m.put("slaViolated", c[RollupFacts.SLA_VIOLATED]);
+        m.put("escalated", c[RollupFacts.ESCALATED]);
+        m.put("reopened", c[RollupFacts.REOPENED]);
+        return m;
+    }
+
+    private static Map<String, Object> status(boolean running, int processedDays, int totalDays, int hourlyRows,
+            String error) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running);
+        status.put("processedDays", processedDays);
+        status.put("totalDays", totalDays);
+        status.put("hourlyRows", hourlyRows);
+        status.put("error", error);
+        return status;
+    }
+}
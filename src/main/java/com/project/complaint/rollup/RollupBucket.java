@@ -0,0 +1,19 @@
+package com.project.complaint.rollup;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An hour (or day) for one zone × department, as buffered before a flush
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+class RollupBucket {
+    private final LocalDateTime start;
+    private final String zone;
+    private final String department;
+}
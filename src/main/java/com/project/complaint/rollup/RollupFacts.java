@@ -0,0 +1,86 @@
+package com.project.complaint.rollup;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * What one complaint currently contributes to the rollups. Counts are derived
+ * from the complaint's state, the same way the backfill derives them, so the
+ * live deltas and a rebuild always agree: a resolution is counted in the hour
+ * of resolvedAt while the complaint stays resolved, and so on.
+ */
+public final class RollupFacts {
+
+    static final int FILED = 0;
+    static final int RESOLVED = 1;
+    static final int SLA_MET = 2;
+    static final int SLA_VIOLATED = 3;
+    static final int ESCALATED = 4;
+    static final int REOPENED = 5;
+    static final int METRICS = 6;
+
+    public static final RollupFacts NONE = new RollupFacts(null, null, null, null, null, null, null);
+
+    private final String zone;
+    private final String department;
+    private final LocalDateTime filedAt;
+    private final LocalDateTime resolvedAt;
+    private final Boolean slaMet;
+    private final LocalDateTime escalatedAt;
+    private final LocalDateTime reopenedAt;
+
+    private RollupFacts(String zone, String department, LocalDateTime filedAt, LocalDateTime resolvedAt,
+            Boolean slaMet, LocalDateTime escalatedAt, LocalDateTime reopenedAt) {
+        this.zone = zone;
+        this.department = department;
+        this.filedAt = filedAt;
+        this.resolvedAt = resolvedAt;
+        this.slaMet = slaMet;
+        this.escalatedAt = escalatedAt;
+        this.reopenedAt = reopenedAt;
+    }
+
+    public static RollupFacts of(Complaint complaint) {
+        boolean resolved = complaint.getStatus() == ComplaintStatus.RESOLVED && complaint.getResolvedAt() != null;
+        LocalDateTime resolvedAt = resolved ? complaint.getResolvedAt() : null;
+        Boolean slaMet = resolved && complaint.getDeadline() != null
+                ? !resolvedAt.isAfter(complaint.getDeadline())
+                : null;
+        return new RollupFacts(
+                complaint.getZone() != null ? complaint.getZone() : "",
+                complaint.getDepartment(),
+                complaint.getCreatedAt(),
+                resolvedAt,
+                slaMet,
+                Boolean.TRUE.equals(complaint.getEscalated()) ? complaint.getEscalatedAt() : null,
+                Boolean.TRUE.equals(complaint.getReopened()) ? complaint.getReopenedAt() : null);
+    }
+
+    /**
+     * Add this complaint's counts, times sign, to hourly buckets
+     */
+    void addTo(Map<RollupBucket, long[]> deltas, int sign) {
+        if (department == null) {
+            return;
+        }
+        add(deltas, filedAt, FILED, sign);
+        add(deltas, resolvedAt, RESOLVED, sign);
+        if (slaMet != null) {
+            add(deltas, resolvedAt, slaMet ? SLA_MET : SLA_VIOLATED, sign);
+        }
+        add(deltas, escalatedAt, ESCALATED, sign);
+        add(deltas, reopenedAt, REOPENED, sign);
+    }
+
+    private void add(Map<RollupBucket, long[]> deltas, LocalDateTime at, int metric, int sign) {
+        if (at == null) {
+            return;
+        }
+        RollupBucket bucket = new RollupBucket(at.truncatedTo(ChronoUnit.HOURS), zone, department);
+        deltas.computeIfAbsent(bucket, b -> new long[METRICS])[metric] += sign;
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.complaint.rollup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL for the hourly and daily rollup tables
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollupStore {
+
+    static final String HOURLY = "complaint_rollups_hourly";
+    static final String DAILY = "complaint_rollups_daily";
+
+    private static final String COLUMNS = "filed, resolved, sla_met, sla_violated, escalated, reopened";
+
+    // Each complaint event, timestamped, for one backfill window [?, ?)
+    private static final String EVENTS = "SELECT created_at AS at, zone, department, 1 AS filed, 0 AS resolved, "
+            + "0 AS sla_met, 0 AS sla_violated, 0 AS escalated, 0 AS reopened "
+            + "FROM complaints WHERE created_at >= ? AND created_at < ? "
+            + "UNION ALL SELECT resolved_at, zone, department, 0, 1, "
+            + "CASE WHEN resolved_at <= deadline THEN 1 ELSE 0 END, CASE WHEN resolved_at > deadline THEN 1 ELSE 0 END, 0, 0 "
+            + "FROM complaints WHERE status = 2 AND resolved_at >= ? AND resolved_at < ? "
+            + "UNION ALL SELECT escalated_at, zone, department, 0, 0, 0, 0, 1, 0 "
+            + "FROM complaints WHERE escalated = TRUE AND escalated_at >= ? AND escalated_at < ? "
+            + "UNION ALL SELECT reopened_at, zone, department, 0, 0, 0, 0, 0, 1 "
+            + "FROM complaints WHERE reopened = TRUE AND reopened_at >= ? AND reopened_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add signed hourly deltas, and the same deltas summed per day, in one
+     * transaction
+     */
+    @Transactional
+    public void applyDeltas(Map<RollupBucket, long[]> hourly, Map<RollupBucket, long[]> daily) {
+        upsert(HOURLY, hourly);
+        upsert(DAILY, daily);
+    }
+
+    /**
+     * Recompute one window of days from the complaints table. Rollup writers
+     * wait on the table lock, and the pending deltas handed in are applied
+     * first so nothing buffered before the recompute is counted twice.
+     */
+    @Transactional
+    public int rebuildDays(LocalDate fromDay, LocalDate toDay,
+            Map<RollupBucket, long[]> pendingHourly, Map<RollupBucket, long[]> pendingDaily) {
+        jdbcTemplate.execute("LOCK TABLE " + HOURLY + ", " + DAILY + " IN EXCLUSIVE MODE");
+        upsert(HOURLY, pendingHourly);
+        upsert(DAILY, pendingDaily);
+
+        Timestamp from = Timestamp.valueOf(fromDay.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(toDay.atStartOfDay());
+        jdbcTemplate.update("DELETE FROM " + HOURLY + " WHERE bucket_start >= ? AND bucket_start < ?", from, to);
+        jdbcTemplate.update("DELETE FROM " + DAILY + " WHERE bucket_start >= ? AND bucket_start < ?", from, to);
+
+        int rows = jdbcTemplate.update("INSERT INTO " + HOURLY + " (bucket_start, zone, department, " + COLUMNS + ") "
+                + "SELECT date_trunc('hour', at), COALESCE(zone, ''), department, SUM(filed), SUM(resolved), "
+                + "SUM(sla_met), SUM(sla_violated), SUM(escalated), SUM(reopened) "
+                + "FROM (" + EVENTS + ") events GROUP BY 1, 2, 3",
+                from, to, from, to, from, to, from, to);
+        jdbcTemplate.update("INSERT INTO " + DAILY + " (bucket_start, zone, department, " + COLUMNS + ") "
+                + "SELECT date_trunc('day', bucket_start), zone, department, SUM(filed), SUM(resolved), "
+                + "SUM(sla_met), SUM(sla_violated), SUM(escalated), SUM(reopened) "
+                + "FROM " + HOURLY + " WHERE bucket_start >= ? AND bucket_start < ? GROUP BY 1, 2, 3",
+                from, to);
+        return rows;
+    }
+
+    /**
+     * Per-bucket sums over [from, to), optionally for one zone and/or department
+     */
+    public List<Map<String, Object>> series(String table, LocalDateTime from, LocalDateTime to,
+            String zone, String department) {
+        StringBuilder sql = new StringBuilder("SELECT bucket_start, SUM(filed) AS filed, SUM(resolved) AS resolved, "
+                + "SUM(sla_met) AS sla_met, SUM(sla_violated) AS sla_violated, SUM(escalated) AS escalated, "
+                + "SUM(reopened) AS reopened FROM " + table + " WHERE bucket_start >= ? AND bucket_start < ?");
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (zone != null) {
+            sql.append(" AND zone = ?");
+            args.add(zone);
+        }
+        if (department != null) {
+            sql.append(" AND department = ?");
+            args.add(department);
+        }
+        sql.append(" GROUP BY bucket_start ORDER BY bucket_start");
+        return jdbcTemplate.queryForList(sql.toString(), args.toArray());
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DAILY + ")", Boolean.class));
+    }
+
+    public LocalDate firstComplaintDay() {
+        Timestamp first = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM complaints", Timestamp.class);
+        return first == null ? null : first.toLocalDateTime().toLocalDate();
+    }
+
+    private void upsert(String table, Map<RollupBucket, long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((bucket, d) -> batch.add(new Object[] {
+                Timestamp.valueOf(bucket.getStart()), bucket.getZone(), bucket.getDepartment(),
+                d[0], d[1], d[2], d[3], d[4], d[5] }));
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (bucket_start, zone, department, " + COLUMNS + ") "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON CONFLICT (bucket_start, zone, department) DO UPDATE SET "
+                + "filed = " + table + ".filed + EXCLUDED.filed, "
+                + "resolved = " + table + ".resolved + EXCLUDED.resolved, "
+                + "sla_met = " + table + ".sla_met + EXCLUDED.sla_met, "
+                + "sla_violated = " + table + ".sla_violated + EXCLUDED.sla_violated, "
+                + "escalated = " + table + ".escalated + EXCLUDED.escalated, "
+                + "reopened = " + table + ".reopened + EXCLUDED.reopened", batch);
+    }
+}
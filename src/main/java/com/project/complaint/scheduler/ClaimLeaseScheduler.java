@@ -0,0 +1,27 @@
+package com.project.complaint.scheduler;
+
+import com.project.complaint.service.ComplaintClaimService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimLeaseScheduler {
+
+    private final ComplaintClaimService claimService;
+
+    /**
+     * Return complaints whose claim lease ran out to the work queue, a batch per run
+     */
+    @Scheduled(fixedDelayString = "${work-queue.sweep-interval-ms:60000}")
+    public void releaseExpiredLeases() {
+        try {
+            claimService.releaseExpiredLeases();
+        } catch (Exception e) {
+            log.error("Error releasing expired complaint leases", e);
+        }
+    }
+}
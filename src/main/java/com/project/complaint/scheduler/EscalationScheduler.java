@@ -1,6 +1,8 @@
 package com.project.complaint.scheduler;
 
 import com.project.complaint.service.EscalationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,20 +14,28 @@ import org.springframework.stereotype.Component;
 public class EscalationScheduler {
 
     private final EscalationService escalationService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Run every hour to check for overdue complaints and escalate them
-     * Cron: 0 0 * * * * = At the start of every hour
+     * Cron: 0 0 * * * * = At the start of every hour (escalation.cron overrides it)
      */
-    @Scheduled(cron = "0 0 * * * *")
+    @Scheduled(cron = "${escalation.cron:0 0 * * * *}")
     public void checkOverdueComplaints() {
         log.info("Starting scheduled escalation check...");
+        Timer.Sample run = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
             escalationService.checkAndEscalateOverdueComplaints();
             log.info("Scheduled escalation check completed successfully");
         } catch (Exception e) {
+            outcome = "error";
             log.error("Error during scheduled escalation check", e);
         }
+        run.stop(Timer.builder("civicpulse.escalation.run")
+                .description("Scheduled overdue check, including the commit")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
     }
 
     /**
@@ -0,0 +1,442 @@
+package com.project.complaint.search;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.repository.ComplaintRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Embedded inverted index over complaint descriptions and addresses.
+ *
+ * Query terms are matched exactly and by prefix, ranked with BM25 and
+ * counted per department, zone, status and priority. The index is kept
+ * current from the complaint write paths and rebuilt from the database in the
+ * background on startup or on demand; writes that arrive during a rebuild are
+ * replayed onto the new segment before it is swapped in.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintSearchIndex {
+
+    public static final List<String> FACETS = List.of("department", "zone", "status", "priority");
+
+    private static final int REBUILD_PAGE_SIZE = 2000;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int COMPACTION_MIN_DEAD = 10_000;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "near", "of", "on", "or", "the", "this", "to", "was", "with");
+
+    private final ComplaintRepository complaintRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "complaint-search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock
+    private Segment segment = new Segment();
+    private List<Consumer<Segment>> pendingDuringRebuild;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * True once the first full build from the database has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add or replace a complaint once the current transaction commits
+     */
+    public void index(Complaint complaint) {
+        long id = complaint.getId();
+        String text = join(complaint.getDescription(), complaint.getLocationAddress());
+        String[] facets = {
+                complaint.getDepartment(), complaint.getZone(), name(complaint.getStatus()), name(complaint.getPriority()) };
+        afterCommit(() -> apply(s -> s.put(id, text, facets)));
+    }
+
+    public void remove(Long complaintId) {
+        afterCommit(() -> apply(s -> s.remove(complaintId)));
+    }
+
+    /**
+     * Start a background rebuild from the database. Returns false when one is
+     * already running.
+     */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(this::rebuild);
+        return true;
+    }
+
+    /**
+     * @param filters facet name to required value; absent facets are not filtered
+     */
+    public SearchResult search(String query, Map<String, String> filters, int limit) {
+        List<String> terms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, filters, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Segment> change) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            compact = segment.dead > COMPACTION_MIN_DEAD && segment.dead > segment.liveCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            rebuildAsync();
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Segment fresh = new Segment();
+            long afterId = 0;
+            List<SearchDocument> page;
+            do {
+                page = complaintRepository.findSearchDocuments(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (SearchDocument doc : page) {
+                    fresh.put(doc.getId(), join(doc.getDescription(), doc.getLocationAddress()),
+                            new String[] { doc.getDepartment(), doc.getZone(), name(doc.getStatus()), name(doc.getPriority()) });
+                    afterId = doc.getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild.forEach(change -> change.accept(fresh));
+                segment = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Search index rebuilt with {} complaints in {} ms", fresh.liveCount,
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Search index rebuild failed", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static String join(String description, String address) {
+        if (address == null) {
+            return description;
+        }
+        return description == null ? address : description + " " + address;
+    }
+
+    /**
+     * Lower-case alphanumeric runs of at least two characters, minus stop words
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= 2) {
+                    String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Documents are addressed by dense ordinals in insertion order. Replacing
+     * or removing a complaint only clears its live bit; the stale postings are
+     * dropped by the next rebuild.
+     */
+    private static final class Segment {
+
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<Map<String, Integer>> facetCodes = new ArrayList<>();
+        private final List<List<String>> facetValues = new ArrayList<>();
+        private final BitSet live = new BitSet();
+
+        private long[] ids = new long[1024];
+        private int[] lengths = new int[1024];
+        private int[] facets = new int[1024 * FACETS.size()];
+        private int size;
+        private int liveCount;
+        private int dead;
+        private long totalLength;
+
+        private Segment() {
+            for (int f = 0; f < FACETS.size(); f++) {
+                facetCodes.add(new HashMap<>());
+                facetValues.add(new ArrayList<>());
+            }
+        }
+
+        void put(long id, String text, String[] facetValuesOfDoc) {
+            remove(id);
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokenize(text)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+
+            int ord = size++;
+            if (ord == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+                facets = Arrays.copyOf(facets, facets.length * 2);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add(ord, entry.getValue());
+                length += entry.getValue();
+            }
+            ids[ord] = id;
+            lengths[ord] = length;
+            for (int f = 0; f < FACETS.size(); f++) {
+                facets[ord * FACETS.size() + f] = code(f, facetValuesOfDoc[f]);
+            }
+            ordinals.put(id, ord);
+            live.set(ord);
+            liveCount++;
+            totalLength += length;
+        }
+
+        void remove(long id) {
+            Integer ord = ordinals.remove(id);
+            if (ord != null) {
+                live.clear(ord);
+                liveCount--;
+                dead++;
+                totalLength -= lengths[ord];
+            }
+        }
+
+        private int code(int facet, String value) {
+            if (value == null) {
+                return -1;
+            }
+            return facetCodes.get(facet).computeIfAbsent(value, v -> {
+                facetValues.get(facet).add(v);
+                return facetValues.get(facet).size() - 1;
+            });
+        }
+
+        SearchResult search(List<String> terms, Map<String, String> filters, int limit) {
+            if (terms.isEmpty() || liveCount == 0) {
+                return new SearchResult(0, Collections.emptyList(), emptyFacets());
+            }
+
+            // Resolve filters to codes; an unknown value cannot match anything
+            int[] required = null;
+            for (int f = 0; f < FACETS.size(); f++) {
+                String value = filters.get(FACETS.get(f));
+                if (value != null) {
+                    if (required == null) {
+                        required = new int[FACETS.size()];
+                        Arrays.fill(required, Integer.MIN_VALUE);
+                    }
+                    Integer code = facetCodes.get(f).get(value);
+                    if (code == null) {
+                        return new SearchResult(0, Collections.emptyList(), emptyFacets());
+                    }
+                    required[f] = code;
+                }
+            }
+
+            // Only documents that match a term get a score, however many the segment holds
+            Map<Integer, Float> scores = new HashMap<>();
+            double avgLength = Math.max(1.0, (double) totalLength / liveCount);
+
+            for (String term : terms) {
+                SortedMap<String, Postings> expansions = postings.subMap(term, term + Character.MAX_VALUE);
+                int expanded = 0;
+                for (Map.Entry<String, Postings> entry : expansions.entrySet()) {
+                    if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    double weight = entry.getKey().equals(term) ? 1.0 : PREFIX_WEIGHT;
+                    score(entry.getValue(), weight, avgLength, required, scores);
+                }
+            }
+
+            long[][] facetCounts = new long[FACETS.size()][];
+            for (int f = 0; f < FACETS.size(); f++) {
+                facetCounts[f] = new long[facetValues.get(f).size()];
+            }
+            // Weakest first; on equal scores the later document goes first, so older ones are kept
+            Comparator<Map.Entry<Integer, Float>> weakestFirst = Map.Entry.<Integer, Float>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+            PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(weakestFirst);
+            for (Map.Entry<Integer, Float> scored : scores.entrySet()) {
+                int ord = scored.getKey();
+                for (int f = 0; f < FACETS.size(); f++) {
+                    int code = facets[ord * FACETS.size() + f];
+                    if (code >= 0) {
+                        facetCounts[f][code]++;
+                    }
+                }
+                if (top.size() < limit) {
+                    top.add(scored);
+                } else if (limit > 0 && weakestFirst.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            List<SearchResult.Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Integer, Float> scored = top.poll();
+                hits.add(new SearchResult.Hit(ids[scored.getKey()], scored.getValue()));
+            }
+            Collections.reverse(hits);
+
+            Map<String, Map<String, Long>> facetResult = new LinkedHashMap<>();
+            for (int f = 0; f < FACETS.size(); f++) {
+                Map<String, Long> counts = new LinkedHashMap<>();
+                for (int code = 0; code < facetCounts[f].length; code++) {
+                    if (facetCounts[f][code] > 0) {
+                        counts.put(facetValues.get(f).get(code), facetCounts[f][code]);
+                    }
+                }
+                facetResult.put(FACETS.get(f), counts);
+            }
+            return new SearchResult(scores.size(), hits, facetResult);
+        }
+
+        // required is null when no facet filter applies
+        private void score(Postings list, double weight, double avgLength, int[] required,
+                Map<Integer, Float> scores) {
+            double idf = Math.log(1 + (liveCount - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                int ord = list.docs[i];
+                if (!live.get(ord) || (required != null && !passes(ord, required))) {
+                    continue;
+                }
+                int tf = list.freqs[i];
+                double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[ord] / avgLength));
+                scores.merge(ord, (float) (weight * idf * norm), Float::sum);
+            }
+        }
+
+        private boolean passes(int ord, int[] required) {
+            for (int f = 0; f < required.length; f++) {
+                if (required[f] != Integer.MIN_VALUE && facets[ord * FACETS.size() + f] != required[f]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Map<String, Map<String, Long>> emptyFacets() {
+            Map<String, Map<String, Long>> empty = new LinkedHashMap<>();
+            FACETS.forEach(f -> empty.put(f, Collections.emptyMap()));
+            return empty;
+        }
+    }
+
+    /**
+     * Append-only posting list; ordinals arrive in increasing order
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int ord, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = ord;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.complaint.search;
+
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+
+/**
+ * The subset of complaint columns the search index needs, loaded as a
+ * projection when the index is rebuilt from the database.
+ */
+public interface SearchDocument {
+    Long getId();
+
+    String getDescription();
+
+    String getLocationAddress();
+
+    String getDepartment();
+
+    String getZone();
+
+    ComplaintStatus getStatus();
+
+    Priority getPriority();
+}
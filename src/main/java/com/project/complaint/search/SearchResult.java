@@ -0,0 +1,26 @@
+package com.project.complaint.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked complaint ids for a query, with facet counts over every match
+ */
+@Getter
+@AllArgsConstructor
+public class SearchResult {
+
+    private final long total;
+    private final List<Hit> hits;
+    private final Map<String, Map<String, Long>> facets;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final long complaintId;
+        private final double score;
+    }
+}
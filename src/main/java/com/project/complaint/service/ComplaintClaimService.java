@@ -0,0 +1,188 @@
+package com.project.complaint.service;
+
+import com.project.auth.entity.Role;
+import com.project.auth.entity.User;
+import com.project.auth.repository.UserRepository;
+import com.project.complaint.event.ComplaintEventLog;
+import com.project.complaint.leaderboard.OfficerLeaderboard;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintEventType;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.search.ComplaintSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pull-based work queue. An officer claims the most urgent pending complaint
+ * of their department (and zone, when they have one) that nobody holds, and
+ * keeps it for the lease while sending heartbeats. Claims lock the row with
+ * SKIP LOCKED, so concurrent officers each get a different complaint without
+ * waiting on one another. A lease ends when the complaint moves on from
+ * PENDING or is assigned or escalated; an expired one is released by
+ * {@link #releaseExpiredLeases()} or taken over by the next claim.
+ */
+@Service
+@Slf4j
+public class ComplaintClaimService {
+
+    private final ComplaintRepository complaintRepository;
+    private final UserRepository userRepository;
+    private final ComplaintVersionTracker versionTracker;
+    private final ComplaintSearchIndex searchIndex;
+    private final OfficerLeaderboard leaderboard;
+    private final ComplaintEventLog events;
+    private final MeterRegistry meterRegistry;
+    private final Duration lease;
+    private final int sweepBatchSize;
+
+    public ComplaintClaimService(ComplaintRepository complaintRepository,
+            UserRepository userRepository,
+            ComplaintVersionTracker versionTracker,
+            ComplaintSearchIndex searchIndex,
+            OfficerLeaderboard leaderboard,
+            ComplaintEventLog events,
+            MeterRegistry meterRegistry,
+            @Value("${work-queue.lease-minutes:30}") long leaseMinutes,
+            @Value("${work-queue.sweep-batch-size:200}") int sweepBatchSize) {
+        this.complaintRepository = complaintRepository;
+        this.userRepository = userRepository;
+        this.versionTracker = versionTracker;
+        this.searchIndex = searchIndex;
+        this.leaderboard = leaderboard;
+        this.events = events;
+        this.meterRegistry = meterRegistry;
+        this.lease = Duration.ofMinutes(leaseMinutes);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Lease the next complaint to the officer, or return null when the queue is empty
+     */
+    @Transactional
+    public Complaint claimNext(String officerEmail) {
+        User officer = officer(officerEmail);
+        if (officer.getDepartment() == null) {
+            throw new RuntimeException("Officer has no department to claim complaints from");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Long complaintId = complaintRepository.lockNextClaimable(officer.getDepartment(), officer.getZone(), now)
+                .orElse(null);
+        if (complaintId == null) {
+            countClaims("empty");
+            return null;
+        }
+
+        Complaint complaint = complaintRepository.findById(complaintId)
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        User previousHolder = complaint.getAssignedOfficer();
+        complaint.setAssignedOfficer(officer);
+        complaint.setLeaseExpiresAt(now.plus(lease));
+        if (complaint.getDeadline() == null) {
+            Priority priority = complaint.getPriority() != null ? complaint.getPriority() : Priority.LOW;
+            complaint.setDeadline(priority.deadlineFrom(now));
+        }
+        if (complaint.getZone() == null || complaint.getZone().isEmpty()) {
+            complaint.setZone(officer.getZone());
+        }
+
+        Complaint saved = complaintRepository.save(complaint);
+        events.record(saved, ComplaintEventType.CLAIMED, "officerId=" + officer.getId()
+                + " until=" + saved.getLeaseExpiresAt());
+        countClaims(previousHolder == null ? "claimed" : "taken-over");
+        return track(saved, previousHolder);
+    }
+
+    /**
+     * Extend the officer's lease on a complaint they claimed
+     */
+    @Transactional
+    public Complaint heartbeat(Long complaintId, String officerEmail) {
+        Complaint complaint = heldBy(complaintId, officer(officerEmail));
+        complaint.setLeaseExpiresAt(LocalDateTime.now().plus(lease));
+        return complaintRepository.save(complaint);
+    }
+
+    /**
+     * Give a claimed complaint back to the queue
+     */
+    @Transactional
+    public Complaint release(Long complaintId, String officerEmail) {
+        User officer = officer(officerEmail);
+        Complaint complaint = heldBy(complaintId, officer);
+        Complaint saved = unassign(complaint, "released by officerId=" + officer.getId());
+        return track(saved, officer);
+    }
+
+    /**
+     * Put complaints whose lease ran out back in the queue. Returns how many.
+     */
+    @Transactional
+    public int releaseExpiredLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expired = complaintRepository.lockExpiredLeases(now, sweepBatchSize);
+        for (Complaint complaint : complaintRepository.findAllById(expired)) {
+            User holder = complaint.getAssignedOfficer();
+            Complaint saved = unassign(complaint, "lease expired at " + complaint.getLeaseExpiresAt());
+            track(saved, holder);
+        }
+        if (!expired.isEmpty()) {
+            log.info("Released {} complaints with expired leases", expired.size());
+            countClaims("expired", expired.size());
+        }
+        return expired.size();
+    }
+
+    private Complaint unassign(Complaint complaint, String detail) {
+        complaint.setAssignedOfficer(null);
+        complaint.setLeaseExpiresAt(null);
+        Complaint saved = complaintRepository.save(complaint);
+        events.record(saved, ComplaintEventType.CLAIM_RELEASED, detail);
+        return saved;
+    }
+
+    // An expired lease still counts until someone else claims the complaint
+    private Complaint heldBy(Long complaintId, User officer) {
+        Complaint complaint = complaintRepository.findById(complaintId)
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        if (complaint.getLeaseExpiresAt() == null || complaint.getStatus() != ComplaintStatus.PENDING
+                || complaint.getAssignedOfficer() == null
+                || !complaint.getAssignedOfficer().getId().equals(officer.getId())) {
+            throw new RuntimeException("You do not hold a claim on this complaint");
+        }
+        return complaint;
+    }
+
+    private User officer(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Officer not found"));
+        if (user.getRole() != Role.OFFICER) {
+            throw new RuntimeException("Only officers can claim complaints");
+        }
+        return user;
+    }
+
+    private Complaint track(Complaint saved, User previousOfficer) {
+        versionTracker.complaintChanged(saved, previousOfficer);
+        searchIndex.index(saved);
+        leaderboard.complaintChanged(saved, previousOfficer);
+        return saved;
+    }
+
+    private void countClaims(String result) {
+        countClaims(result, 1);
+    }
+
+    private void countClaims(String result, long count) {
+        meterRegistry.counter("civicpulse.workqueue.claims", "result", result).increment(count);
+    }
+}
@@ -1,38 +1,90 @@
 package com.project.complaint.service;
 
+import com.project.auth.dto.DirectoryUser;
 import com.project.auth.entity.Role;
 import com.project.auth.entity.User;
 import com.project.auth.repository.UserRepository;
+import com.project.auth.service.UserDirectoryService;
+import com.project.complaint.analytics.ComplaintSketchService;
+import com.project.complaint.archive.ComplaintArchiver;
+import com.project.complaint.dto.ComplaintFilterDto;
+import com.project.complaint.dto.ComplaintPageDto;
 import com.project.complaint.dto.ComplaintRequestDto;
+import com.project.complaint.dto.ComplaintSearchResponse;
+import com.project.complaint.escalation.EscalationQueue;
+import com.project.complaint.event.ComplaintEventLog;
+import com.project.complaint.leaderboard.OfficerLeaderboard;
 import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintEscalation;
+import com.project.complaint.model.ComplaintEventType;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.NotificationType;
+import com.project.complaint.model.Priority;
+import com.project.complaint.model.ValidationStatus;
+import com.project.complaint.notification.NotificationOutbox;
+import com.project.complaint.repository.ComplaintEscalationRepository;
 import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.repository.ComplaintSpecifications;
+import com.project.complaint.rollup.ComplaintRollupService;
+import com.project.complaint.rollup.RollupFacts;
+import com.project.complaint.search.ComplaintSearchIndex;
+import com.project.complaint.search.SearchResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ComplaintService {
 
     private final ComplaintRepository complaintRepository;
+    private final ComplaintEscalationRepository escalationRepository;
     private final UserRepository userRepository;
+    private final UserDirectoryService userDirectory;
+    private final ComplaintVersionTracker versionTracker;
+    private final ComplaintSearchIndex searchIndex;
+    private final OfficerRatingService officerRatings;
+    private final OfficerLeaderboard leaderboard;
+    private final ComplaintRollupService rollups;
+    private final ComplaintSketchService sketches;
+    private final ComplaintArchiver archiver;
+    private final ComplaintEventLog events;
+    private final NotificationOutbox notifications;
+    private final EscalationQueue escalationQueue;
+    private final MeterRegistry meterRegistry;
 
     private static final String UPLOAD_DIR = "uploads/";
 
+    @Transactional
     public Complaint fileComplaint(ComplaintRequestDto request, MultipartFile photo, String email) throws IOException {
         User citizen = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         String photoUrl = null;
         if (photo != null && !photo.isEmpty()) {
-            photoUrl = savePhoto(photo);
+            photoUrl = savePhoto(photo, "photo");
         }
 
         Complaint complaint = Complaint.builder()
@@ -42,42 +94,189 @@ public class ComplaintService {
                 .longitude(request.getLongitude())
                 .locationAddress(request.getLocationAddress())
                 .photoUrl(photoUrl)
-                .status("PENDING")
-                .validationStatus("PENDING_VALIDATION")
-                .priority("LOW") // Default
+                .status(ComplaintStatus.PENDING)
+                .validationStatus(ValidationStatus.PENDING_VALIDATION)
+                .priority(Priority.LOW) // Default
                 .citizen(citizen)
                 .zone(request.getZone())
                 .build();
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        rollups.record(RollupFacts.NONE, saved);
+        sketches.complaintFiled(saved);
+        events.record(saved, ComplaintEventType.FILED, "department=" + saved.getDepartment()
+                + (saved.getZone() != null ? " zone=" + saved.getZone() : ""));
+        return track(saved);
     }
 
-    private String savePhoto(MultipartFile photo) throws IOException {
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    /**
+     * Resolve the complaint's open escalations in this transaction, and drop
+     * it from the escalation queues once that commits
+     */
+    private void settleEscalations(Complaint complaint) {
+        if (Boolean.TRUE.equals(complaint.getEscalated())) {
+            for (ComplaintEscalation open : escalationRepository.findByComplaintId(complaint.getId())) {
+                if (!Boolean.TRUE.equals(open.getResolved())) {
+                    open.setResolved(true);
+                }
+            }
         }
+        escalationQueue.complaintSettled(complaint.getId());
+    }
 
-        String fileName = UUID.randomUUID().toString() + "_" + photo.getOriginalFilename();
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(photo.getInputStream(), filePath);
+    // Invalidate the cached read views and refresh the search entry and officer standings
+    private Complaint track(Complaint saved, User... previousOfficers) {
+        versionTracker.complaintChanged(saved, previousOfficers);
+        searchIndex.index(saved);
+        leaderboard.complaintChanged(saved, previousOfficers);
+        return saved;
+    }
 
-        return fileName;
+    /**
+     * Store an upload under the SHA-256 of its content, so the same image
+     * uploaded again (a retried request, a re-sent photo) is kept once
+     */
+    private String savePhoto(MultipartFile photo, String kind) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Path uploadPath = Paths.get(UPLOAD_DIR);
+            if (!Files.exists(uploadPath)) {
+                Files.createDirectories(uploadPath);
+            }
+
+            MessageDigest digest = sha256();
+            Path tempFile = Files.createTempFile(uploadPath, "upload-", ".tmp");
+            long bytes;
+            try {
+                try (InputStream in = new DigestInputStream(photo.getInputStream(), digest)) {
+                    bytes = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                String fileName = HexFormat.of().formatHex(digest.digest()) + extensionOf(photo.getOriginalFilename());
+                Path filePath = uploadPath.resolve(fileName);
+                if (Files.exists(filePath)) {
+                    outcome = "duplicate";
+                } else {
+                    try {
+                        Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+                        outcome = "success";
+                    } catch (FileAlreadyExistsException e) {
+                        outcome = "duplicate";
+                    }
+                }
+
+                DistributionSummary.builder("civicpulse.upload.size")
+                        .baseUnit("bytes")
+                        .tag("kind", kind)
+                        .register(meterRegistry)
+                        .record(bytes);
+                return fileName;
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } finally {
+            sample.stop(Timer.builder("civicpulse.upload.duration")
+                    .tag("kind", kind)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 
-    public List<Complaint> getMyComplaints(String email) {
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Keep a short alphanumeric extension so files are still served with the right type
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1);
+        return originalFilename.contains(".") && extension.matches("[A-Za-z0-9]{1,10}")
+                ? "." + extension.toLowerCase(Locale.ROOT) : "";
+    }
+
+    public List<Complaint> getMyComplaints(String email, boolean includeArchived) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         // Return complaints sorted by most recent first
-        return complaintRepository.findByCitizenIdOrderByCreatedAtDesc(user.getId());
+        return includeArchived
+                ? complaintRepository.findByCitizenIdOrderByCreatedAtDesc(user.getId())
+                : complaintRepository.findByCitizenIdAndArchivedFalseOrderByCreatedAtDesc(user.getId());
     }
 
-    public List<Complaint> getAllComplaints() {
+    public List<Complaint> getAllComplaints(boolean includeArchived) {
         // Return all complaints sorted by most recent first
-        return complaintRepository.findAllByOrderByCreatedAtDesc();
+        return includeArchived
+                ? complaintRepository.findAllByOrderByCreatedAtDesc()
+                : complaintRepository.findByArchivedFalseOrderByCreatedAtDesc();
+    }
+
+    /**
+     * Filtered complaint listing, newest first, paged by an opaque cursor
+     */
+    public ComplaintPageDto queryComplaints(ComplaintFilterDto filter, String cursor, int limit) {
+        Specification<Complaint> spec = ComplaintSpecifications.matching(filter);
+        if (!archiver.reachesArchive(filter)) {
+            spec = spec.and(ComplaintSpecifications.notArchived());
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            spec = spec.and(ComplaintSpecifications.after(ComplaintSpecifications.Cursor.decode(cursor)));
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<Complaint> rows = complaintRepository.findBy(spec, q -> q
+                .sortBy(ComplaintSpecifications.NEWEST_FIRST)
+                .project("citizen", "assignedOfficer", "validatedBy") // applied as a fetch graph
+                .limit(limit + 1)
+                .all());
+
+        boolean hasMore = rows.size() > limit;
+        List<Complaint> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore
+                ? ComplaintSpecifications.Cursor.of(items.get(items.size() - 1)).encode()
+                : null;
+
+        return ComplaintPageDto.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Full-text search over descriptions and addresses, ranked by relevance,
+     * with facet counts over all matches
+     */
+    public ComplaintSearchResponse searchComplaints(String query, Map<String, String> filters, int limit) {
+        SearchResult result = searchIndex.search(query, filters, limit);
+
+        List<Long> ids = result.getHits().stream().map(SearchResult.Hit::getComplaintId).collect(Collectors.toList());
+        Map<Long, Complaint> complaints = complaintRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+
+        List<ComplaintSearchResponse.Hit> hits = result.getHits().stream()
+                .filter(hit -> complaints.containsKey(hit.getComplaintId()))
+                .map(hit -> new ComplaintSearchResponse.Hit(
+                        Math.round(hit.getScore() * 1000.0) / 1000.0,
+                        complaints.get(hit.getComplaintId())))
+                .collect(Collectors.toList());
+
+        return ComplaintSearchResponse.builder()
+                .query(query)
+                .total(result.getTotal())
+                .indexReady(searchIndex.isReady())
+                .results(hits)
+                .facets(result.getFacets())
+                .build();
     }
 
     // Admin features
+    @Transactional
     public Complaint assignComplaint(Long complaintId, Long officerId, String priority, String deadline) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
@@ -85,9 +284,13 @@ public class ComplaintService {
         User officer = userRepository.findById(officerId)
                 .orElseThrow(() -> new RuntimeException("Officer not found"));
 
+        User previousOfficer = complaint.getAssignedOfficer();
+        OfficerRatingService.RatingContribution ratingBefore = officerRatings.contributionOf(complaint);
+        RollupFacts rollupBefore = RollupFacts.of(complaint);
         complaint.setAssignedOfficer(officer);
+        complaint.setLeaseExpiresAt(null); // an assignment is not a claim
         if (priority != null) {
-            complaint.setPriority(priority);
+            complaint.setPriority(Priority.from(priority));
         }
 
         // Auto-calculate deadline based on priority if not provided
@@ -95,7 +298,7 @@ public class ComplaintService {
             complaint.setDeadline(java.time.LocalDateTime.parse(deadline));
         } else {
             // Calculate deadline based on priority
-            complaint.setDeadline(calculateDeadline(priority != null ? priority : complaint.getPriority()));
+            complaint.setDeadline(calculateDeadline(complaint.getPriority()));
         }
 
         // If complaint has no zone, inherit from officer
@@ -103,28 +306,26 @@ public class ComplaintService {
             complaint.setZone(officer.getZone());
         }
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        officerRatings.recordChange(ratingBefore, saved);
+        rollups.record(rollupBefore, saved);
+        events.record(saved, ComplaintEventType.ASSIGNED, "officerId=" + officer.getId()
+                + " priority=" + saved.getPriority() + " deadline=" + saved.getDeadline());
+        notifications.enqueue(officer.getId(), saved, NotificationType.ASSIGNED_TO_YOU,
+                String.format("Complaint #%d (%s) is assigned to you, priority %s, due %s",
+                        saved.getId(), saved.getDepartment(), saved.getPriority(), saved.getDeadline()));
+        notifications.enqueue(saved.getCitizen().getId(), saved, NotificationType.COMPLAINT_ASSIGNED,
+                String.format("Your complaint #%d has been assigned to an officer", saved.getId()));
+        return track(saved, previousOfficer);
     }
 
     /**
      * Calculate deadline based on priority
      * HIGH: 48 hours, MEDIUM: 96 hours, LOW: 168 hours
      */
-    private java.time.LocalDateTime calculateDeadline(String priority) {
+    private java.time.LocalDateTime calculateDeadline(Priority priority) {
         java.time.LocalDateTime now = java.time.LocalDateTime.now();
-        if (priority == null) {
-            priority = "LOW"; // Default
-        }
-
-        switch (priority.toUpperCase()) {
-            case "HIGH":
-                return now.plusHours(48);
-            case "MEDIUM":
-                return now.plusHours(96);
-            case "LOW":
-            default:
-                return now.plusHours(168);
-        }
+        return (priority != null ? priority : Priority.LOW).deadlineFrom(now);
     }
 
     /**
@@ -139,17 +340,23 @@ public class ComplaintService {
      */
     public java.util.List<java.util.Map<String, Object>> getOfficersWithWorkload() {
         // Get all officers (users with role OFFICER)
-        java.util.List<User> officers = userRepository.findByRole(Role.OFFICER);
+        java.util.List<DirectoryUser> officers = userDirectory.findByRole(Role.OFFICER);
+
+        // One grouped count instead of a count query per officer
+        java.util.Map<Long, Long> workloads = new java.util.HashMap<>();
+        for (Object[] row : complaintRepository.countActiveComplaintsPerOfficer()) {
+            workloads.put((Long) row[0], (Long) row[1]);
+        }
 
         java.util.List<java.util.Map<String, Object>> result = new java.util.ArrayList<>();
 
-        for (User officer : officers) {
-            Long workload = getOfficerWorkload(officer.getId());
+        for (DirectoryUser officer : officers) {
+            Long workload = workloads.getOrDefault(officer.id(), 0L);
 
             java.util.Map<String, Object> officerData = new java.util.HashMap<>();
-            officerData.put("officerId", officer.getId());
-            officerData.put("name", officer.getName());
-            officerData.put("email", officer.getEmail());
+            officerData.put("officerId", officer.id());
+            officerData.put("name", officer.name());
+            officerData.put("email", officer.email());
             officerData.put("activeComplaintCount", workload);
 
             result.add(officerData);
@@ -174,51 +381,80 @@ public class ComplaintService {
     /**
      * Get complaints assigned to an officer (sorted by most recent)
      */
-    public List<Complaint> getOfficerComplaints(String email) {
+    public List<Complaint> getOfficerComplaints(String email, boolean includeArchived) {
         User officer = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Officer not found"));
-        return complaintRepository.findByAssignedOfficerIdOrderByCreatedAtDesc(officer.getId());
+        return includeArchived
+                ? complaintRepository.findByAssignedOfficerIdOrderByCreatedAtDesc(officer.getId())
+                : complaintRepository.findByAssignedOfficerIdAndArchivedFalseOrderByCreatedAtDesc(officer.getId());
     }
 
     /**
      * Upload proof of work for a complaint
      */
+    @Transactional
     public Complaint uploadProofOfWork(Long complaintId, MultipartFile proofFile, String email) throws IOException {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
-        // Verify the officer is assigned to this complaint
-        User officer = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Officer not found"));
-
+        // Verify the officer is assigned to this complaint; the officer is loaded with it
         if (complaint.getAssignedOfficer() == null ||
-                !complaint.getAssignedOfficer().getId().equals(officer.getId())) {
+                !complaint.getAssignedOfficer().getEmail().equals(email)) {
             throw new RuntimeException("You are not assigned to this complaint");
         }
 
         // Save the proof file
         String proofUrl = null;
         if (proofFile != null && !proofFile.isEmpty()) {
-            proofUrl = savePhoto(proofFile); // Reuse existing photo save method
+            proofUrl = savePhoto(proofFile, "proof"); // Reuse existing photo save method
         }
 
         complaint.setProofOfWorkUrl(proofUrl);
         complaint.setProofOfWorkUploadedAt(java.time.LocalDateTime.now());
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        events.record(saved, ComplaintEventType.PROOF_UPLOADED, proofUrl);
+        return track(saved);
     }
 
+    @Transactional
     public Complaint updateStatus(Long complaintId, String status) {
+        ComplaintStatus next = ComplaintStatus.from(status);
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
-        complaint.setStatus(status);
-        if ("RESOLVED".equals(status)) {
+        if (!complaint.getStatus().canTransitionTo(next)) {
+            throw new RuntimeException("Cannot move complaint from " + complaint.getStatus() + " to " + next);
+        }
+        if (next == complaint.getStatus()) {
+            return complaint; // nothing changes, so nothing is recorded again
+        }
+
+        RollupFacts rollupBefore = RollupFacts.of(complaint);
+        ComplaintStatus previous = complaint.getStatus();
+        complaint.setStatus(next);
+        if (next != ComplaintStatus.PENDING) {
+            complaint.setLeaseExpiresAt(null); // work started, the claim is the officer's for good
+        }
+        if (next == ComplaintStatus.RESOLVED) {
             complaint.setResolvedAt(java.time.LocalDateTime.now());
-        } else if ("IN_PROGRESS".equals(status) || "PENDING".equals(status)) {
+        } else if (next == ComplaintStatus.IN_PROGRESS || next == ComplaintStatus.PENDING) {
             complaint.setResolvedAt(null);
         }
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        rollups.record(rollupBefore, saved);
+        if (next == ComplaintStatus.RESOLVED) {
+            sketches.complaintResolved(saved);
+        }
+        if (next == ComplaintStatus.RESOLVED && previous != ComplaintStatus.RESOLVED) {
+            notifications.enqueue(saved.getCitizen().getId(), saved, NotificationType.COMPLAINT_RESOLVED,
+                    String.format("Your complaint #%d has been resolved. Please rate the work.", saved.getId()));
+        }
+        if (next == ComplaintStatus.RESOLVED || next == ComplaintStatus.REJECTED) {
+            settleEscalations(saved);
+        }
+        events.record(saved, ComplaintEventType.STATUS_CHANGED, previous + " -> " + next);
+        return track(saved);
     }
 
     public List<Complaint> checkDuplicates(Long complaintId) {
@@ -227,7 +463,7 @@ public class ComplaintService {
 
         // Simple logic: Same Department and same Address, excluding the complaint
         // itself
-        List<Complaint> potentialDuplicates = complaintRepository.findByDepartmentAndLocationAddress(
+        List<Complaint> potentialDuplicates = complaintRepository.findByDepartmentAndLocationAddressAndArchivedFalse(
                 complaint.getDepartment(),
                 complaint.getLocationAddress());
 
@@ -243,18 +479,16 @@ public class ComplaintService {
 
         // Count by status
         java.util.Map<String, Long> statusCounts = new java.util.HashMap<>();
-        statusCounts.put("PENDING", allComplaints.stream().filter(c -> "PENDING".equals(c.getStatus())).count());
-        statusCounts.put("IN_PROGRESS",
-                allComplaints.stream().filter(c -> "IN_PROGRESS".equals(c.getStatus())).count());
-        statusCounts.put("RESOLVED", allComplaints.stream().filter(c -> "RESOLVED".equals(c.getStatus())).count());
-        statusCounts.put("REJECTED", allComplaints.stream().filter(c -> "REJECTED".equals(c.getStatus())).count());
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            statusCounts.put(status.name(), allComplaints.stream().filter(c -> c.getStatus() == status).count());
+        }
         stats.put("byStatus", statusCounts);
 
         // Count by priority
         java.util.Map<String, Long> priorityCounts = new java.util.HashMap<>();
-        priorityCounts.put("HIGH", allComplaints.stream().filter(c -> "HIGH".equals(c.getPriority())).count());
-        priorityCounts.put("MEDIUM", allComplaints.stream().filter(c -> "MEDIUM".equals(c.getPriority())).count());
-        priorityCounts.put("LOW", allComplaints.stream().filter(c -> "LOW".equals(c.getPriority())).count());
+        for (Priority priority : Priority.values()) {
+            priorityCounts.put(priority.name(), allComplaints.stream().filter(c -> c.getPriority() == priority).count());
+        }
         stats.put("byPriority", priorityCounts);
 
         return stats;
@@ -263,6 +497,7 @@ public class ComplaintService {
     /**
      * Validate a complaint (admin only)
      */
+    @Transactional
     public Complaint validateComplaint(Long complaintId, String adminEmail) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
@@ -270,17 +505,20 @@ public class ComplaintService {
         User admin = userRepository.findByEmail(adminEmail)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
-        complaint.setValidationStatus("VALIDATED");
+        complaint.setValidationStatus(ValidationStatus.VALIDATED);
         complaint.setValidatedBy(admin);
         complaint.setValidatedAt(java.time.LocalDateTime.now());
         complaint.setRejectionReason(null); // Clear any previous rejection reason
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        events.record(saved, ComplaintEventType.VALIDATED, null);
+        return track(saved);
     }
 
     /**
      * Reject a complaint with a reason (admin only)
      */
+    @Transactional
     public Complaint rejectComplaint(Long complaintId, String adminEmail, String rejectionReason) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
@@ -288,32 +526,39 @@ public class ComplaintService {
         User admin = userRepository.findByEmail(adminEmail)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
-        complaint.setValidationStatus("REJECTED_BY_ADMIN");
-        complaint.setStatus("REJECTED");
+        if (!complaint.getStatus().canTransitionTo(ComplaintStatus.REJECTED)) {
+            throw new RuntimeException("Cannot reject a " + complaint.getStatus() + " complaint");
+        }
+
+        RollupFacts rollupBefore = RollupFacts.of(complaint);
+        complaint.setValidationStatus(ValidationStatus.REJECTED_BY_ADMIN);
+        complaint.setStatus(ComplaintStatus.REJECTED);
         complaint.setRejectionReason(rejectionReason);
         complaint.setValidatedBy(admin);
         complaint.setValidatedAt(java.time.LocalDateTime.now());
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        rollups.record(rollupBefore, saved);
+        settleEscalations(saved);
+        events.record(saved, ComplaintEventType.REJECTED, rejectionReason);
+        return track(saved);
     }
 
     /**
      * Rate a resolved complaint (citizen only)
      */
+    @Transactional
     public Complaint rateComplaint(Long complaintId, String citizenEmail, Integer rating, String feedback) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
-        User citizen = userRepository.findByEmail(citizenEmail)
-                .orElseThrow(() -> new RuntimeException("Citizen not found"));
-
-        // Verify the citizen owns this complaint
-        if (!complaint.getCitizen().getId().equals(citizen.getId())) {
+        // Verify the citizen owns this complaint; the citizen is loaded with it
+        if (!complaint.getCitizen().getEmail().equals(citizenEmail)) {
             throw new RuntimeException("You can only rate your own complaints");
         }
 
         // Verify complaint is resolved
-        if (!"RESOLVED".equals(complaint.getStatus())) {
+        if (complaint.getStatus() != ComplaintStatus.RESOLVED) {
             throw new RuntimeException("You can only rate resolved complaints");
         }
 
@@ -322,34 +567,38 @@ public class ComplaintService {
             throw new RuntimeException("Rating must be between 1 and 5");
         }
 
+        OfficerRatingService.RatingContribution ratingBefore = officerRatings.contributionOf(complaint);
         complaint.setRating(rating);
         complaint.setFeedback(feedback);
         complaint.setRatedAt(java.time.LocalDateTime.now());
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        officerRatings.recordChange(ratingBefore, saved);
+        events.record(saved, ComplaintEventType.RATED, "rating=" + rating);
+        return track(saved);
     }
 
     /**
      * Reopen a resolved complaint (citizen only)
      */
+    @Transactional
     public Complaint reopenComplaint(Long complaintId, String citizenEmail, String reopenReason) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
-        User citizen = userRepository.findByEmail(citizenEmail)
-                .orElseThrow(() -> new RuntimeException("Citizen not found"));
-
-        // Verify the citizen owns this complaint
-        if (!complaint.getCitizen().getId().equals(citizen.getId())) {
+        // Verify the citizen owns this complaint; the citizen is loaded with it
+        if (!complaint.getCitizen().getEmail().equals(citizenEmail)) {
             throw new RuntimeException("You can only reopen your own complaints");
         }
 
         // Verify complaint is resolved
-        if (!"RESOLVED".equals(complaint.getStatus())) {
+        if (complaint.getStatus() != ComplaintStatus.RESOLVED) {
             throw new RuntimeException("You can only reopen resolved complaints");
         }
 
-        complaint.setStatus("IN_PROGRESS");
+        OfficerRatingService.RatingContribution ratingBefore = officerRatings.contributionOf(complaint);
+        RollupFacts rollupBefore = RollupFacts.of(complaint);
+        complaint.setStatus(ComplaintStatus.IN_PROGRESS);
         complaint.setReopened(true);
         complaint.setReopenedAt(java.time.LocalDateTime.now());
         complaint.setReopenReason(reopenReason);
@@ -358,27 +607,34 @@ public class ComplaintService {
         complaint.setRatedAt(null);
         complaint.setSatisfied(false); // Clear satisfaction status
         complaint.setSatisfiedAt(null);
-
-        return complaintRepository.save(complaint);
+        if (Boolean.TRUE.equals(complaint.getArchived())) {
+            archiver.restore(complaintId); // Active again, back to the hot table
+        }
+        complaint.setArchived(false);
+        complaint.setArchivedAt(null);
+
+        Complaint saved = complaintRepository.save(complaint);
+        officerRatings.recordChange(ratingBefore, saved);
+        rollups.record(rollupBefore, saved);
+        events.record(saved, ComplaintEventType.REOPENED, reopenReason);
+        return track(saved);
     }
 
     /**
      * Mark a complaint as satisfied (citizen only)
      */
+    @Transactional
     public Complaint markSatisfied(Long complaintId, String citizenEmail, Boolean satisfied) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
-        User citizen = userRepository.findByEmail(citizenEmail)
-                .orElseThrow(() -> new RuntimeException("Citizen not found"));
-
-        // Verify the citizen owns this complaint
-        if (!complaint.getCitizen().getId().equals(citizen.getId())) {
+        // Verify the citizen owns this complaint; the citizen is loaded with it
+        if (!complaint.getCitizen().getEmail().equals(citizenEmail)) {
             throw new RuntimeException("You can only mark satisfaction for your own complaints");
         }
 
         // Verify complaint is resolved and rated
-        if (!"RESOLVED".equals(complaint.getStatus())) {
+        if (complaint.getStatus() != ComplaintStatus.RESOLVED) {
             throw new RuntimeException("You can only mark satisfaction for resolved complaints");
         }
 
@@ -386,75 +642,25 @@ public class ComplaintService {
             throw new RuntimeException("Please rate the complaint before marking satisfaction");
         }
 
+        OfficerRatingService.RatingContribution ratingBefore = officerRatings.contributionOf(complaint);
         complaint.setSatisfied(satisfied);
         complaint.setSatisfiedAt(satisfied ? java.time.LocalDateTime.now() : null);
 
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.save(complaint);
+        officerRatings.recordChange(ratingBefore, saved);
+        events.record(saved, ComplaintEventType.SATISFACTION, "satisfied=" + satisfied);
+        return track(saved);
     }
 
     /**
      * Get ratings statistics for an officer
      */
     public java.util.Map<String, Object> getOfficerRatingsStatistics(String officerEmail) {
-        User officer = userRepository.findByEmail(officerEmail)
-                .orElseThrow(() -> new RuntimeException("Officer not found"));
-
-        List<Complaint> ratedComplaints = complaintRepository
-                .findByAssignedOfficerIdOrderByCreatedAtDesc(officer.getId())
-                .stream()
-                .filter(c -> c.getRating() != null)
-                .collect(java.util.stream.Collectors.toList());
-
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-
-        if (ratedComplaints.isEmpty()) {
-            stats.put("totalRatings", 0);
-            stats.put("averageRating", 0.0);
-            stats.put("satisfactionRate", 0.0);
-            stats.put("ratings", new java.util.ArrayList<>());
-            return stats;
-        }
-
-        double avgRating = ratedComplaints.stream()
-                .mapToInt(Complaint::getRating)
-                .average()
-                .orElse(0.0);
-
-        long satisfiedCount = ratedComplaints.stream()
-                .filter(c -> Boolean.TRUE.equals(c.getSatisfied()))
-                .count();
-
-        double satisfactionRate = (satisfiedCount * 100.0) / ratedComplaints.size();
-
-        // Group ratings by star count
-        java.util.Map<Integer, Long> ratingDistribution = ratedComplaints.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                        Complaint::getRating,
-                        java.util.stream.Collectors.counting()));
-
-        stats.put("totalRatings", ratedComplaints.size());
-        stats.put("averageRating", Math.round(avgRating * 100.0) / 100.0);
-        stats.put("satisfactionRate", Math.round(satisfactionRate * 100.0) / 100.0);
-        stats.put("satisfiedCount", satisfiedCount);
-        stats.put("ratingDistribution", ratingDistribution);
-
-        // Include recent ratings with feedback
-        java.util.List<java.util.Map<String, Object>> recentRatings = ratedComplaints.stream()
-                .limit(10)
-                .map(c -> {
-                    java.util.Map<String, Object> ratingInfo = new java.util.HashMap<>();
-                    ratingInfo.put("complaintId", c.getId());
-                    ratingInfo.put("rating", c.getRating());
-                    ratingInfo.put("feedback", c.getFeedback());
-                    ratingInfo.put("satisfied", c.getSatisfied());
-                    ratingInfo.put("ratedAt", c.getRatedAt());
-                    ratingInfo.put("department", c.getDepartment());
-                    return ratingInfo;
-                })
-                .collect(java.util.stream.Collectors.toList());
-
-        stats.put("recentRatings", recentRatings);
-
-        return stats;
+        // Rated officers are found through their summary row; only the rest need the user lookup
+        return officerRatings.findStatistics(officerEmail).orElseGet(() -> {
+            User officer = userRepository.findByEmail(officerEmail)
+                    .orElseThrow(() -> new RuntimeException("Officer not found"));
+            return officerRatings.getStatistics(officer.getId());
+        });
     }
 }
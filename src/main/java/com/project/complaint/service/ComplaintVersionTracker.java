@@ -0,0 +1,165 @@
+package com.project.complaint.service;
+
+import com.project.auth.entity.User;
+import com.project.auth.event.UserDirectoryChangedEvent;
+import com.project.complaint.model.Complaint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.project.complaint.util.TransactionCallbacks.afterCommit;
+
+/**
+ * In-memory change counters used to build strong ETags for the complaint read
+ * endpoints. A polling client that already holds the current tag can be
+ * answered with 304 without running any query.
+ *
+ * Counters are read before the endpoint queries and bumped only after the
+ * mutating transaction commits, so a tag never labels data older than itself.
+ *
+ * Per-user counters exist only for users who fetched a tagged view recently;
+ * idle ones are swept and their number is capped. A user whose counter was
+ * dropped gets a new one with a new id, so tags issued before simply stop
+ * matching and the next request is answered in full.
+ */
+@Component
+public class ComplaintVersionTracker {
+
+    // Distinguishes tags issued by different runs of the application
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong complaintsVersion = new AtomicLong();
+    private final AtomicLong directoryVersion = new AtomicLong();
+    // Bumped by changes that may touch any user's views, instead of every user counter
+    private final AtomicLong allUsersVersion = new AtomicLong();
+    private final AtomicLong scopeSequence = new AtomicLong();
+    private final ConcurrentMap<String, UserScope> userScopes = new ConcurrentHashMap<>();
+    private final long scopeIdleNanos;
+    private final int maxUserScopes;
+
+    public ComplaintVersionTracker(MeterRegistry meterRegistry,
+            @Value("${etags.user-scope-idle-minutes:60}") long scopeIdleMinutes,
+            @Value("${etags.max-user-scopes:50000}") int maxUserScopes) {
+        this.scopeIdleNanos = Duration.ofMinutes(scopeIdleMinutes).toNanos();
+        this.maxUserScopes = maxUserScopes;
+        meterRegistry.gaugeMapSize("civicpulse.etags.user.scopes", List.of(), userScopes);
+    }
+
+    /**
+     * Tag for views over every complaint (/all, /statistics)
+     */
+    public String complaintsTag(String view) {
+        return tag(view, Long.toString(complaintsVersion.get()));
+    }
+
+    /**
+     * Tag for the officer workload list, which also depends on the officer set
+     */
+    public String workloadTag() {
+        return tag("workload", complaintsVersion.get() + "." + directoryVersion.get());
+    }
+
+    /**
+     * Tag for views scoped to a single user (/my, /officer/my, /officer/ratings)
+     */
+    public String userTag(String view, String email) {
+        UserScope scope = scopeFor(email);
+        return tag(view, scope.id + "." + allUsersVersion.get() + "." + scope.version.get());
+    }
+
+    /**
+     * Record a change to a complaint. The citizen, the current officer and any
+     * previously assigned officers see their personal views invalidated.
+     */
+    public void complaintChanged(Complaint complaint, User... previousOfficers) {
+        List<String> emails = new ArrayList<>();
+        addEmail(emails, complaint.getCitizen());
+        addEmail(emails, complaint.getAssignedOfficer());
+        for (User officer : previousOfficers) {
+            addEmail(emails, officer);
+        }
+        afterCommit(() -> {
+            complaintsVersion.incrementAndGet();
+            for (String email : emails) {
+                // Users without a counter hold no tag that could still match
+                UserScope scope = userScopes.get(email);
+                if (scope != null) {
+                    scope.version.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Record a bulk change that may touch any user's views, such as archiving
+     */
+    public void allChanged() {
+        afterCommit(() -> {
+            complaintsVersion.incrementAndGet();
+            allUsersVersion.incrementAndGet();
+        });
+    }
+
+    @EventListener
+    public void onUserDirectoryChanged(UserDirectoryChangedEvent event) {
+        afterCommit(directoryVersion::incrementAndGet);
+    }
+
+    private static void addEmail(List<String> emails, User user) {
+        if (user != null && user.getEmail() != null) {
+            emails.add(user.getEmail());
+        }
+    }
+
+    /**
+     * Drop counters of users who have not fetched a tagged view for the idle time
+     */
+    @Scheduled(fixedDelayString = "${etags.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        userScopes.values().removeIf(scope -> now - scope.lastUsed > scopeIdleNanos);
+    }
+
+    private UserScope scopeFor(String email) {
+        UserScope scope = userScopes.get(email);
+        if (scope == null) {
+            if (userScopes.size() >= maxUserScopes) {
+                evictIdle();
+            }
+            UserScope fresh = new UserScope(scopeSequence.incrementAndGet());
+            if (userScopes.size() >= maxUserScopes) {
+                return fresh; // untracked: its tags never match, so the view is always sent in full
+            }
+            scope = userScopes.computeIfAbsent(email, e -> fresh);
+        }
+        scope.lastUsed = System.nanoTime();
+        return scope;
+    }
+
+    private String tag(String view, String version) {
+        return "\"" + view + "-" + epoch + "-" + version + "\"";
+    }
+
+    /**
+     * Per-user counter. The id keeps tags of different users distinct even
+     * when their counters happen to be equal.
+     */
+    private static final class UserScope {
+        private final long id;
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastUsed = System.nanoTime();
+
+        private UserScope(long id) {
+            this.id = id;
+        }
+    }
+}
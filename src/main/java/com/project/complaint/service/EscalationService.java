@@ -1,19 +1,38 @@
 package com.project.complaint.service;
 
+import com.project.auth.dto.DirectoryUser;
 import com.project.auth.entity.Role;
 import com.project.auth.entity.User;
 import com.project.auth.repository.UserRepository;
+import com.project.auth.service.UserDirectoryService;
+import com.project.complaint.escalation.EscalationQueue;
+import com.project.complaint.escalation.EscalationTierProperties;
+import com.project.complaint.escalation.QueuedEscalation;
+import com.project.complaint.event.ComplaintEventLog;
+import com.project.complaint.leaderboard.OfficerLeaderboard;
 import com.project.complaint.model.Complaint;
 import com.project.complaint.model.ComplaintEscalation;
+import com.project.complaint.model.ComplaintEventType;
+import com.project.complaint.model.NotificationType;
+import com.project.complaint.notification.NotificationOutbox;
 import com.project.complaint.repository.ComplaintEscalationRepository;
 import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.rollup.ComplaintRollupService;
+import com.project.complaint.rollup.RollupFacts;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -23,70 +42,204 @@ public class EscalationService {
     private final ComplaintRepository complaintRepository;
     private final ComplaintEscalationRepository escalationRepository;
     private final UserRepository userRepository;
+    private final UserDirectoryService userDirectory;
+    private final ComplaintVersionTracker versionTracker;
+    private final OfficerRatingService officerRatings;
+    private final OfficerLeaderboard leaderboard;
+    private final ComplaintRollupService rollups;
+    private final ComplaintEventLog events;
+    private final NotificationOutbox notifications;
+    private final EscalationTierProperties tierProperties;
+    private final EscalationQueue escalationQueue;
+    private final MeterRegistry meterRegistry;
+
+    // Overdue complaints found by the latest check, exported as a gauge
+    private final AtomicLong lastOverdue = new AtomicLong();
 
     /**
-     * Check for overdue complaints and escalate them automatically
+     * Move overdue complaints up the escalation chain as far as their
+     * overdue time allows
      */
     @Transactional
     public void checkAndEscalateOverdueComplaints() {
+        List<EscalationTierProperties.Tier> tiers = tierProperties.getTiers();
+        if (tiers.isEmpty()) {
+            return;
+        }
         LocalDateTime now = LocalDateTime.now();
-        List<Complaint> overdueComplaints = complaintRepository.findOverdueComplaints(now);
+        long firstAfterHours = tiers.stream().mapToLong(EscalationTierProperties.Tier::getAfterHours).min().orElse(0);
+        List<Complaint> overdueComplaints = complaintRepository.findComplaintsDueForEscalation(
+                now.minusHours(firstAfterHours), tiers.size());
 
         log.info("Found {} overdue complaints to escalate", overdueComplaints.size());
+        meterRegistry.gauge("civicpulse.escalation.overdue", lastOverdue).set(overdueComplaints.size());
+        countEscalations("found", overdueComplaints.size());
 
+        // The queues change only after commit, so count this run's escalations separately
+        Map<Long, Integer> assignedThisRun = new HashMap<>();
+        int escalated = 0;
+        int waiting = 0;
         for (Complaint complaint : overdueComplaints) {
             try {
+                int level = dueLevel(complaint, now);
+                if (level <= currentLevel(complaint)) {
+                    waiting++;
+                    continue;
+                }
                 String reason = String.format("Automatic escalation: Complaint exceeded deadline of %s",
                         complaint.getDeadline());
-                escalateComplaint(complaint.getId(), reason);
+                escalateTo(complaint, level, reason, assignedThisRun);
+                escalated++;
                 log.info("Successfully escalated complaint ID: {}", complaint.getId());
             } catch (Exception e) {
                 log.error("Failed to escalate complaint ID: {}", complaint.getId(), e);
             }
         }
+        countEscalations("escalated", escalated);
+        countEscalations("waiting", waiting);
+        countEscalations("failed", overdueComplaints.size() - escalated - waiting);
+    }
+
+    private void countEscalations(String result, long count) {
+        meterRegistry.counter("civicpulse.escalation.complaints", "result", result).increment(count);
     }
 
     /**
-     * Escalate a specific complaint
+     * Escalate a specific complaint to the next tier of the chain
      */
     @Transactional
     public Complaint escalateComplaint(Long complaintId, String reason) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
-        // Don't escalate if already escalated
-        if (Boolean.TRUE.equals(complaint.getEscalated())) {
-            log.warn("Complaint {} is already escalated", complaintId);
+        // Don't escalate past the top of the chain
+        int level = currentLevel(complaint);
+        if (level >= topLevel()) {
+            log.warn("Complaint {} is already escalated to the top tier", complaintId);
             return complaint;
         }
+        return escalateTo(complaint, level + 1, reason, new HashMap<>());
+    }
 
-        // Find an admin to escalate to
-        List<User> admins = userRepository .findByRole(Role.ADMIN);
-        if (admins.isEmpty()) {
-            throw new RuntimeException("No admin users found for escalation");
+    /**
+     * Hand the complaint to the first tier from the given level up that has
+     * someone for it, superseding its open escalation
+     */
+    private Complaint escalateTo(Complaint complaint, int level, String reason, Map<Long, Integer> assigned) {
+        List<EscalationTierProperties.Tier> tiers = tierProperties.getTiers();
+        User assignee = null;
+        for (; level <= tiers.size() && assignee == null; level++) {
+            assignee = assigneeFor(tiers.get(level - 1), complaint, assigned);
+        }
+        if (assignee == null) {
+            throw new RuntimeException("No escalation tier has anyone to take complaint " + complaint.getId());
         }
+        level--;
+        assigned.merge(assignee.getId(), 1, Integer::sum);
 
-        User admin = admins.get(0); // Assign to first admin (can be enhanced with load balancing)
         User originalOfficer = complaint.getAssignedOfficer();
+        OfficerRatingService.RatingContribution ratingBefore = officerRatings.contributionOf(complaint);
+        RollupFacts rollupBefore = RollupFacts.of(complaint);
+
+        for (ComplaintEscalation open : escalationRepository.findByComplaintId(complaint.getId())) {
+            if (!Boolean.TRUE.equals(open.getResolved())) {
+                open.setResolved(true);
+            }
+        }
 
         // Create escalation record
         ComplaintEscalation escalation = ComplaintEscalation.builder()
                 .complaint(complaint)
                 .originalOfficer(originalOfficer)
-                .escalatedTo(admin)
+                .escalatedTo(assignee)
                 .escalationReason(reason)
+                .tier((short) level)
                 .resolved(false)
                 .build();
 
-        escalationRepository.save(escalation);
+        escalation = escalationRepository.save(escalation);
 
         // Update complaint
         complaint.setEscalated(true);
-        complaint.setEscalatedAt(LocalDateTime.now());
+        if (complaint.getEscalatedAt() == null) {
+            complaint.setEscalatedAt(LocalDateTime.now());
+        }
+        complaint.setEscalationLevel((short) level);
         complaint.setEscalationReason(reason);
-        complaint.setAssignedOfficer(admin); // Reassign to admin
+        complaint.setAssignedOfficer(assignee); // Reassign up the chain
+        complaint.setLeaseExpiresAt(null);
+
+        Complaint saved = complaintRepository.save(complaint);
+        escalationQueue.escalated(new QueuedEscalation(escalation.getId(), saved.getId(), assignee.getId(), level,
+                saved.getPriority() != null ? saved.getPriority().getCode() : 0, saved.getDeadline(),
+                LocalDateTime.now()));
+        officerRatings.recordChange(ratingBefore, saved);
+        rollups.record(rollupBefore, saved);
+        String tierName = tiers.get(level - 1).getName();
+        events.record(saved, ComplaintEventType.ESCALATED,
+                "to=" + assignee.getId() + " tier=" + tierName + " " + reason);
+        notifications.enqueue(assignee.getId(), saved, NotificationType.ESCALATED_TO_YOU,
+                String.format("Complaint #%d was escalated to you: %s", saved.getId(), reason));
+        if (originalOfficer != null && !originalOfficer.getId().equals(assignee.getId())) {
+            notifications.enqueue(originalOfficer.getId(), saved, NotificationType.ESCALATED_FROM_YOU,
+                    String.format("Complaint #%d was escalated to the %s: %s", saved.getId(), tierName, reason));
+        }
+        versionTracker.complaintChanged(saved, originalOfficer);
+        leaderboard.complaintChanged(saved, originalOfficer);
+        return saved;
+    }
+
+    /**
+     * Highest level whose tier the complaint's overdue time has reached
+     */
+    private int dueLevel(Complaint complaint, LocalDateTime now) {
+        List<EscalationTierProperties.Tier> tiers = tierProperties.getTiers();
+        int level = 0;
+        for (int i = 0; i < tiers.size(); i++) {
+            if (complaint.getDeadline().plusHours(tiers.get(i).getAfterHours()).isBefore(now)) {
+                level = i + 1;
+            }
+        }
+        return level;
+    }
+
+    // Complaints escalated before tiers went straight to an administrator
+    private int currentLevel(Complaint complaint) {
+        int level = complaint.getEscalationLevel() != null ? complaint.getEscalationLevel() : 0;
+        return level == 0 && Boolean.TRUE.equals(complaint.getEscalated()) ? topLevel() : level;
+    }
+
+    private int topLevel() {
+        return tierProperties.getTiers().size();
+    }
+
+    private User assigneeFor(EscalationTierProperties.Tier tier, Complaint complaint, Map<Long, Integer> assigned) {
+        switch (tier.getScope()) {
+            case ZONE:
+                return configuredAssignee(tier, complaint.getZone());
+            case DEPARTMENT:
+                return configuredAssignee(tier, complaint.getDepartment());
+            default:
+                // The administrator with the fewest open escalations
+                return userDirectory.findByRole(Role.ADMIN).stream()
+                        .min(Comparator.comparingInt((DirectoryUser admin) -> escalationQueue.size(admin.id())
+                                + assigned.getOrDefault(admin.id(), 0))
+                                .thenComparing(DirectoryUser::id))
+                        .map(admin -> userRepository.getReferenceById(admin.id()))
+                        .orElse(null);
+        }
+    }
 
-        return complaintRepository.save(complaint);
+    private User configuredAssignee(EscalationTierProperties.Tier tier, String key) {
+        String email = key != null ? tier.getAssignees().get(key) : null;
+        if (email == null) {
+            return null;
+        }
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            log.warn("Escalation tier {} names unknown user {}", tier.getName(), email);
+        }
+        return user;
     }
 
     /**
@@ -106,12 +259,55 @@ public class EscalationService {
 
         escalation.setResolved(true);
         escalationRepository.save(escalation);
+        escalationQueue.escalationResolved(escalationId);
+        events.record(escalation.getComplaint(), ComplaintEventType.ESCALATION_RESOLVED,
+                "escalationId=" + escalationId);
+    }
+
+    /**
+     * The user's most urgent open escalation, or null when they have none
+     */
+    public QueuedEscalation nextEscalation(String email) {
+        return escalationQueue.next(userId(email));
     }
 
     /**
-     * Get all unresolved escalations
+     * Open escalations of the user, most urgent first
      */
-    public List<ComplaintEscalation> getUnresolvedEscalations() {
-        return escalationRepository.findByResolvedFalse();
+    public List<QueuedEscalation> getUnresolvedEscalations(String email, int limit) {
+        return escalationQueue.peek(userId(email), limit);
+    }
+
+    /**
+     * Open escalations at one tier of the chain, most urgent first
+     */
+    public List<QueuedEscalation> getUnresolvedEscalations(int level, int limit) {
+        return escalationQueue.peekLevel(level, limit);
+    }
+
+    private Long userId(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .getId();
+    }
+
+    /**
+     * The configured chain with the number of open escalations at each tier
+     */
+    public List<Map<String, Object>> getTiers() {
+        Map<Integer, Integer> sizes = escalationQueue.levelSizes();
+        List<Map<String, Object>> tiers = new ArrayList<>();
+        List<EscalationTierProperties.Tier> configured = tierProperties.getTiers();
+        for (int i = 0; i < configured.size(); i++) {
+            EscalationTierProperties.Tier tier = configured.get(i);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("level", i + 1);
+            entry.put("name", tier.getName());
+            entry.put("scope", tier.getScope());
+            entry.put("afterHours", tier.getAfterHours());
+            entry.put("open", sizes.getOrDefault(i + 1, 0));
+            tiers.add(entry);
+        }
+        return tiers;
     }
 }
@@ -0,0 +1,324 @@
+package com.project.complaint.service;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.OfficerRatingSummary;
+import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.repository.OfficerRatingSummaryRepository;
+import com.project.complaint.util.TransactionCallbacks;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-officer rating aggregates kept as running totals, plus a small ring of
+ * each officer's most recent ratings for the dashboard feedback list.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OfficerRatingService {
+
+    private static final int RECENT_RATINGS = 10;
+
+    private final OfficerRatingSummaryRepository summaryRepository;
+    private final ComplaintRepository complaintRepository;
+
+    private final ConcurrentMap<Long, RecentRatings> recentByOfficer = new ConcurrentHashMap<>();
+
+    // Bumped on every ring change so a seed that raced with one is not cached
+    private final AtomicLong ringGeneration = new AtomicLong();
+
+    /**
+     * Capture what a complaint currently contributes to its officer's totals.
+     * Call before mutating the complaint and pass the result to recordChange.
+     */
+    public RatingContribution contributionOf(Complaint complaint) {
+        Long officerId = complaint.getAssignedOfficer() != null ? complaint.getAssignedOfficer().getId() : null;
+        return new RatingContribution(complaint.getId(), officerId, complaint.getRating(),
+                Boolean.TRUE.equals(complaint.getSatisfied()), complaint.getRatedAt());
+    }
+
+    /**
+     * Move the complaint's contribution from its previous state to its current
+     * one. Runs in the caller's transaction, so totals commit with the complaint.
+     */
+    public void recordChange(RatingContribution before, Complaint complaint) {
+        RatingContribution after = contributionOf(complaint);
+        if (before.sameAs(after)) {
+            return;
+        }
+
+        Map<Long, long[]> deltas = new LinkedHashMap<>();
+        if (before.counts()) {
+            addDelta(deltas, before, -1);
+        }
+        if (after.counts()) {
+            addDelta(deltas, after, 1);
+        }
+        deltas.forEach((officerId, d) -> {
+            if (Arrays.stream(d).anyMatch(v -> v != 0)) {
+                summaryRepository.ensureSummary(officerId);
+                summaryRepository.applyDelta(officerId, d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7]);
+            }
+        });
+
+        RecentRating entry = after.counts() ? RecentRating.of(complaint) : null;
+        TransactionCallbacks.afterCommit(() -> updateRecent(before, after, entry));
+    }
+
+    /**
+     * Ratings statistics for an officer, in the shape the dashboard expects
+     */
+    public Map<String, Object> getStatistics(Long officerId) {
+        return statistics(summaryRepository.findById(officerId).orElse(null));
+    }
+
+    /**
+     * Statistics of the officer with this email, read through their summary
+     * row; empty when there is no row, i.e. the officer has never been rated
+     * or does not exist
+     */
+    public Optional<Map<String, Object>> findStatistics(String officerEmail) {
+        return summaryRepository.findByOfficerEmail(officerEmail).map(this::statistics);
+    }
+
+    private Map<String, Object> statistics(OfficerRatingSummary summary) {
+        Map<String, Object> stats = new HashMap<>();
+        if (summary == null || summary.getRatingCount() <= 0) {
+            stats.put("totalRatings", 0);
+            stats.put("averageRating", 0.0);
+            stats.put("satisfactionRate", 0.0);
+            stats.put("ratings", new ArrayList<>());
+            return stats;
+        }
+
+        long total = summary.getRatingCount();
+        double avgRating = (double) summary.getRatingSum() / total;
+        double satisfactionRate = (summary.getSatisfiedCount() * 100.0) / total;
+
+        Map<Integer, Long> ratingDistribution = new HashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            long count = summary.starCount(stars);
+            if (count > 0) {
+                ratingDistribution.put(stars, count);
+            }
+        }
+
+        stats.put("totalRatings", (int) total);
+        stats.put("averageRating", Math.round(avgRating * 100.0) / 100.0);
+        stats.put("satisfactionRate", Math.round(satisfactionRate * 100.0) / 100.0);
+        stats.put("satisfiedCount", summary.getSatisfiedCount());
+        stats.put("ratingDistribution", ratingDistribution);
+
+        List<Map<String, Object>> recentRatings = new ArrayList<>();
+        for (RecentRating rating : recentRatings(summary.getOfficerId())) {
+            recentRatings.add(rating.toMap());
+        }
+        stats.put("recentRatings", recentRatings);
+
+        return stats;
+    }
+
+    /**
+     * Recompute every officer's totals from the complaints table. Concurrent
+     * rating changes wait on the table lock and apply on top of the result.
+     */
+    @Transactional
+    public int rebuild() {
+        summaryRepository.lockForRebuild();
+        summaryRepository.deleteAllSummaries();
+        int officers = summaryRepository.insertSummariesFromComplaints();
+        TransactionCallbacks.afterCommit(() -> {
+            ringGeneration.incrementAndGet();
+            recentByOfficer.clear();
+        });
+        log.info("Rebuilt rating summaries for {} officers", officers);
+        return officers;
+    }
+
+    /**
+     * Seed the summaries when the table was just created on a database that
+     * already holds rated complaints.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        if (summaryRepository.count() == 0 && complaintRepository.existsByRatingIsNotNull()) {
+            rebuild();
+        }
+    }
+
+    // Delta layout: count, sum, one to five stars, satisfied
+    private static void addDelta(Map<Long, long[]> deltas, RatingContribution c, int sign) {
+        long[] d = deltas.computeIfAbsent(c.getOfficerId(), id -> new long[8]);
+        d[0] += sign;
+        d[1] += sign * c.getRating();
+        d[1 + c.getRating()] += sign;
+        d[7] += c.isSatisfied() ? sign : 0;
+    }
+
+    private List<RecentRating> recentRatings(Long officerId) {
+        RecentRatings ring = recentByOfficer.get(officerId);
+        if (ring != null) {
+            return ring.newestFirst();
+        }
+
+        long seededAt = ringGeneration.get();
+        RecentRatings seeded = new RecentRatings(RECENT_RATINGS);
+        List<Complaint> rated = complaintRepository.findRecentlyRatedByOfficer(officerId,
+                PageRequest.of(0, RECENT_RATINGS));
+        for (int i = rated.size() - 1; i >= 0; i--) {
+            seeded.push(RecentRating.of(rated.get(i)));
+        }
+        if (ringGeneration.get() == seededAt) {
+            recentByOfficer.putIfAbsent(officerId, seeded);
+        }
+        return seeded.newestFirst();
+    }
+
+    private void updateRecent(RatingContribution before, RatingContribution after, RecentRating entry) {
+        ringGeneration.incrementAndGet();
+
+        boolean sameOfficer = before.counts() && after.counts()
+                && Objects.equals(before.getOfficerId(), after.getOfficerId());
+        if (before.counts() && !sameOfficer) {
+            recentByOfficer.remove(before.getOfficerId());
+        }
+        if (!after.counts()) {
+            return;
+        }
+
+        RecentRatings ring = recentByOfficer.get(after.getOfficerId());
+        if (ring == null) {
+            return;
+        }
+        if (sameOfficer && Objects.equals(before.getRatedAt(), after.getRatedAt())) {
+            // Satisfaction changed; an entry outside the ring is not shown anyway
+            ring.replace(entry);
+        } else if (!before.counts() && !ring.contains(entry.getComplaintId())) {
+            ring.push(entry);
+        } else {
+            // A re-rating or reassignment changes the ring's order; reseed on the next read
+            recentByOfficer.remove(after.getOfficerId());
+        }
+    }
+
+    /**
+     * What a single complaint adds to its officer's totals
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RatingContribution {
+        private final Long complaintId;
+        private final Long officerId;
+        private final Integer rating;
+        private final boolean satisfied;
+        private final LocalDateTime ratedAt;
+
+        boolean counts() {
+            return officerId != null && rating != null && rating >= 1 && rating <= 5;
+        }
+
+        boolean sameAs(RatingContribution other) {
+            return Objects.equals(officerId, other.officerId) && Objects.equals(rating, other.rating)
+                    && satisfied == other.satisfied && Objects.equals(ratedAt, other.ratedAt);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class RecentRating {
+        private final Long complaintId;
+        private final Integer rating;
+        private final String feedback;
+        private final Boolean satisfied;
+        private final LocalDateTime ratedAt;
+        private final String department;
+
+        static RecentRating of(Complaint c) {
+            return new RecentRating(c.getId(), c.getRating(), c.getFeedback(), c.getSatisfied(),
+                    c.getRatedAt(), c.getDepartment());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> ratingInfo = new HashMap<>();
+            ratingInfo.put("complaintId", complaintId);
+            ratingInfo.put("rating", rating);
+            ratingInfo.put("feedback", feedback);
+            ratingInfo.put("satisfied", satisfied);
+            ratingInfo.put("ratedAt", ratedAt);
+            ratingInfo.put("department", department);
+            return ratingInfo;
+        }
+    }
+
+    /**
+     * Fixed-size ring of an officer's latest ratings; the oldest entry is
+     * overwritten once it is full.
+     */
+    private static class RecentRatings {
+        private final RecentRating[] slots;
+        private int head = -1;
+        private int size;
+
+        RecentRatings(int capacity) {
+            this.slots = new RecentRating[capacity];
+        }
+
+        synchronized void push(RecentRating rating) {
+            head = (head + 1) % slots.length;
+            slots[head] = rating;
+            size = Math.min(size + 1, slots.length);
+        }
+
+        synchronized boolean contains(Long complaintId) {
+            return indexOf(complaintId) >= 0;
+        }
+
+        synchronized boolean replace(RecentRating rating) {
+            int index = indexOf(rating.getComplaintId());
+            if (index < 0) {
+                return false;
+            }
+            slots[index] = rating;
+            return true;
+        }
+
+        synchronized List<RecentRating> newestFirst() {
+            List<RecentRating> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(slots[Math.floorMod(head - i, slots.length)]);
+            }
+            return result;
+        }
+
+        private int indexOf(Long complaintId) {
+            for (int i = 0; i < size; i++) {
+                int index = Math.floorMod(head - i, slots.length);
+                if (slots[index].getComplaintId().equals(complaintId)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Refuses to start against a database the migrations in db/migration have
+ * not been applied to. Hibernate's schema update adds missing tables and
+ * columns but never changes a column type, so a database created before V4
+ * keeps text status columns that the SMALLINT converters cannot read.
+ * A database Hibernate has just created from scratch passes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaCheck {
+
+    private static final String UNCONVERTED_COLUMNS =
+            "SELECT column_name FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name = 'complaints' " +
+            "AND column_name IN ('status', 'priority', 'validation_status') AND data_type <> 'smallint'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void verify() {
+        List<String> unconverted = jdbcTemplate.queryForList(UNCONVERTED_COLUMNS, String.class);
+        if (!unconverted.isEmpty()) {
+            throw new IllegalStateException("complaints." + String.join(", complaints.", unconverted)
+                    + " is not SMALLINT: the database migrations have not been run (V4 onwards). "
+                    + "Apply src/main/resources/db/migration in order as described in SETUP_GUIDE.md");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- Append-only complaint history (see ComplaintEventLog), read per complaint
+-- by GET /api/complaints/{id}/timeline. No foreign key to complaints, whose
+-- archived rows move to complaints_archive (V8). Complaints filed before this
+-- migration have no events.
+--   type:   0 FILED, 1 ASSIGNED, 2 STATUS_CHANGED, 3 PROOF_UPLOADED,
+--           4 VALIDATED, 5 REJECTED, 6 RATED, 7 REOPENED, 8 SATISFACTION,
+--           9 ESCALATED, 10 ESCALATION_RESOLVED
+--   status: complaint status after the event
+CREATE TABLE IF NOT EXISTS complaint_events (
+    id           BIGSERIAL PRIMARY KEY,
+    complaint_id BIGINT NOT NULL,
+    type         SMALLINT NOT NULL,
+    actor        VARCHAR(255) NOT NULL,
+    status       SMALLINT,
+    detail       VARCHAR(1000),
+    occurred_at  TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_complaint_events_complaint ON complaint_events(complaint_id, occurred_at, id);
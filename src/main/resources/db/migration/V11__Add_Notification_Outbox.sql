@@ -0,0 +1,25 @@
+-- Transactional outbox for notifications (see NotificationOutbox and
+-- NotificationDispatcher). Rows are inserted in the transaction that caused
+-- them; dispatcher workers claim due rows with FOR UPDATE SKIP LOCKED.
+--   type: 0 ASSIGNED_TO_YOU, 1 COMPLAINT_ASSIGNED, 2 ESCALATED_TO_YOU,
+--         3 ESCALATED_FROM_YOU, 4 COMPLAINT_RESOLVED
+-- Sent rows are purged after notifications.retention-days; failed rows stay
+-- for inspection.
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id           BIGSERIAL PRIMARY KEY,
+    recipient_id BIGINT NOT NULL,
+    complaint_id BIGINT NOT NULL,
+    type         SMALLINT NOT NULL,
+    message      VARCHAR(1000) NOT NULL,
+    created_at   TIMESTAMP NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    attempts     INTEGER NOT NULL DEFAULT 0,
+    last_error   VARCHAR(1000),
+    sent_at      TIMESTAMP,
+    failed_at    TIMESTAMP
+);
+
+-- Only undelivered rows are ever claimed
+DROP INDEX IF EXISTS idx_notification_outbox_due;
+CREATE INDEX idx_notification_outbox_due ON notification_outbox(available_at, id)
+    WHERE sent_at IS NULL AND failed_at IS NULL;
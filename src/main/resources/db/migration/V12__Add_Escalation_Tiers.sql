@@ -0,0 +1,7 @@
+-- Escalation chains (see EscalationTierProperties). complaints.escalation_level
+-- is 0 while a complaint is with its officer and n once escalated to the nth
+-- configured tier; complaint_escalations.tier records the level each
+-- escalation reached. Rows escalated before tiers keep level 0 and a NULL
+-- tier, and the application treats them as already at the top of the chain.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS escalation_level SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE complaint_escalations ADD COLUMN IF NOT EXISTS tier SMALLINT;
@@ -0,0 +1,16 @@
+-- Officer work queue (see ComplaintClaimService). A claimed complaint holds
+-- its officer until lease_expires_at, renewed by heartbeats; the lease is
+-- cleared once work starts or the complaint is assigned or escalated.
+--
+-- Claims read pending complaints of one department in priority order and
+-- lock the first free row with FOR UPDATE SKIP LOCKED; the sweep finds
+-- expired leases. Both indexes are partial and stay small.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_complaints_claimable
+    ON complaints(department, priority DESC NULLS LAST, created_at, id)
+    WHERE status = 0 AND archived = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_complaints_lease_expires
+    ON complaints(lease_expires_at)
+    WHERE lease_expires_at IS NOT NULL;
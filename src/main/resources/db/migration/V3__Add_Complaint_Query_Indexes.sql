@@ -0,0 +1,33 @@
+-- Indexes for the composable complaint query (/api/complaints/query).
+-- Every list is ordered by (created_at DESC, id DESC) and paged by keyset, so
+-- each index ends with those columns to serve the filter, the order and the
+-- cursor predicate in a single range scan.
+
+-- Base ordering / cursor, and date range filters
+CREATE INDEX IF NOT EXISTS idx_complaints_created_id ON complaints(created_at DESC, id DESC);
+
+-- Status alone and with the two most common scoping columns
+CREATE INDEX IF NOT EXISTS idx_complaints_status_created ON complaints(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_dept_status_created ON complaints(department, status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_zone_status_created ON complaints(zone, status, created_at DESC, id DESC);
+
+-- Active work (neither resolved nor rejected) is a small, hot slice of the table
+CREATE INDEX IF NOT EXISTS idx_complaints_active_dept_zone ON complaints(department, zone, created_at DESC, id DESC)
+    WHERE status NOT IN ('RESOLVED', 'REJECTED');
+CREATE INDEX IF NOT EXISTS idx_complaints_active_priority ON complaints(priority, created_at DESC, id DESC)
+    WHERE status NOT IN ('RESOLVED', 'REJECTED');
+CREATE INDEX IF NOT EXISTS idx_complaints_active_deadline ON complaints(deadline)
+    WHERE status NOT IN ('RESOLVED', 'REJECTED');
+
+-- Rare flags: index only the rows that carry them
+CREATE INDEX IF NOT EXISTS idx_complaints_escalated_created ON complaints(created_at DESC, id DESC)
+    WHERE escalated = TRUE;
+CREATE INDEX IF NOT EXISTS idx_complaints_validation_created ON complaints(validation_status, created_at DESC, id DESC)
+    WHERE validation_status <> 'VALIDATED';
+
+-- Bounding box: latitude range scan, longitude checked from the index tuple
+CREATE INDEX IF NOT EXISTS idx_complaints_lat_lng ON complaints(latitude, longitude)
+    WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
+
+-- The boolean index is superseded by the partial index above
+DROP INDEX IF EXISTS idx_complaints_escalated;
@@ -0,0 +1,55 @@
+-- Store complaint status, priority and validation status as SMALLINT codes
+-- (see ComplaintStatus, Priority and ValidationStatus for the mapping).
+--
+-- status:            PENDING=0, IN_PROGRESS=1, RESOLVED=2, REJECTED=3
+-- priority:          LOW=1, MEDIUM=2, HIGH=3
+-- validation_status: PENDING_VALIDATION=0, VALIDATED=1, REJECTED_BY_ADMIN=2
+
+-- Partial index predicates compare against the old text values; drop them
+-- before the type change and recreate them on the new codes below.
+DROP INDEX IF EXISTS idx_complaints_active_dept_zone;
+DROP INDEX IF EXISTS idx_complaints_active_priority;
+DROP INDEX IF EXISTS idx_complaints_active_deadline;
+DROP INDEX IF EXISTS idx_complaints_validation_created;
+
+ALTER TABLE complaints
+    ALTER COLUMN status TYPE SMALLINT USING (
+        CASE UPPER(status)
+            WHEN 'PENDING' THEN 0
+            WHEN 'IN_PROGRESS' THEN 1
+            WHEN 'RESOLVED' THEN 2
+            WHEN 'REJECTED' THEN 3
+            ELSE 0
+        END),
+    ALTER COLUMN priority TYPE SMALLINT USING (
+        CASE UPPER(priority)
+            WHEN 'LOW' THEN 1
+            WHEN 'MEDIUM' THEN 2
+            WHEN 'HIGH' THEN 3
+            ELSE NULL
+        END),
+    ALTER COLUMN validation_status TYPE SMALLINT USING (
+        CASE UPPER(validation_status)
+            WHEN 'PENDING_VALIDATION' THEN 0
+            WHEN 'VALIDATED' THEN 1
+            WHEN 'REJECTED_BY_ADMIN' THEN 2
+            ELSE NULL
+        END);
+
+ALTER TABLE complaints
+    ADD CONSTRAINT chk_complaints_status CHECK (status BETWEEN 0 AND 3),
+    ADD CONSTRAINT chk_complaints_priority CHECK (priority BETWEEN 1 AND 3),
+    ADD CONSTRAINT chk_complaints_validation_status CHECK (validation_status BETWEEN 0 AND 2);
+
+-- Open complaints (PENDING, IN_PROGRESS). Queries spell the predicate the same
+-- way so the planner can match these partial indexes.
+CREATE INDEX IF NOT EXISTS idx_complaints_active_dept_zone ON complaints(department, zone, created_at DESC, id DESC)
+    WHERE status IN (0, 1);
+CREATE INDEX IF NOT EXISTS idx_complaints_active_priority ON complaints(priority, created_at DESC, id DESC)
+    WHERE status IN (0, 1);
+CREATE INDEX IF NOT EXISTS idx_complaints_active_deadline ON complaints(deadline)
+    WHERE status IN (0, 1);
+CREATE INDEX IF NOT EXISTS idx_complaints_validation_created ON complaints(validation_status, created_at DESC, id DESC)
+    WHERE validation_status <> 1;
+
+ANALYZE complaints;
@@ -0,0 +1,35 @@
+-- Running rating totals per officer (see OfficerRatingSummary). The service
+-- applies signed deltas whenever a complaint's rating, satisfaction or
+-- assigned officer changes, so the dashboard no longer scans complaints.
+CREATE TABLE IF NOT EXISTS officer_rating_summaries (
+    officer_id      BIGINT PRIMARY KEY,
+    rating_count    BIGINT NOT NULL DEFAULT 0,
+    rating_sum      BIGINT NOT NULL DEFAULT 0,
+    stars_1         BIGINT NOT NULL DEFAULT 0,
+    stars_2         BIGINT NOT NULL DEFAULT 0,
+    stars_3         BIGINT NOT NULL DEFAULT 0,
+    stars_4         BIGINT NOT NULL DEFAULT 0,
+    stars_5         BIGINT NOT NULL DEFAULT 0,
+    satisfied_count BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_officer_rating_summaries_counts CHECK (
+        rating_count >= 0 AND satisfied_count >= 0
+        AND stars_1 >= 0 AND stars_2 >= 0 AND stars_3 >= 0 AND stars_4 >= 0 AND stars_5 >= 0)
+);
+
+-- Backfill from existing ratings
+INSERT INTO officer_rating_summaries (officer_id, rating_count, rating_sum,
+        stars_1, stars_2, stars_3, stars_4, stars_5, satisfied_count, updated_at)
+SELECT officer_id, COUNT(*), SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1), COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3), COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5), COUNT(*) FILTER (WHERE satisfied),
+       CURRENT_TIMESTAMP
+FROM complaints
+WHERE rating IS NOT NULL AND officer_id IS NOT NULL
+GROUP BY officer_id
+ON CONFLICT (officer_id) DO NOTHING;
+
+-- Seeds the recent-feedback list for one officer
+CREATE INDEX IF NOT EXISTS idx_complaints_officer_rated ON complaints(officer_id, rated_at DESC, id DESC)
+    WHERE rating IS NOT NULL;
@@ -0,0 +1,44 @@
+-- Hourly and daily complaint counts per zone x department for trend charts
+-- (see ComplaintRollupService). Complaints without a zone count under ''.
+-- Counts follow each complaint's current state: a resolution is counted in
+-- the hour of resolved_at while the complaint stays resolved, SLA met or
+-- violated likewise, escalations at escalated_at, reopenings at reopened_at.
+CREATE TABLE IF NOT EXISTS complaint_rollups_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    zone         VARCHAR(255) NOT NULL DEFAULT '',
+    department   VARCHAR(255) NOT NULL,
+    filed        BIGINT NOT NULL DEFAULT 0,
+    resolved     BIGINT NOT NULL DEFAULT 0,
+    sla_met      BIGINT NOT NULL DEFAULT 0,
+    sla_violated BIGINT NOT NULL DEFAULT 0,
+    escalated    BIGINT NOT NULL DEFAULT 0,
+    reopened     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, zone, department)
+);
+
+CREATE TABLE IF NOT EXISTS complaint_rollups_daily (
+    bucket_start TIMESTAMP NOT NULL,
+    zone         VARCHAR(255) NOT NULL DEFAULT '',
+    department   VARCHAR(255) NOT NULL,
+    filed        BIGINT NOT NULL DEFAULT 0,
+    resolved     BIGINT NOT NULL DEFAULT 0,
+    sla_met      BIGINT NOT NULL DEFAULT 0,
+    sla_violated BIGINT NOT NULL DEFAULT 0,
+    escalated    BIGINT NOT NULL DEFAULT 0,
+    reopened     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, zone, department)
+);
+
+-- Trend queries filtered by zone or department
+CREATE INDEX IF NOT EXISTS idx_rollups_hourly_zone ON complaint_rollups_hourly(zone, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_rollups_hourly_department ON complaint_rollups_hourly(department, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_rollups_daily_zone ON complaint_rollups_daily(zone, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_rollups_daily_department ON complaint_rollups_daily(department, bucket_start);
+
+-- Range scans for the backfill windows (created_at is covered by idx_complaints_created_id)
+CREATE INDEX IF NOT EXISTS idx_complaints_resolved_at ON complaints(resolved_at) WHERE status = 2;
+CREATE INDEX IF NOT EXISTS idx_complaints_escalated_at ON complaints(escalated_at) WHERE escalated = TRUE;
+CREATE INDEX IF NOT EXISTS idx_complaints_reopened_at ON complaints(reopened_at) WHERE reopened = TRUE;
+
+-- The tables are filled by the backfill job, which runs on startup when they
+-- are empty, or via POST /api/complaints/rollups/backfill.
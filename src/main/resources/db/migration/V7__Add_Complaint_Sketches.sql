@@ -0,0 +1,20 @@
+-- Serialized analytics sketches per department, zone and day (see
+-- ComplaintSketchService). Complaints without a zone are stored under ''.
+--   resolution_minutes: HDR histogram of resolved_at - created_at
+--   slack_early/late:   HDR histograms of |deadline - resolved_at| for complaints
+--                       resolved before / after their deadline
+--   citizens:           HyperLogLog registers over citizen_id, deflated
+CREATE TABLE IF NOT EXISTS complaint_sketches (
+    day                DATE NOT NULL,
+    department         VARCHAR(255) NOT NULL,
+    zone               VARCHAR(255) NOT NULL DEFAULT '',
+    resolution_minutes BYTEA,
+    slack_early_minutes BYTEA,
+    slack_late_minutes BYTEA,
+    citizens           BYTEA,
+    updated_at         TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (day, department, zone)
+);
+
+-- The table is filled from existing complaints on the first startup after
+-- this migration, or via POST /api/complaints/analytics/sketches/rebuild.
@@ -0,0 +1,50 @@
+-- Hot/cold storage for complaints (see ComplaintArchiver).
+--
+--   complaints           every open and recently closed complaint, keyed by id
+--   complaints_archive   INHERITS (complaints), CHECK (archived), keyed by id
+--
+-- The archiver moves old resolved, validated and rated complaints into
+-- complaints_archive. Reads of complaints include the archive table, so
+-- lookups by id and archived lists need no changes; operational queries
+-- filter on archived = FALSE and the check constraint lets the planner skip
+-- the archive table. A lookup or versioned update by id probes two primary
+-- keys.
+--
+-- complaints keeps its primary key and stays a plain table for Hibernate's
+-- schema update. Foreign keys referencing complaints(id) would not follow a
+-- row into the archive table, so the one from complaint_escalations is
+-- dropped; ComplaintEscalation maps it without a constraint.
+--
+-- Take a backup and run while the application is stopped.
+
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS archived BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP;
+
+-- Foreign keys referencing complaints
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conrelid::regclass AS tbl, conname FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'complaints'::regclass LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+END $$;
+
+-- Columns, defaults and NOT NULL come from complaints, and columns added to
+-- complaints later are added here too
+CREATE TABLE IF NOT EXISTS complaints_archive (
+    CONSTRAINT complaints_archive_archived CHECK (archived),
+    PRIMARY KEY (id)
+) INHERITS (complaints);
+
+-- Archived history reads: a citizen's or officer's complaints, and date ranges
+CREATE INDEX IF NOT EXISTS idx_complaints_archive_citizen_created
+    ON complaints_archive(citizen_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_archive_officer_created
+    ON complaints_archive(officer_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_archive_created_id
+    ON complaints_archive(created_at DESC, id DESC);
+
+-- Citizen history reads on the hot table
+CREATE INDEX IF NOT EXISTS idx_complaints_citizen_created ON complaints(citizen_id, created_at DESC, id DESC);
@@ -0,0 +1,5 @@
+-- Optimistic locking for complaints (see Complaint.version). Every update
+-- through the application checks and bumps the version, so two people acting
+-- on the same complaint at once cannot silently overwrite each other; the
+-- later one gets 409 and retries on fresh data. Existing rows start at 0.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,113 @@
+package com.project.auth.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimiter limiter = new RateLimiter(properties, meterRegistry);
+
+    @Test
+    void allowsABurstUpToCapacityThenWaitsOneInterval() {
+        RateLimitProperties.Limit limit = limit(3, Duration.ofMinutes(30));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("reopen", "alice", limit)).isZero();
+        }
+        long wait = limiter.tryAcquire("reopen", "alice", limit);
+
+        long interval = Duration.ofMinutes(10).toNanos();
+        assertThat(wait).isBetween(interval - Duration.ofSeconds(5).toNanos(), interval);
+        assertThat(limiter.tryAcquire("reopen", "bob", limit)).isZero();
+        assertThat(limiter.tryAcquire("file", "alice", limit)).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        RateLimitProperties.Limit limit = limit(2, Duration.ofSeconds(1));
+        limiter.tryAcquire("reopen", "alice", limit);
+        limiter.tryAcquire("reopen", "alice", limit);
+
+        long wait = limiter.tryAcquire("reopen", "alice", limit);
+        assertThat(wait).isPositive();
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(limiter.tryAcquire("reopen", "alice", limit)).isZero();
+        assertThat(limiter.tryAcquire("reopen", "alice", limit)).isPositive();
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanCapacity() throws Exception {
+        RateLimitProperties.Limit limit = limit(50, Duration.ofHours(1));
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("reopen", "alice", limit) == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(allowed).isEqualTo(50);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void sweepsRefilledBuckets() throws InterruptedException {
+        limiter.tryAcquire("reopen", "alice", limit(1, Duration.ofMillis(20)));
+        limiter.tryAcquire("reopen", "bob", limit(1, Duration.ofHours(1)));
+        TimeUnit.MILLISECONDS.sleep(40);
+
+        limiter.evictIdle();
+
+        assertThat(meterRegistry.get("civicpulse.ratelimit.buckets").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void letsNewCallersThroughOnceTheBucketLimitIsReached() {
+        properties.setMaxBuckets(1);
+        RateLimitProperties.Limit limit = limit(1, Duration.ofHours(1));
+        limiter.tryAcquire("reopen", "alice", limit);
+
+        assertThat(limiter.tryAcquire("reopen", "alice", limit)).isPositive();
+        assertThat(limiter.tryAcquire("reopen", "bob", limit)).isZero();
+        assertThat(limiter.tryAcquire("reopen", "bob", limit)).isZero();
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, Duration period) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPeriod(period);
+        return limit;
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.auth.service.impl;
+
+import com.project.auth.dto.ApproveOfficerResponse;
+import com.project.auth.dto.OfficerImportResult;
+import com.project.auth.entity.Status;
+import com.project.auth.entity.User;
+import com.project.auth.repository.UserRepository;
+import com.project.auth.service.AdminService;
+import com.project.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.StringReader;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AdminServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void importWithApproveCreatesApprovedOfficersAndReturnsTheirKeys() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        String csv = "name,email,password,department\n"
+                + "Asha,asha-" + suffix + "@example.com,secret1,Roads\n"
+                + "Ravi,ravi-" + suffix + "@,secret2,Water\n"
+                + ",nameless-" + suffix + "@example.com,secret3,Water\n"
+                + "Meera,meera-" + suffix + "@example.com,secret4,Parks\n";
+
+        OfficerImportResult result = adminService.importOfficers(new StringReader(csv), true);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkipped())
+                .extracting(OfficerImportResult.SkippedRow::getLine, OfficerImportResult.SkippedRow::getError)
+                .containsExactly(
+                        tuple(3, "Email should be valid"),
+                        tuple(4, "Name is required"));
+        assertThat(result.getApproved()).extracting(ApproveOfficerResponse::getOfficerName)
+                .containsExactly("Asha", "Meera");
+        for (ApproveOfficerResponse approved : result.getApproved()) {
+            User officer = userRepository.findById(approved.getOfficerId()).orElseThrow();
+            assertThat(officer.getStatus()).isEqualTo(Status.APPROVED);
+            assertThat(passwordEncoder.matches(approved.getSecretKey(), officer.getSecretKeyHash())).isTrue();
+        }
+    }
+
+    @Test
+    void importWithoutApproveLeavesOfficersPending() throws Exception {
+        String email = "pending-" + UUID.randomUUID() + "@example.com";
+
+        OfficerImportResult result = adminService.importOfficers(
+                new StringReader("name,email,password\nDev," + email + ",secret\n"), false);
+
+        assertThat(result.getApproved()).isEmpty();
+        assertThat(userRepository.findByEmail(email).orElseThrow().getStatus())
+                .isEqualTo(Status.PENDING_VERIFICATION);
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.complaint.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    @Test
+    void countsSmallSetsByLinearCounting() {
+        HyperLogLog counter = new HyperLogLog();
+        assertThat(counter.estimate()).isZero();
+
+        for (int round = 0; round < 3; round++) {
+            for (long id = 1; id <= 100; id++) {
+                counter.add(id);
+            }
+        }
+
+        assertThat(counter.estimate()).isBetween(98L, 102L);
+    }
+
+    @Test
+    void estimatesLargeSetsWithinTheStandardError() {
+        HyperLogLog counter = new HyperLogLog();
+        for (long id = 1; id <= 200_000; id++) {
+            counter.add(id);
+        }
+
+        // About three standard errors of 1.6%
+        assertThat(counter.estimate()).isBetween(190_000L, 210_000L);
+    }
+
+    @Test
+    void mergeMatchesCountingEverythingInOne() {
+        HyperLogLog all = new HyperLogLog();
+        HyperLogLog odd = new HyperLogLog();
+        HyperLogLog even = new HyperLogLog();
+        for (long id = 1; id <= 20_000; id++) {
+            all.add(id);
+            (id % 2 == 0 ? even : odd).add(id);
+        }
+
+        odd.merge(even);
+
+        assertThat(odd.estimate()).isEqualTo(all.estimate());
+    }
+
+    @Test
+    void survivesASerializationRoundTrip() {
+        HyperLogLog counter = new HyperLogLog();
+        for (long id = 1; id <= 5_000; id += 7) {
+            counter.add(id);
+        }
+
+        byte[] bytes = counter.toBytes();
+        HyperLogLog decoded = HyperLogLog.fromBytes(bytes);
+
+        assertThat(decoded.estimate()).isEqualTo(counter.estimate());
+        assertThat(decoded.toBytes()).isEqualTo(bytes);
+        assertThat(new HyperLogLog().toBytes().length).isLessThan(64);
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        HyperLogLog counter = new HyperLogLog();
+        for (long id = 1; id <= 5_000; id++) {
+            counter.add(id);
+        }
+        byte[] bytes = counter.toBytes();
+
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(Arrays.copyOf(bytes, bytes.length / 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.complaint.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SketchCellTest {
+
+    @Test
+    void slackPercentilesRunFromLatestToEarliest() {
+        SketchCell cell = cellWith(-30, -20, -10, 5, 15);
+
+        assertThat(cell.slackAtPercentile(0)).isEqualTo(-30);
+        assertThat(cell.slackAtPercentile(20)).isEqualTo(-30);
+        assertThat(cell.slackAtPercentile(40)).isEqualTo(-20);
+        assertThat(cell.slackAtPercentile(60)).isEqualTo(-10);
+        assertThat(cell.slackAtPercentile(61)).isEqualTo(5);
+        assertThat(cell.slackAtPercentile(100)).isEqualTo(15);
+        assertThat(cell.slackMin()).isEqualTo(-30);
+        assertThat(cell.slackMax()).isEqualTo(15);
+        assertThat(cell.slackMean()).isEqualTo(-8.0);
+    }
+
+    @Test
+    void slackPercentilesMatchNearestRankAcrossTheSplit() {
+        Random random = new Random(7);
+        List<Long> slack = new ArrayList<>();
+        for (int i = 0; i < 257; i++) {
+            slack.add((long) random.nextInt(400) - 250);
+        }
+        SketchCell cell = cellWith(slack.stream().mapToLong(Long::longValue).toArray());
+        Collections.sort(slack);
+
+        for (int percentile = 0; percentile <= 100; percentile++) {
+            int position = (int) Math.max(1, Math.ceil(percentile / 100.0 * slack.size()));
+            long expected = slack.get(position - 1);
+            // Two significant digits keep every magnitude below 256 exact
+            assertThat(cell.slackAtPercentile(percentile)).as("p%d", percentile).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void slackOnOneSideOfTheDeadlineOnly() {
+        SketchCell late = cellWith(-5, -50);
+        SketchCell early = cellWith(0, 40);
+
+        assertThat(late.slackAtPercentile(1)).isEqualTo(-50);
+        assertThat(late.slackAtPercentile(100)).isEqualTo(-5);
+        assertThat(early.slackAtPercentile(1)).isEqualTo(0);
+        assertThat(early.slackAtPercentile(100)).isEqualTo(40);
+    }
+
+    @Test
+    void mergedAndDecodedCellsKeepTheirSlack() {
+        SketchCell merged = cellWith(-30, 5);
+        merged.merge(cellWith(-20, -10, 15));
+
+        SketchCell decoded = SketchCell.decode(merged.resolutionBytes(), merged.earlyBytes(), merged.lateBytes(),
+                merged.citizenBytes());
+
+        assertThat(decoded.slackCount()).isEqualTo(5);
+        for (int percentile = 0; percentile <= 100; percentile += 10) {
+            assertThat(decoded.slackAtPercentile(percentile)).isEqualTo(merged.slackAtPercentile(percentile));
+        }
+    }
+
+    private static SketchCell cellWith(long... slack) {
+        SketchCell cell = new SketchCell();
+        for (long minutes : slack) {
+            cell.recordSlack(minutes);
+        }
+        return cell;
+    }
+}
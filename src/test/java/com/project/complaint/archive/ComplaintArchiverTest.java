@@ -0,0 +1,120 @@
+package com.project.complaint.archive;
+
+import com.project.auth.entity.Role;
+import com.project.auth.entity.Status;
+import com.project.auth.entity.User;
+import com.project.auth.repository.UserRepository;
+import com.project.complaint.dto.ComplaintRequestDto;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.repository.ComplaintRepository;
+import com.project.complaint.service.ComplaintService;
+import com.project.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archiving against the schema V8 builds on top of Hibernate's: archived
+ * complaints move into complaints_archive, stay readable by id and move
+ * back when reopened.
+ */
+@TestPropertySource(properties = "archive.retention-days=0")
+class ComplaintArchiverTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ComplaintArchiver archiver;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User officer;
+    private String citizenEmail;
+    private String adminEmail;
+
+    @BeforeEach
+    void migrateAndCreateUsers() throws Exception {
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V8__Add_Complaint_Archive.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        String suffix = UUID.randomUUID().toString();
+        citizenEmail = save("citizen-" + suffix, Role.CITIZEN, Status.ACTIVE).getEmail();
+        adminEmail = save("admin-" + suffix, Role.ADMIN, Status.ACTIVE).getEmail();
+        officer = save("officer-" + suffix, Role.OFFICER, Status.APPROVED);
+    }
+
+    @Test
+    void movesSettledComplaintsToTheArchiveTable() throws Exception {
+        Complaint settled = resolvedComplaint();
+        complaintService.validateComplaint(settled.getId(), adminEmail);
+        complaintService.rateComplaint(settled.getId(), citizenEmail, 5, "ok");
+        Complaint unrated = resolvedComplaint();
+
+        archive();
+
+        assertThat(rows("complaints_archive", settled.getId())).isEqualTo(1);
+        assertThat(rows("ONLY complaints", settled.getId())).isZero();
+        assertThat(complaintRepository.findById(settled.getId()).orElseThrow().getArchived()).isTrue();
+        assertThat(rows("ONLY complaints", unrated.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void reopeningMovesAComplaintBackToTheHotTable() throws Exception {
+        Complaint complaint = resolvedComplaint();
+        complaintService.validateComplaint(complaint.getId(), adminEmail);
+        complaintService.rateComplaint(complaint.getId(), citizenEmail, 2, "not fixed");
+        archive();
+
+        complaintService.reopenComplaint(complaint.getId(), citizenEmail, "still broken");
+
+        assertThat(rows("complaints_archive", complaint.getId())).isZero();
+        assertThat(rows("ONLY complaints", complaint.getId())).isEqualTo(1);
+        Complaint reopened = complaintRepository.findById(complaint.getId()).orElseThrow();
+        assertThat(reopened.getArchived()).isFalse();
+        assertThat(reopened.getStatus()).isEqualTo(ComplaintStatus.IN_PROGRESS);
+    }
+
+    private void archive() throws InterruptedException {
+        assertThat(archiver.archiveAsync()).isTrue();
+        for (int i = 0; i < 200 && Boolean.TRUE.equals(archiver.getStatus().get("running")); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(archiver.getStatus()).containsEntry("running", false).containsEntry("archiveTable", true);
+    }
+
+    private long rows(String table, Long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Long.class, id);
+    }
+
+    private Complaint resolvedComplaint() throws Exception {
+        ComplaintRequestDto request = new ComplaintRequestDto();
+        request.setDepartment("Roads");
+        request.setDescription("Pothole");
+        request.setZone("North");
+        Complaint complaint = complaintService.fileComplaint(request, null, citizenEmail);
+        complaintService.assignComplaint(complaint.getId(), officer.getId(), "HIGH", null);
+        return complaintService.updateStatus(complaint.getId(), "RESOLVED");
+    }
+
+    private User save(String name, Role role, Status status) {
+        return userRepository.save(User.builder().name(name).email(name + "@test").password("x")
+                .role(role).status(status).department("Roads").zone("North").build());
+    }
+}
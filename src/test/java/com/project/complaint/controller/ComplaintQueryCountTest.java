@@ -0,0 +1,149 @@
+package com.project.complaint.controller;
+
+import com.project.auth.entity.Role;
+import com.project.auth.entity.Status;
+import com.project.auth.entity.User;
+import com.project.auth.repository.UserRepository;
+import com.project.auth.service.UserDirectoryService;
+import com.project.complaint.dto.ComplaintRequestDto;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.service.ComplaintService;
+import com.project.complaint.service.EscalationService;
+import com.project.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the read endpoints. Lists fetch the users they
+ * serialize in the same query, so the counts do not grow with the number of
+ * complaints, citizens and officers in the response. Background flushes
+ * are pushed out of the way because the statistics are counted per session
+ * factory, not per request.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "events.flush-interval-ms=3600000",
+        "rollups.flush-interval-ms=3600000",
+        "analytics.sketch-flush-interval-ms=3600000" })
+class ComplaintQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int COMPLAINTS_PER_CITIZEN = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDirectoryService userDirectory;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private EscalationService escalationService;
+
+    private Statistics statistics;
+    private String citizenEmail;
+    private String officerEmail;
+    private String adminEmail;
+    private Long escalatedId;
+
+    @BeforeEach
+    void seed() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String suffix = UUID.randomUUID().toString();
+        adminEmail = save("admin-" + suffix, Role.ADMIN, Status.ACTIVE).getEmail();
+        List<User> officers = List.of(
+                save("officer-a-" + suffix, Role.OFFICER, Status.APPROVED),
+                save("officer-b-" + suffix, Role.OFFICER, Status.APPROVED));
+        officerEmail = officers.get(0).getEmail();
+        List<User> citizens = List.of(
+                save("citizen-a-" + suffix, Role.CITIZEN, Status.ACTIVE),
+                save("citizen-b-" + suffix, Role.CITIZEN, Status.ACTIVE));
+        citizenEmail = citizens.get(0).getEmail();
+
+        List<Complaint> complaints = new ArrayList<>();
+        for (User citizen : citizens) {
+            for (int i = 0; i < COMPLAINTS_PER_CITIZEN; i++) {
+                ComplaintRequestDto request = new ComplaintRequestDto();
+                request.setDepartment("Roads");
+                request.setDescription("Pothole on street " + i);
+                request.setZone("North");
+                Complaint complaint = complaintService.fileComplaint(request, null, citizen.getEmail());
+                User officer = officers.get(complaints.size() % officers.size());
+                complaints.add(complaintService.assignComplaint(complaint.getId(), officer.getId(), "HIGH", null));
+            }
+        }
+
+        complaintService.updateStatus(complaints.get(0).getId(), "RESOLVED");
+        complaintService.rateComplaint(complaints.get(0).getId(), citizenEmail, 4, "ok");
+        escalatedId = escalationService.escalateComplaint(complaints.get(2).getId(), "Overdue").getId();
+    }
+
+    @Test
+    void listsRunOneStatement() throws Exception {
+        assertThat(statementsFor(get("/api/complaints/all"), adminEmail, "ADMIN")).isEqualTo(1);
+        assertThat(statementsFor(get("/api/complaints/query").param("department", "Roads"), adminEmail, "ADMIN"))
+                .isEqualTo(1);
+        assertThat(statementsFor(get("/api/complaints/search").param("q", "pothole"), adminEmail, "ADMIN"))
+                .isEqualTo(1);
+        assertThat(statementsFor(get("/api/complaints/statistics"), adminEmail, "ADMIN")).isEqualTo(1);
+    }
+
+    @Test
+    void escalationListsRunOneStatement() throws Exception {
+        assertThat(statementsFor(get("/api/complaints/{id}/escalation-history", escalatedId), adminEmail, "ADMIN"))
+                .isEqualTo(1);
+        assertThat(statementsFor(get("/api/complaints/escalations/queue"), adminEmail, "ADMIN")).isEqualTo(1);
+    }
+
+    @Test
+    void userScopedListsRunTwoStatements() throws Exception {
+        assertThat(statementsFor(get("/api/complaints/my"), citizenEmail, "CITIZEN")).isEqualTo(2);
+        assertThat(statementsFor(get("/api/complaints/officer/my"), officerEmail, "OFFICER")).isEqualTo(2);
+        userDirectory.invalidate();
+        assertThat(statementsFor(get("/api/complaints/officers/workload"), adminEmail, "ADMIN")).isEqualTo(2);
+        assertThat(statementsFor(get("/api/complaints/officer/ratings"), officerEmail, "OFFICER")).isEqualTo(2);
+    }
+
+    @Test
+    void workloadReadsOfficersFromTheDirectoryCache() throws Exception {
+        statementsFor(get("/api/complaints/officers/workload"), adminEmail, "ADMIN");
+        assertThat(statementsFor(get("/api/complaints/officers/workload"), adminEmail, "ADMIN")).isEqualTo(1);
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request, String email, String role) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request.with(user(email).roles(role))).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User save(String name, Role role, Status status) {
+        return userRepository.save(User.builder().name(name).email(name + "@test").password("x")
+                .role(role).status(status).department("Roads").zone("North").build());
+    }
+}
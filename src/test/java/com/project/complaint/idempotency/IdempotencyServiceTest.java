@@ -0,0 +1,94 @@
+package com.project.complaint.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyServiceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void retriesAfterAServerErrorRunAgainAndAreThenReplayed() {
+        IdempotencyService service = service(1440, 100);
+
+        assertThat(service.execute("k", "alice", List.of(1), () -> respond(500)).getStatusCode().value())
+                .isEqualTo(500);
+        assertThat(service.execute("k", "alice", List.of(1), () -> respond(200)).getStatusCode().value())
+                .isEqualTo(200);
+        ResponseEntity<?> replayed = service.execute("k", "alice", List.of(1), () -> respond(200));
+
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(2);
+        service.evictExpired();
+        assertThat(keys()).isEqualTo(1.0);
+    }
+
+    @Test
+    void expiredEntriesBehindARetriedKeyAreEvicted() {
+        IdempotencyService service = service(0, 100);
+        service.execute("k", "alice", List.of(1), () -> respond(500));
+        service.execute("k", "alice", List.of(1), () -> respond(200));
+        service.execute("other", "alice", List.of(1), () -> respond(200));
+
+        service.evictExpired();
+
+        assertThat(keys()).isZero();
+    }
+
+    @Test
+    void overflowEvictionPassesOverRequestsStillRunning() throws Exception {
+        IdempotencyService service = service(1440, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> running = CompletableFuture.supplyAsync(() ->
+                service.execute("slow", "alice", List.of(1), () -> {
+                    await(release);
+                    return respond(200);
+                }));
+        while (keys() < 1) {
+            Thread.onSpinWait();
+        }
+
+        service.execute("first", "alice", List.of(1), () -> respond(200));
+        service.execute("second", "alice", List.of(1), () -> respond(200));
+
+        // The oldest completed key goes; the running request stays
+        assertThat(keys()).isEqualTo(2.0);
+        service.execute("first", "alice", List.of(1), () -> respond(200));
+        assertThat(runs).hasValue(3);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+    }
+
+    private IdempotencyService service(long ttlMinutes, int maxEntries) {
+        return new IdempotencyService(new ObjectMapper(), meterRegistry, ttlMinutes, maxEntries, 5);
+    }
+
+    private ResponseEntity<?> respond(int status) {
+        runs.incrementAndGet();
+        return ResponseEntity.status(status).body("run " + runs.get());
+    }
+
+    private double keys() {
+        return meterRegistry.get("civicpulse.idempotency.keys").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.complaint.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankTreeTest {
+
+    private final RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+
+    @Test
+    void ranksValuesInsertedInOrder() {
+        // Sorted input makes every insert rotate along one spine
+        for (int i = 0; i < 1000; i++) {
+            tree.insert(i);
+        }
+        for (int i = 999; i >= 0; i--) {
+            tree.insert(-i - 1);
+        }
+
+        assertThat(tree.size()).isEqualTo(2000);
+        assertThat(tree.rank(-1000)).isZero();
+        assertThat(tree.rank(0)).isEqualTo(1000);
+        assertThat(tree.rank(999)).isEqualTo(1999);
+        assertThat(tree.first(3)).containsExactly(-1000, -999, -998);
+    }
+
+    @Test
+    void missingValuesHaveNoRank() {
+        tree.insert(10);
+        tree.insert(30);
+
+        assertThat(tree.rank(20)).isEqualTo(-1);
+        tree.remove(20);
+        assertThat(tree.size()).isEqualTo(2);
+    }
+
+    @Test
+    void matchesASortedSetThroughInsertsAndRemoves() {
+        Random random = new Random(42);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(500);
+            if (expected.contains(value)) {
+                tree.remove(value);
+                expected.remove(value);
+            } else {
+                tree.insert(value);
+                expected.add(value);
+            }
+        }
+
+        assertThat(tree.size()).isEqualTo(expected.size());
+        List<Integer> inOrder = new ArrayList<>(expected);
+        assertThat(tree.first(Integer.MAX_VALUE)).isEqualTo(inOrder);
+        for (int i = 0; i < inOrder.size(); i++) {
+            assertThat(tree.rank(inOrder.get(i))).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void firstStopsAtTheLimit() {
+        for (int value : new int[] { 5, 3, 8, 1, 4 }) {
+            tree.insert(value);
+        }
+
+        assertThat(tree.first(2)).containsExactly(1, 3);
+        assertThat(tree.first(10)).containsExactly(1, 3, 4, 5, 8);
+        tree.clear();
+        assertThat(tree.first(10)).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.complaint.search;
+
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.ComplaintStatus;
+import com.project.complaint.model.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComplaintSearchIndexTest {
+
+    private final Locale defaultLocale = Locale.getDefault();
+    private final ComplaintSearchIndex index = new ComplaintSearchIndex(null);
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void tokensAreLowerCasedIndependentlyOfTheDefaultLocale() {
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        assertThat(ComplaintSearchIndex.tokenize("BROKEN LIGHT IN Main Street"))
+                .containsExactly("broken", "light", "main", "street");
+    }
+
+    @Test
+    void ranksExactMatchesAbovePrefixMatches() {
+        put(1L, "Streetlight flickering", ComplaintStatus.PENDING, Priority.LOW);
+        put(2L, "Street flooded after rain", ComplaintStatus.PENDING, Priority.HIGH);
+        put(3L, "Garbage not collected", ComplaintStatus.RESOLVED, Priority.MEDIUM);
+
+        SearchResult result = index.search("street", Map.of(), 10);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getHits()).extracting(SearchResult.Hit::getComplaintId).containsExactly(2L, 1L);
+        assertThat(result.getFacets().get("priority")).isEqualTo(Map.of("LOW", 1L, "HIGH", 1L));
+    }
+
+    @Test
+    void keepsTheOlderDocumentOnEqualScoresAtTheLimit() {
+        put(1L, "Pothole", ComplaintStatus.PENDING, Priority.LOW);
+        put(2L, "Pothole", ComplaintStatus.PENDING, Priority.LOW);
+        put(3L, "Pothole", ComplaintStatus.PENDING, Priority.LOW);
+
+        SearchResult result = index.search("pothole", Map.of(), 2);
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getHits()).extracting(SearchResult.Hit::getComplaintId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsNoLongerMatch() {
+        put(1L, "Pothole on Elm road", ComplaintStatus.PENDING, Priority.LOW);
+        put(2L, "Pothole near school", ComplaintStatus.PENDING, Priority.LOW);
+        put(1L, "Fallen tree on Elm road", ComplaintStatus.IN_PROGRESS, Priority.LOW);
+        index.remove(2L);
+
+        assertThat(index.search("pothole", Map.of(), 10).getTotal()).isZero();
+        SearchResult tree = index.search("tree", Map.of("status", "IN_PROGRESS"), 10);
+        assertThat(tree.getHits()).extracting(SearchResult.Hit::getComplaintId).containsExactly(1L);
+    }
+
+    private void put(Long id, String description, ComplaintStatus status, Priority priority) {
+        index.index(Complaint.builder().id(id).description(description).department("Roads").zone("North")
+                .status(status).priority(priority).build());
+    }
+}
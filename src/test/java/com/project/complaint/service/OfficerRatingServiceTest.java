@@ -0,0 +1,94 @@
+package com.project.complaint.service;
+
+import com.project.auth.entity.Role;
+import com.project.auth.entity.Status;
+import com.project.auth.entity.User;
+import com.project.auth.repository.UserRepository;
+import com.project.complaint.dto.ComplaintRequestDto;
+import com.project.complaint.model.Complaint;
+import com.project.complaint.model.OfficerRatingSummary;
+import com.project.complaint.repository.OfficerRatingSummaryRepository;
+import com.project.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rating totals follow complaints whose rating is taken away again. The
+ * summary table's CHECK constraint rejects negative counts, so these paths
+ * fail if a delta is ever written as a negative row.
+ */
+class OfficerRatingServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OfficerRatingSummaryRepository summaryRepository;
+
+    private User officer;
+    private String citizenEmail;
+
+    @BeforeEach
+    void createUsers() {
+        String suffix = UUID.randomUUID().toString();
+        citizenEmail = "citizen-" + suffix + "@test";
+        userRepository.save(User.builder().name("Citizen").email(citizenEmail).password("x")
+                .role(Role.CITIZEN).status(Status.ACTIVE).build());
+        officer = userRepository.save(User.builder().name("Officer").email("officer-" + suffix + "@test")
+                .password("x").role(Role.OFFICER).status(Status.APPROVED).department("Roads").zone("North").build());
+    }
+
+    @Test
+    void reopeningARatedComplaintRemovesItsRating() throws Exception {
+        Complaint complaint = resolvedComplaint();
+        complaintService.rateComplaint(complaint.getId(), citizenEmail, 4, "ok");
+        complaintService.markSatisfied(complaint.getId(), citizenEmail, true);
+
+        complaintService.reopenComplaint(complaint.getId(), citizenEmail, "still broken");
+
+        OfficerRatingSummary summary = summary();
+        assertThat(summary.getRatingCount()).isZero();
+        assertThat(summary.getRatingSum()).isZero();
+        assertThat(summary.getStars4()).isZero();
+        assertThat(summary.getSatisfiedCount()).isZero();
+    }
+
+    @Test
+    void reRatingMovesTheStarCount() throws Exception {
+        Complaint complaint = resolvedComplaint();
+        complaintService.rateComplaint(complaint.getId(), citizenEmail, 2, null);
+        complaintService.markSatisfied(complaint.getId(), citizenEmail, true);
+
+        complaintService.rateComplaint(complaint.getId(), citizenEmail, 5, "fixed properly");
+        complaintService.markSatisfied(complaint.getId(), citizenEmail, false);
+
+        OfficerRatingSummary summary = summary();
+        assertThat(summary.getRatingCount()).isEqualTo(1);
+        assertThat(summary.getRatingSum()).isEqualTo(5);
+        assertThat(summary.getStars2()).isZero();
+        assertThat(summary.getStars5()).isEqualTo(1);
+        assertThat(summary.getSatisfiedCount()).isZero();
+    }
+
+    private Complaint resolvedComplaint() throws Exception {
+        ComplaintRequestDto request = new ComplaintRequestDto();
+        request.setDepartment("Roads");
+        request.setDescription("Pothole");
+        request.setZone("North");
+        Complaint complaint = complaintService.fileComplaint(request, null, citizenEmail);
+        complaintService.assignComplaint(complaint.getId(), officer.getId(), "HIGH", null);
+        return complaintService.updateStatus(complaint.getId(), "RESOLVED");
+    }
+
+    private OfficerRatingSummary summary() {
+        return summaryRepository.findById(officer.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.support;
+
+import com.project.auth.CivicPulseApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Base for tests that run the application against a throwaway in-process
+ * PostgreSQL. The database is started once per test run and the schema is
+ * created by Hibernate; tests keep their data apart with unique emails. Each
+ * class closes its Spring context when it finishes, while the database is
+ * still up: left to the JVM shutdown, the context's final flushes would race
+ * the database's own shutdown hook and wait out the connection timeout.
+ */
+@SpringBootTest(classes = CivicPulseApplication.class, properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.devtools.restart.enabled=false",
+        "management.server.port=0",
+        "rate-limit.enabled=false",
+        "notifications.enabled=false" })
+@DirtiesContext
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            // Stopped by its own shutdown hook when the test JVM exits
+            return EmbeddedPostgres.builder()
+                    .setDataDirectory(Files.createTempDirectory("civicpulse-test-pg"))
+                    .setCleanDataDirectory(true)
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}